@@ -0,0 +1,275 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+
+/**
+ * 基准测试用的合成数据：JAR文件集、构件列表、大型POM模型、lib历史文件内容等。<br>
+ * 所有数据均由固定的随机种子生成，保证每次执行基准测试时的输入一致。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public abstract class BenchmarkFixtures {
+
+	private static final long SEED = 20230101L;
+
+	/**
+	 * 生成的JAR中，所有条目的修改时间
+	 */
+	private static final long ENTRY_TIME = 1672531200000L; // 2023-01-01 00:00:00 UTC
+
+	private static final String[] SCOPES = {
+			Artifact.SCOPE_COMPILE, Artifact.SCOPE_RUNTIME, Artifact.SCOPE_PROVIDED, Artifact.SCOPE_TEST, Artifact.SCOPE_SYSTEM
+	};
+
+	private static final String[] WORDS = {
+			"easyj", "spring", "boot", "starter", "core", "common", "web", "data", "cloud", "netflix",
+			"apache", "commons", "logging", "jackson", "databind", "annotations", "netty", "codec", "http", "client"
+	};
+
+
+	/**
+	 * 创建临时目录
+	 *
+	 * @param prefix 目录名前缀
+	 * @return 临时目录
+	 * @throws IOException IO异常
+	 */
+	public static File createTempDir(String prefix) throws IOException {
+		return Files.createTempDirectory(prefix).toFile();
+	}
+
+	/**
+	 * 递归删除目录
+	 *
+	 * @param dir 目录
+	 * @throws IOException IO异常
+	 */
+	public static void deleteRecursively(File dir) throws IOException {
+		if (dir == null || !dir.exists()) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(dir.toPath())) {
+			for (Path path : (Iterable<Path>)paths.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	/**
+	 * 生成一组JAR文件
+	 *
+	 * @param dir        存放目录
+	 * @param count      JAR数量
+	 * @param entryCount 每个JAR中的条目数
+	 * @param entrySize  每个条目的大小（字节）
+	 * @return JAR文件列表
+	 * @throws IOException IO异常
+	 */
+	public static List<File> createJars(File dir, int count, int entryCount, int entrySize) throws IOException {
+		if (!dir.exists() && !dir.mkdirs()) {
+			throw new IOException("Create directory failed: " + dir.getPath());
+		}
+
+		Random random = new Random(SEED);
+		List<File> jars = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			File jar = new File(dir, getArtifactId(i) + "-1.0." + i + ".jar");
+			createJar(jar, random, entryCount, entrySize, i % 10 == 0);
+			jars.add(jar);
+		}
+		return jars;
+	}
+
+	private static void createJar(File jar, Random random, int entryCount, int entrySize, boolean dependenciesStarter) throws IOException {
+		Manifest manifest = new Manifest();
+		Attributes attributes = manifest.getMainAttributes();
+		attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		attributes.putValue("Implementation-Title", jar.getName());
+		if (dependenciesStarter) {
+			attributes.putValue("Spring-Boot-Jar-Type", "dependencies-starter");
+		}
+
+		byte[] data = new byte[entrySize];
+		try (OutputStream out = Files.newOutputStream(jar.toPath());
+			 JarOutputStream jos = new JarOutputStream(out, manifest)) {
+			for (int i = 0; i < entryCount; i++) {
+				JarEntry entry = new JarEntry("icu/easyj/benchmark/" + WORDS[i % WORDS.length] + "/Class" + i + ".class");
+				entry.setTime(ENTRY_TIME + i * 1000L);
+				jos.putNextEntry(entry);
+				// 生成可压缩的数据，接近 class 文件的压缩率
+				for (int j = 0; j < data.length; j++) {
+					data[j] = (byte)(random.nextInt(4) == 0 ? random.nextInt(256) : WORDS[j % WORDS.length].charAt(j % 5 % WORDS[j % WORDS.length].length()));
+				}
+				jos.write(data);
+				jos.closeEntry();
+			}
+		}
+	}
+
+	/**
+	 * 将JAR文件转换为构件列表
+	 *
+	 * @param jars JAR文件列表
+	 * @return 构件列表
+	 */
+	public static List<Artifact> toArtifacts(List<File> jars) {
+		List<Artifact> artifacts = new ArrayList<>(jars.size());
+		for (int i = 0; i < jars.size(); i++) {
+			Artifact artifact = createArtifact(i);
+			artifact.setFile(jars.get(i));
+			artifacts.add(artifact);
+		}
+		return artifacts;
+	}
+
+	/**
+	 * 生成构件列表（没有文件），范围依次为 compile、runtime、provided、test、system
+	 *
+	 * @param count 构件数量
+	 * @return 构件列表
+	 */
+	public static List<Artifact> createArtifacts(int count) {
+		List<Artifact> artifacts = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			artifacts.add(createArtifact(i));
+		}
+		return artifacts;
+	}
+
+	private static Artifact createArtifact(int i) {
+		return new DefaultArtifact(getGroupId(i), getArtifactId(i), "1.0." + i, SCOPES[i % SCOPES.length], "jar", null, new DefaultArtifactHandler("jar"));
+	}
+
+	/**
+	 * 生成大型POM模型
+	 *
+	 * @param dependencyCount 依赖数量，dependencyManagement 与 plugins 的数量与之成比例
+	 * @return POM模型
+	 */
+	public static Model createLargeModel(int dependencyCount) {
+		Model model = new Model();
+		model.setModelVersion("4.0.0");
+
+		Parent parent = new Parent();
+		parent.setGroupId("icu.easyj");
+		parent.setArtifactId("easyj-build");
+		parent.setVersion("1.1.5");
+		model.setParent(parent);
+
+		model.setGroupId("icu.easyj.benchmark");
+		model.setArtifactId("easyj-benchmark-large-pom");
+		model.setVersion("1.0.0");
+		model.setName("${project.groupId} :: ${project.artifactId}");
+		model.setDescription("基准测试用的大型POM");
+
+		for (int i = 0; i < dependencyCount / 2; i++) {
+			model.addProperty(getArtifactId(i) + ".version", "1.0." + i);
+		}
+
+		DependencyManagement dependencyManagement = new DependencyManagement();
+		for (int i = 0; i < dependencyCount; i++) {
+			Dependency dependency = createDependency(i);
+			dependency.setVersion("${" + getArtifactId(i / 2 * 2) + ".version}");
+			dependencyManagement.addDependency(dependency);
+		}
+		model.setDependencyManagement(dependencyManagement);
+
+		for (int i = 0; i < dependencyCount; i++) {
+			Dependency dependency = createDependency(i);
+			dependency.setScope(SCOPES[i % SCOPES.length]);
+			model.addDependency(dependency);
+		}
+
+		Build build = new Build();
+		for (int i = 0; i < Math.max(1, dependencyCount / 20); i++) {
+			Plugin plugin = new Plugin();
+			plugin.setGroupId(getGroupId(i));
+			plugin.setArtifactId(getArtifactId(i) + "-maven-plugin");
+			plugin.setVersion("1.0." + i);
+			build.addPlugin(plugin);
+		}
+		model.setBuild(build);
+
+		return model;
+	}
+
+	private static Dependency createDependency(int i) {
+		Dependency dependency = new Dependency();
+		dependency.setGroupId(getGroupId(i));
+		dependency.setArtifactId(getArtifactId(i));
+		return dependency;
+	}
+
+	/**
+	 * 生成lib历史文件的内容，格式与 `spring-boot-extend` 生成的 lib.history.md 一致
+	 *
+	 * @param rows 表格行数
+	 * @return lib历史文件的内容
+	 */
+	public static String createLibHistoryTxt(int rows) {
+		StringBuilder sb = new StringBuilder(rows * 128 + 512);
+		sb.append("```yaml\n")
+				.append("Created-By: icu.easyj.maven.plugins:easyj-maven-plugin:1.1.6(goal:spring-boot-extend)\n")
+				.append("Created-On: 2023-01-01 00:00:00.000\n")
+				.append("```\n\n")
+				.append("| No. | File Name | Group ID |    Last Modified    | Size(B) | Size(KB) |\n")
+				.append("|----:|:----------|:---------|:-------------------:|--------:|---------:|\n");
+		for (int i = 0; i < rows; i++) {
+			long size = 1024L * (i + 1) + i;
+			sb.append("| ").append(i + 1)
+					.append(" | ").append(getArtifactId(i)).append("-1.0.").append(i).append(".jar")
+					.append(" | ").append(getGroupId(i))
+					.append(" | 2023-01-01 00:00:").append(String.format("%02d", i % 60))
+					.append(" | ").append(size).append(" B")
+					.append(" | ").append(size / 1024).append(" KB |\n");
+		}
+		return sb.toString();
+	}
+
+	private static String getGroupId(int i) {
+		return "com.example." + WORDS[i % WORDS.length];
+	}
+
+	private static String getArtifactId(int i) {
+		return WORDS[i % WORDS.length] + "-" + WORDS[(i / WORDS.length) % WORDS.length] + "-" + i;
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * 基准测试的启动类。<br>
+ * 未指定结果格式时，默认以JSON格式输出到 `target/jmh-result.json`，用于比较各版本之间的性能变化。
+ * 其他参数与JMH一致，如：`java -jar target/benchmarks.jar ZipUtils -f 1`
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class BenchmarkRunner {
+
+	public static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+
+	public static void main(String[] args) throws Exception {
+		List<String> argList = new ArrayList<>(Arrays.asList(args));
+		if (!argList.contains("-rf")) {
+			argList.add("-rf");
+			argList.add("json");
+		}
+		if (!argList.contains("-rff")) {
+			argList.add("-rff");
+			argList.add(DEFAULT_RESULT_FILE);
+		}
+		Main.main(argList.toArray(new String[0]));
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.springboot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import icu.easyj.maven.plugin.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link LibHistory} 基准测试：读取lib历史文件，并与新的lib历史比较差异的开销
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LibHistoryBenchmark {
+
+	@Param({"100", "1000"})
+	private int rows;
+
+	private File dir;
+
+	private File historyFile;
+
+	private LibHistory older;
+
+	private LibHistory newer;
+
+
+	@Setup
+	public void setup() throws IOException {
+		this.dir = BenchmarkFixtures.createTempDir("easyj-benchmark-lib-history");
+		this.historyFile = this.createHistoryFile("lib.history.md", this.rows);
+		this.older = LibHistory.read(this.historyFile);
+		// 新的lib历史：少了最后一行，其余不变
+		this.newer = LibHistory.read(this.createHistoryFile("lib-newer.history.md", this.rows - 1));
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFixtures.deleteRecursively(this.dir);
+	}
+
+
+	@Benchmark
+	public LibHistory read() throws IOException {
+		return LibHistory.read(this.historyFile);
+	}
+
+	@Benchmark
+	public LibHistory.Diff diff() {
+		return this.newer.diff(this.older);
+	}
+
+
+	private File createHistoryFile(String fileName, int rows) throws IOException {
+		File file = new File(this.dir, fileName);
+		Files.write(file.toPath(), BenchmarkFixtures.createLibHistoryTxt(rows).getBytes(Charset.defaultCharset()));
+		return file;
+	}
+}
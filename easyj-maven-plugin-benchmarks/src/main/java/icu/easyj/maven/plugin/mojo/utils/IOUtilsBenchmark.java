@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import icu.easyj.maven.plugin.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link IOUtils} 基准测试：复制JAR、获取JAR的最后修改时间
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IOUtilsBenchmark {
+
+	@Param({"100"})
+	private int jarCount;
+
+	private File dir;
+
+	private File targetDir;
+
+	private List<File> jars;
+
+
+	@Setup
+	public void setup() throws IOException {
+		this.dir = BenchmarkFixtures.createTempDir("easyj-benchmark-io");
+		this.targetDir = new File(this.dir, "target");
+		this.targetDir.mkdirs();
+		this.jars = BenchmarkFixtures.createJars(new File(this.dir, "source"), this.jarCount, 50, 2048);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFixtures.deleteRecursively(this.dir);
+	}
+
+
+	@Benchmark
+	public void copy() throws IOException {
+		for (File jar : this.jars) {
+			IOUtils.copy(jar, new File(this.targetDir, jar.getName()));
+		}
+	}
+
+	/**
+	 * 获取JAR的最后修改时间（命中 {@link JarMetadataCache}）
+	 */
+	@Benchmark
+	public void getFileLastModified(Blackhole blackhole) {
+		for (File jar : this.jars) {
+			blackhole.consume(IOUtils.getFileLastModified(jar));
+		}
+	}
+
+	/**
+	 * 读取JAR的元数据（不使用缓存），即 {@link #getFileLastModified} 未命中缓存时的开销
+	 */
+	@Benchmark
+	public void readJarMetadata(Blackhole blackhole) throws IOException {
+		for (File jar : this.jars) {
+			blackhole.consume(JarMetadata.read(jar));
+		}
+	}
+}
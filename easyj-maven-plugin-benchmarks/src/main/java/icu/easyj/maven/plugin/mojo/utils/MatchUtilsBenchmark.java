@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import icu.easyj.maven.plugin.benchmark.BenchmarkFixtures;
+import org.apache.maven.artifact.Artifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link MatchUtils#match(java.util.Collection, String)} 与 {@link PatternSet#matches(String)} 基准测试：
+ * 使用一组常见的匹配串（通配符、正则、完整名称）匹配构件的 groupId:artifactId
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchUtilsBenchmark {
+
+	@Param({"1000"})
+	private int artifactCount;
+
+	private List<String> patterns;
+
+	private PatternSet patternSet;
+
+	private List<String> names;
+
+
+	@Setup
+	public void setup() {
+		this.patterns = Arrays.asList(
+				"com.example.easyj:*",
+				"*:*-starter-*",
+				"com.example.spring*:*",
+				"^com\\.example\\.(netty|http):.*$",
+				"com.example.apache:apache-commons-42",
+				"*common*"
+		);
+
+		this.patternSet = new PatternSet(this.patterns);
+
+		List<Artifact> artifacts = BenchmarkFixtures.createArtifacts(this.artifactCount);
+		this.names = new ArrayList<>(artifacts.size());
+		for (Artifact artifact : artifacts) {
+			this.names.add(artifact.getGroupId() + ":" + artifact.getArtifactId());
+		}
+	}
+
+
+	@Benchmark
+	public void match(Blackhole blackhole) {
+		for (String name : this.names) {
+			blackhole.consume(MatchUtils.match(this.patterns, name));
+		}
+	}
+
+	@Benchmark
+	public void patternSet(Blackhole blackhole) {
+		for (String name : this.names) {
+			blackhole.consume(this.patternSet.matches(name));
+		}
+	}
+}
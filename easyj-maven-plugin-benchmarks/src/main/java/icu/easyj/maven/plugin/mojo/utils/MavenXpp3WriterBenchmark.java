@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import icu.easyj.maven.plugin.benchmark.BenchmarkFixtures;
+import org.apache.maven.model.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link MavenXpp3Writer#write} 基准测试：输出大型POM
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MavenXpp3WriterBenchmark {
+
+	@Param({"200", "2000"})
+	private int dependencyCount;
+
+	private Model model;
+
+
+	@Setup
+	public void setup() {
+		this.model = BenchmarkFixtures.createLargeModel(this.dependencyCount);
+	}
+
+
+	@Benchmark
+	public int write() throws IOException {
+		StringWriter writer = new StringWriter(this.dependencyCount * 256);
+		new MavenXpp3Writer(this.model, "benchmark", true).write(writer);
+		return writer.getBuffer().length();
+	}
+}
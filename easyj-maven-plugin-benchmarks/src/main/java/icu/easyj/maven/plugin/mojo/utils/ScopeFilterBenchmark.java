@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import icu.easyj.maven.plugin.benchmark.BenchmarkFixtures;
+import org.apache.maven.artifact.Artifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link ScopeFilter#doFilter(Artifact)} 基准测试
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScopeFilterBenchmark {
+
+	@Param({"1000"})
+	private int artifactCount;
+
+	@Param({"compile", "runtime", "provided", "test"})
+	private String includeScope;
+
+	private List<Artifact> artifacts;
+
+	private ScopeFilter filter;
+
+
+	@Setup
+	public void setup() {
+		this.artifacts = BenchmarkFixtures.createArtifacts(this.artifactCount);
+		this.filter = new ScopeFilter(this.includeScope, null);
+	}
+
+
+	/**
+	 * 复用同一个过滤器
+	 */
+	@Benchmark
+	public void doFilter(Blackhole blackhole) {
+		for (Artifact artifact : this.artifacts) {
+			blackhole.consume(this.filter.doFilter(artifact));
+		}
+	}
+
+	/**
+	 * 每个构件都创建一个新的过滤器（1.1.6 之前 AbstractEasyjMojo#filter 的用法）
+	 */
+	@Benchmark
+	public void newFilterPerArtifact(Blackhole blackhole) {
+		for (Artifact artifact : this.artifacts) {
+			blackhole.consume(new ScopeFilter(this.includeScope, null).doFilter(artifact));
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import icu.easyj.maven.plugin.benchmark.BenchmarkFixtures;
+import org.apache.maven.artifact.Artifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ZipUtils#toZip3} 基准测试：将一组JAR打包成 lib.zip。<br>
+ * 输出到丢弃数据的输出流中，只测量读取与压缩的开销，不受磁盘写入速度的影响。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZipUtilsBenchmark {
+
+	@Param({"100"})
+	private int jarCount;
+
+	@Param({"1", "4"})
+	private int threads;
+
+	@Param({"false", "true"})
+	private boolean storeCompressedFiles;
+
+	private File dir;
+
+	private List<Artifact> artifacts;
+
+	private ZipOptions options;
+
+
+	@Setup
+	public void setup() throws IOException {
+		this.dir = BenchmarkFixtures.createTempDir("easyj-benchmark-zip");
+		this.artifacts = BenchmarkFixtures.toArtifacts(BenchmarkFixtures.createJars(this.dir, this.jarCount, 50, 2048));
+
+		this.options = new ZipOptions();
+		this.options.setThreads(this.threads);
+		this.options.setStoreCompressedFiles(this.storeCompressedFiles);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFixtures.deleteRecursively(this.dir);
+	}
+
+
+	@Benchmark
+	public long toZip3() throws IOException {
+		NullOutputStream out = new NullOutputStream();
+		ZipUtils.toZip3(this.artifacts, out, false, "lib", this.options);
+		return out.count;
+	}
+
+
+	/**
+	 * 丢弃所有数据，只记录写入的字节数
+	 */
+	private static class NullOutputStream extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+			this.count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			this.count += len;
+		}
+	}
+}
@@ -17,14 +17,17 @@ package icu.easyj.maven.plugin.mojo;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Properties;
+import java.util.Set;
 
+import icu.easyj.maven.plugin.mojo.utils.BuildMetrics;
 import icu.easyj.maven.plugin.mojo.utils.IOUtils;
+import icu.easyj.maven.plugin.mojo.utils.LogUtils;
 import icu.easyj.maven.plugin.mojo.utils.ScopeFilter;
+import icu.easyj.maven.plugin.mojo.utils.SyncResult;
 import org.apache.maven.artifact.Artifact;
-import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 
@@ -34,7 +37,7 @@ import org.apache.maven.project.MavenProject;
  * @author wangliang181230
  * @since 1.0.0
  */
-public abstract class AbstractEasyjMojo extends AbstractMojo {
+public abstract class AbstractEasyjMojo extends AbstractMetricsMojo {
 
 	@Parameter(defaultValue = "${project}", readonly = true, required = true)
 	protected MavenProject project;
@@ -42,6 +45,34 @@ public abstract class AbstractEasyjMojo extends AbstractMojo {
 	@Parameter(defaultValue = "${project.basedir}")
 	protected File outputDirectory;
 
+	/**
+	 * 复制本地仓库中的文件时（如：外置lib时复制依赖），是否以硬链接的方式代替复制，节省磁盘空间与IO。<br>
+	 * 仅当本地仓库与目标目录在同一个文件系统中时生效，否则仍然复制文件。<br>
+	 * 注意：硬链接与本地仓库中的文件共用同一份数据，请勿修改目标文件。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.easyj.hardLinkLocalRepositoryFiles", defaultValue = "false")
+	protected boolean hardLinkLocalRepositoryFiles;
+
+	/**
+	 * 本地仓库目录
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(defaultValue = "${settings.localRepository}", readonly = true)
+	protected File localRepository;
+
+	/**
+	 * 生成ZIP等构件时，是否在替换目标文件前，将数据刷到磁盘中（fsync）。<br>
+	 * 构件总是先写入临时文件，再原子性地重命名为目标文件，所以构建被中断时，不会留下只写了一半的构件；
+	 * 开启后，可进一步避免宕机或断电后，已生成的构件内容丢失，但会增加一些耗时。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.easyj.fsync", defaultValue = "false")
+	protected boolean fsync;
+
 
 	/**
 	 * 替换 占位符
@@ -100,9 +131,15 @@ public abstract class AbstractEasyjMojo extends AbstractMojo {
 		return false;
 	}
 
-	protected boolean filter(Artifact artifact, String includeScope, String excludeScope) {
-		ScopeFilter filter = new ScopeFilter(includeScope, excludeScope);
-		return filter.doFilter(artifact);
+	/**
+	 * 创建范围过滤器，创建时会校验范围配置，所以请在执行开始时创建，并在整个执行过程中复用
+	 *
+	 * @param includeScope 包含的范围
+	 * @param excludeScope 排除的范围
+	 * @return 范围过滤器
+	 */
+	protected ScopeFilter createScopeFilter(String includeScope, String excludeScope) {
+		return new ScopeFilter(includeScope, excludeScope);
 	}
 
 	//endregion
@@ -203,11 +240,16 @@ public abstract class AbstractEasyjMojo extends AbstractMojo {
 	}
 
 	protected void debug(String format, Object... args) {
-		Object[] newArgs = this.handleArgs(args);
-		if (newArgs == args) {
-			getLog().debug(String.format(format, args));
+		if (!getLog().isDebugEnabled()) {
+			return;
+		}
+
+		String content = LogUtils.format(format, args);
+		Throwable cause = LogUtils.getThrowable(args);
+		if (cause == null) {
+			getLog().debug(content);
 		} else {
-			getLog().debug(String.format(format, args), (Throwable)args[args.length - 1]);
+			getLog().debug(content, cause);
 		}
 	}
 
@@ -221,11 +263,16 @@ public abstract class AbstractEasyjMojo extends AbstractMojo {
 
 
 	protected void info(String format, Object... args) {
-		Object[] newArgs = this.handleArgs(args);
-		if (newArgs == args) {
-			getLog().info(String.format(format, args));
+		if (!getLog().isInfoEnabled()) {
+			return;
+		}
+
+		String content = LogUtils.format(format, args);
+		Throwable cause = LogUtils.getThrowable(args);
+		if (cause == null) {
+			getLog().info(content);
 		} else {
-			getLog().info(String.format(format, args), (Throwable)args[args.length - 1]);
+			getLog().info(content, cause);
 		}
 	}
 
@@ -238,11 +285,16 @@ public abstract class AbstractEasyjMojo extends AbstractMojo {
 	}
 
 	protected void warn(String format, Object... args) {
-		Object[] newArgs = this.handleArgs(args);
-		if (newArgs == args) {
-			getLog().warn(String.format(format, args));
+		if (!getLog().isWarnEnabled()) {
+			return;
+		}
+
+		String content = LogUtils.format(format, args);
+		Throwable cause = LogUtils.getThrowable(args);
+		if (cause == null) {
+			getLog().warn(content);
 		} else {
-			getLog().warn(String.format(format, args), (Throwable)args[args.length - 1]);
+			getLog().warn(content, cause);
 		}
 	}
 
@@ -255,42 +307,31 @@ public abstract class AbstractEasyjMojo extends AbstractMojo {
 	}
 
 	protected void error(String format, Object... args) {
-		Object[] newArgs = this.handleArgs(args);
-		if (newArgs == args) {
-			getLog().error(String.format(format, args));
-		} else {
-			getLog().error(String.format(format, args), (Throwable)args[args.length - 1]);
+		if (!getLog().isErrorEnabled()) {
+			return;
 		}
-	}
 
-
-	private Object[] handleArgs(Object... args) {
-		if (args == null || args.length == 0) {
-			return args;
-		}
-
-		if (args[args.length - 1] instanceof Throwable) {
-			return Arrays.copyOf(args, args.length - 1);
+		String content = LogUtils.format(format, args);
+		Throwable cause = LogUtils.getThrowable(args);
+		if (cause == null) {
+			getLog().error(content);
+		} else {
+			getLog().error(content, cause);
 		}
-
-		return args;
 	}
 
-	protected String collectionToStr(Collection coll) {
-		if (coll == null) {
-			return "null";
-		}
-
-		if (coll.isEmpty()) {
-			return "<empty>";
-		}
-
-		String collStr = coll.toString();
-		return handleListStr(collStr.substring(1, collStr.length() - 1));
+	/**
+	 * 将集合转换为列表形式的字符串，用于日志，集合过大时只打印部分项及数量
+	 *
+	 * @param coll 集合
+	 * @return 列表形式的字符串
+	 */
+	protected String collectionToStr(Collection<?> coll) {
+		return LogUtils.toListStr(coll);
 	}
 
 	protected String handleListStr(String arrStr) {
-		return arrStr.replaceAll("^|\\s*,\\s*", "\r\n         - ");
+		return LogUtils.toListStr(arrStr);
 	}
 
 	//endregion
@@ -300,12 +341,41 @@ public abstract class AbstractEasyjMojo extends AbstractMojo {
 
 	protected void copyFile(File sourceFile, File targetFile) {
 		try {
-			IOUtils.copy(sourceFile, targetFile);
+			boolean linked = false;
+			if (this.hardLinkLocalRepositoryFiles && this.isLocalRepositoryFile(sourceFile)) {
+				linked = IOUtils.linkOrCopy(sourceFile, targetFile);
+			} else {
+				IOUtils.copy(sourceFile, targetFile);
+			}
+			this.recordCopiedFile(sourceFile, linked);
 		} catch (IOException e) {
-			throw new RuntimeException(String.format("Copy file failed: %s -> %s", sourceFile.getPath(), targetFile.getPath()));
+			throw new RuntimeException(String.format("Copy file failed: %s -> %s", sourceFile.getPath(), targetFile.getPath()), e);
 		}
 	}
 
+	/**
+	 * 记录复制的文件到构建指标中，硬链接不读写任何数据
+	 *
+	 * @param sourceFile 源文件
+	 * @param linked     是否为硬链接
+	 */
+	protected void recordCopiedFile(File sourceFile, boolean linked) {
+		BuildMetrics.Phase phase = this.getPhase(BuildMetrics.PHASE_COPY);
+		phase.addFiles(1);
+		if (!linked) {
+			long length = sourceFile.length();
+			phase.addBytesRead(length);
+			phase.addBytesWritten(length);
+		}
+	}
+
+	protected boolean isLocalRepositoryFile(File file) {
+		if (this.localRepository == null) {
+			return false;
+		}
+		return file.toPath().toAbsolutePath().normalize().startsWith(this.localRepository.toPath().toAbsolutePath().normalize());
+	}
+
 	protected void copyFileToDir(File sourceFile, File targetDir, boolean needLog) {
 		copyFile(sourceFile, new File(targetDir, sourceFile.getName()));
 		if (needLog) {
@@ -337,5 +407,69 @@ public abstract class AbstractEasyjMojo extends AbstractMojo {
 		this.copyFilesToDir2(sourceArtifacts, targetDir, false);
 	}
 
+	/**
+	 * 增量同步：只复制新增或已变更的文件，跳过未变更的文件，并删除目标目录中已不需要的文件
+	 *
+	 * @param sourceArtifacts 源构件列表
+	 * @param targetDir       目标目录
+	 * @param checksum        文件大小与修改时间都一致时，是否再比较校验和
+	 * @return 同步结果
+	 */
+	protected SyncResult syncFilesToDir2(Collection<Artifact> sourceArtifacts, File targetDir, boolean checksum) {
+		SyncResult result = new SyncResult();
+		for (Artifact sourceArtifact : sourceArtifacts) {
+			this.syncFileToDir(sourceArtifact.getFile(), targetDir, checksum, result);
+		}
+		this.removeOrphanFiles(sourceArtifacts, targetDir, result);
+		return result;
+	}
+
+	protected void syncFileToDir(File sourceFile, File targetDir, boolean checksum, SyncResult result) {
+		File targetFile = new File(targetDir, sourceFile.getName());
+		try {
+			if (IOUtils.isSameFile(sourceFile, targetFile, checksum)) {
+				this.debug("Skip the unchanged file: %s", targetFile.getName());
+				result.incrementSkipped();
+				this.getPhase(BuildMetrics.PHASE_COPY).incrementCacheHits();
+				return;
+			}
+		} catch (IOException e) {
+			this.debug("Compare file failed, copy it again: %s", targetFile.getPath(), e);
+		}
+
+		this.copyFile(sourceFile, targetFile);
+		result.incrementCopied();
+		this.getPhase(BuildMetrics.PHASE_COPY).incrementCacheMisses();
+	}
+
+	/**
+	 * 删除目标目录中，不在源构件列表中的文件
+	 *
+	 * @param sourceArtifacts 源构件列表
+	 * @param targetDir       目标目录
+	 * @param result          同步结果
+	 */
+	protected void removeOrphanFiles(Collection<Artifact> sourceArtifacts, File targetDir, SyncResult result) {
+		File[] targetFiles = targetDir.listFiles(File::isFile);
+		if (targetFiles == null) {
+			return;
+		}
+
+		Set<String> fileNames = new HashSet<>(sourceArtifacts.size() * 2);
+		for (Artifact sourceArtifact : sourceArtifacts) {
+			fileNames.add(sourceArtifact.getFile().getName());
+		}
+
+		for (File targetFile : targetFiles) {
+			if (!fileNames.contains(targetFile.getName())) {
+				if (!targetFile.delete()) {
+					throw new RuntimeException("Failed to delete the file: " + targetFile.getPath());
+				}
+				this.debug("Remove the file: %s", targetFile.getName());
+				result.incrementRemoved();
+			}
+		}
+	}
+
 	//endregion
 }
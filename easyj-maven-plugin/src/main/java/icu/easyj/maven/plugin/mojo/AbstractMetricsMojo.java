@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo;
+
+import java.io.File;
+
+import icu.easyj.maven.plugin.mojo.utils.BuildMetrics;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * 记录构建指标的抽象Mojo，所有Goal共用同一组构建指标的配置
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public abstract class AbstractMetricsMojo extends AbstractMojo {
+
+	/**
+	 * 是否输出构建指标的JSON报告（每个阶段的耗时、读写的字节数、处理的文件数及缓存命中数），到 {@link #metricsDirectory} 目录中
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.easyj.metrics", defaultValue = "false")
+	protected boolean metrics;
+
+	/**
+	 * 是否在日志中打印构建指标的单行摘要
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.easyj.metricsSummary", defaultValue = "false")
+	protected boolean metricsSummary;
+
+	/**
+	 * 构建指标的JSON报告的目录
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.easyj.metricsDirectory", defaultValue = "${project.build.directory}/easyj-metrics")
+	protected File metricsDirectory;
+
+	@Parameter(defaultValue = "${project.id}", readonly = true)
+	private String projectId;
+
+	@Parameter(defaultValue = "${mojoExecution}", readonly = true)
+	protected MojoExecution mojoExecution;
+
+	private BuildMetrics buildMetrics;
+
+
+	/**
+	 * 获取当前执行的构建指标，指标总是会被记录，但只有开启了 {@link #metrics} 或 {@link #metricsSummary} 时才会输出
+	 *
+	 * @return 构建指标
+	 */
+	protected synchronized BuildMetrics getMetrics() {
+		if (this.buildMetrics == null) {
+			String goal = this.mojoExecution != null ? this.mojoExecution.getGoal() : this.getClass().getSimpleName();
+			String executionId = this.mojoExecution != null ? this.mojoExecution.getExecutionId() : "default";
+			this.buildMetrics = new BuildMetrics(this.projectId, goal, executionId);
+		}
+		return this.buildMetrics;
+	}
+
+	protected BuildMetrics.Timer startPhase(String phaseName) {
+		return this.getMetrics().start(phaseName);
+	}
+
+	protected BuildMetrics.Phase getPhase(String phaseName) {
+		return this.getMetrics().phase(phaseName);
+	}
+
+	/**
+	 * 输出构建指标，请在Goal执行结束时调用
+	 */
+	protected void reportMetrics() {
+		if (this.metrics || this.metricsSummary) {
+			this.getMetrics().report(this.metrics, this.metricsDirectory, this.metricsSummary, getLog());
+		}
+	}
+}
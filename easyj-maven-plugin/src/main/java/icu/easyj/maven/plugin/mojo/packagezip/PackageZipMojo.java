@@ -16,15 +16,17 @@
 package icu.easyj.maven.plugin.mojo.packagezip;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import icu.easyj.maven.plugin.mojo.AbstractEasyjMojo;
+import icu.easyj.maven.plugin.mojo.utils.AtomicFileOutputStream;
+import icu.easyj.maven.plugin.mojo.utils.BuildMetrics;
+import icu.easyj.maven.plugin.mojo.utils.CompressedEntryCache;
 import icu.easyj.maven.plugin.mojo.utils.ObjectUtils;
+import icu.easyj.maven.plugin.mojo.utils.ZipOptions;
 import icu.easyj.maven.plugin.mojo.utils.ZipUtils;
-import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -37,7 +39,7 @@ import org.apache.maven.plugins.annotations.Parameter;
  * @since 0.6.9
  */
 @Mojo(name = "package-zip", defaultPhase = LifecyclePhase.PACKAGE, threadSafe = true)
-public class PackageZipMojo extends AbstractMojo {
+public class PackageZipMojo extends AbstractEasyjMojo {
 
 	@Parameter
 	private List<String> paths;
@@ -51,6 +53,70 @@ public class PackageZipMojo extends AbstractMojo {
 	@Parameter
 	private String pathInZip;
 
+	/**
+	 * 已压缩过的文件（如：jar、zip、png等），是否直接存储（STORED）而不再压缩
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(defaultValue = "false")
+	private boolean storeCompressedFiles;
+
+	/**
+	 * 压缩级别：0~9，-1为默认级别。为0时，所有文件都不压缩。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(defaultValue = "-1")
+	private int level;
+
+	/**
+	 * 压缩线程数：为1时，单线程压缩；小于等于0时，取CPU核数
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(defaultValue = "1")
+	private int threads;
+
+	/**
+	 * 是否缓存压缩后的条目数据（以 '文件的SHA-256校验和 + 压缩级别' 为键），缓存命中时，不再重复压缩未变更的文件
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(defaultValue = "false")
+	private boolean cache;
+
+	/**
+	 * 压缩后的条目数据的缓存目录
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(defaultValue = "${settings.localRepository}/.easyj/zip-cache")
+	private File cacheDirectory;
+
+	/**
+	 * 压缩后的条目数据的缓存的总大小上限，单位：MB。超过上限时，按最近使用时间淘汰，小于等于0时，不限制
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(defaultValue = "1024")
+	private long cacheMaxSize;
+
+	/**
+	 * 是否输出可复现的ZIP：条目按名称排序，修改时间统一为 {@link #outputTimestamp}，文件权限固定，且不写入扩展字段
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(defaultValue = "false")
+	private boolean reproducible;
+
+	/**
+	 * 可复现的ZIP中，所有条目的修改时间，格式与Maven一致：ISO-8601格式的时间，或从1970年开始的秒数
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(defaultValue = "${project.build.outputTimestamp}")
+	private String outputTimestamp;
+
 
 	@Override
 	public void execute() throws MojoExecutionException {
@@ -86,20 +152,39 @@ public class PackageZipMojo extends AbstractMojo {
 			getLog().info(" - " + file.getPath());
 		}
 
-		FileOutputStream fos;
-		try {
-			fos = new FileOutputStream(outputFilePathname);
-		} catch (FileNotFoundException e) {
-			throw new RuntimeException("Create 'fos' failed", e);
-		}
-
 		getLog().info("");
 		getLog().info("The output file: " + outputFilePathname);
 
-		try {
-			ZipUtils.toZip(files, fos, this.keepDirStructure, this.pathInZip);
+		ZipOptions options = new ZipOptions();
+		options.setLevel(this.level);
+		options.setStoreCompressedFiles(this.storeCompressedFiles);
+		options.setThreads(this.threads);
+		if (this.reproducible) {
+			options.setReproducible(true);
+			options.setOutputTimestamp(ZipOptions.parseOutputTimestamp(this.outputTimestamp));
+		}
+		if (this.cache) {
+			options.setEntryCache(new CompressedEntryCache(this.cacheDirectory));
+		}
+		options.setMetrics(this.getPhase(BuildMetrics.PHASE_ZIP));
+		// 大文件压缩后的临时文件，与输出文件放在同一个目录中
+		options.setTempDirectory(new File(outputFilePathname).getAbsoluteFile().getParentFile());
+
+		try (BuildMetrics.Timer ignored = this.startPhase(BuildMetrics.PHASE_ZIP)) {
+			AtomicFileOutputStream.write(new File(outputFilePathname), this.fsync,
+					out -> ZipUtils.toZip(files, out, this.keepDirStructure, this.pathInZip, options));
 		} catch (IOException e) {
 			throw new RuntimeException("Zip files failed", e);
+		} finally {
+			this.reportMetrics();
+		}
+
+		// 清理压缩后的条目数据的缓存，使其不超过上限
+		if (this.cache) {
+			int deleted = options.getEntryCache().trim(this.cacheMaxSize * 1024 * 1024);
+			if (deleted > 0) {
+				getLog().info("Trimmed the zip cache, deleted " + deleted + " entries: " + this.cacheDirectory.getPath());
+			}
 		}
 	}
 }
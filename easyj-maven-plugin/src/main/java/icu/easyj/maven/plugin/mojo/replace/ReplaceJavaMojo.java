@@ -23,6 +23,7 @@ import java.util.Scanner;
 import java.util.Set;
 
 import icu.easyj.maven.plugin.mojo.AbstractEasyjMojo;
+import icu.easyj.maven.plugin.mojo.utils.BuildMetrics;
 import icu.easyj.maven.plugin.mojo.utils.IOUtils;
 import icu.easyj.maven.plugin.mojo.utils.ObjectUtils;
 import icu.easyj.maven.plugin.mojo.utils.StringUtils;
@@ -70,7 +71,7 @@ public class ReplaceJavaMojo extends AbstractEasyjMojo {
 		placeholders.put("project.version", project.getVersion());
 		placeholders.put("revision", project.getVersion());
 
-		try {
+		try (BuildMetrics.Timer ignored = this.startPhase(BuildMetrics.PHASE_WRITE)) {
 			if (this.replaceFiles(this.mainPaths, "src/main/java/", this.generatedSourcesDirectory)) {
 				project.addCompileSourceRoot(this.generatedSourcesDirectory.getPath());
 			}
@@ -79,6 +80,8 @@ public class ReplaceJavaMojo extends AbstractEasyjMojo {
 			}
 		} catch (IOException e) {
 			throw new RuntimeException("Replace placeholder failed", e);
+		} finally {
+			this.reportMetrics();
 		}
 	}
 
@@ -125,6 +128,10 @@ public class ReplaceJavaMojo extends AbstractEasyjMojo {
 
 		// 创建文件
 		IOUtils.createFile(generatedFile, text);
+		BuildMetrics.Phase phase = this.getPhase(BuildMetrics.PHASE_WRITE);
+		phase.addFiles(1);
+		phase.addBytesRead(file.length());
+		phase.addBytesWritten(generatedFile.length());
 		this.info("Generate java file: %s -> %s", file.getName(), generatedFile.getPath());
 
 		return true;
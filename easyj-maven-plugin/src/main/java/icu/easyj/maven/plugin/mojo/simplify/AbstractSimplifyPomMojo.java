@@ -17,17 +17,16 @@ package icu.easyj.maven.plugin.mojo.simplify;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.util.Arrays;
 
-import icu.easyj.maven.plugin.mojo.utils.IOUtils;
+import icu.easyj.maven.plugin.mojo.AbstractMetricsMojo;
+import icu.easyj.maven.plugin.mojo.utils.BuildMetrics;
+import icu.easyj.maven.plugin.mojo.utils.ComparingFileOutputStream;
+import icu.easyj.maven.plugin.mojo.utils.Fingerprint;
 import icu.easyj.maven.plugin.mojo.utils.MavenXpp3Writer;
+import icu.easyj.maven.plugin.mojo.utils.PomNormalizingWriter;
 import org.apache.maven.model.Model;
-import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Parameter;
 
@@ -37,9 +36,7 @@ import org.apache.maven.plugins.annotations.Parameter;
  * @author wangliang181230
  * @since 0.4.0
  */
-public abstract class AbstractSimplifyPomMojo extends AbstractMojo {
-
-	protected static final int POM_WRITER_SIZE = 4096;
+public abstract class AbstractSimplifyPomMojo extends AbstractMetricsMojo {
 
 	@Parameter(defaultValue = "${project.basedir}")
 	private File outputDirectory;
@@ -58,7 +55,41 @@ public abstract class AbstractSimplifyPomMojo extends AbstractMojo {
 		return new File(this.outputDirectory, this.simplifiedPomFileName);
 	}
 
+	/**
+	 * @return 增量模式下，存放输入指纹的文件，与简化后的POM文件放在一起
+	 */
+	protected File getFingerprintFile() {
+		return new File(this.outputDirectory, this.simplifiedPomFileName + ".fingerprint");
+	}
+
+	/**
+	 * 创建输入指纹，并添加当前类中会影响POM文件内容的配置
+	 *
+	 * @return 输入指纹
+	 */
+	protected Fingerprint createFingerprint() {
+		return new Fingerprint()
+				.add("simplifiedPomFileName", this.simplifiedPomFileName)
+				.add("fileComment", this.fileComment)
+				.add("useTabIndent", this.useTabIndent);
+	}
+
+
 	protected void writePom(Model model, File pomFile) throws MojoExecutionException {
+		try (BuildMetrics.Timer timer = this.startPhase(BuildMetrics.PHASE_WRITE)) {
+			if (this.writePom0(model, pomFile)) {
+				timer.getPhase().addFiles(1);
+				timer.getPhase().addBytesWritten(pomFile.length());
+			} else {
+				timer.getPhase().incrementCacheHits();
+			}
+		}
+	}
+
+	/**
+	 * @return true=已写入文件 | false=内容未变化，未写入文件
+	 */
+	private boolean writePom0(Model model, File pomFile) throws MojoExecutionException {
 		// Create dir
 		File parentFile = pomFile.getParentFile();
 		if (!parentFile.exists()) {
@@ -74,55 +105,23 @@ public abstract class AbstractSimplifyPomMojo extends AbstractMojo {
 			model.setModelEncoding(StandardCharsets.UTF_8.name());
 		}
 
-		// Model to String
+		// Model to POM file：边序列化边规范化，并与现有文件比较，内容一致时，不写入文件
 		MavenXpp3Writer pomWriter = new MavenXpp3Writer(model, this.fileComment, this.useTabIndent);
-		String pomFileString;
-		try (StringWriter stringWriter = new StringWriter(POM_WRITER_SIZE)) {
-			pomWriter.write(stringWriter);
-			pomFileString = stringWriter.getBuffer().toString();
+		boolean changed;
+		try (ComparingFileOutputStream out = new ComparingFileOutputStream(pomFile)) {
+			PomNormalizingWriter writer = new PomNormalizingWriter(new OutputStreamWriter(out, model.getModelEncoding()));
+			pomWriter.write(writer);
+			writer.finish();
+			changed = out.commit();
 		} catch (IOException e) {
-			throw new MojoExecutionException("Internal I/O error!", e);
+			throw new MojoExecutionException("Failed to write to " + pomFile, e);
 		}
 
-		// 去除 '\r'
-		pomFileString = pomFileString.replace("\r", "");
-		// 不同的maven版本，换行数量有些微不同，将多个连续的换行替换成单个换行
-		pomFileString = pomFileString.replaceAll("\n{2,}", IOUtils.LINE_SEPARATOR);
-		// 去除多余的空格
-		pomFileString = pomFileString.replace(" />", "/>");
-
-		// Write String to POM file
-		this.writeStringToFile(pomFileString, pomFile, model.getModelEncoding());
-	}
-
-	private void writeStringToFile(String data, File file, String encoding)
-			throws MojoExecutionException {
-		byte[] binaryData;
-		try {
-			binaryData = data.getBytes(encoding);
-			if (file.isFile() && file.canRead() && file.length() == binaryData.length) {
-				try (InputStream inputStream = Files.newInputStream(file.toPath())) {
-					byte[] buffer = new byte[binaryData.length];
-					inputStream.read(buffer);
-					if (Arrays.equals(buffer, binaryData)) {
-						getLog().debug("Arrays.equals( buffer, binaryData ) ");
-						return;
-					}
-					getLog().debug("Not Arrays.equals( buffer, binaryData ) ");
-				} catch (IOException e) {
-					// ignore those exceptions, we will overwrite the file
-					getLog().debug("Issue reading file: " + file.getPath(), e);
-				}
-			} else {
-				getLog().debug("file: " + file + ",file.length(): " + file.length() + ", binaryData.length: " + binaryData.length);
-			}
-		} catch (IOException e) {
-			throw new MojoExecutionException("cannot read String as bytes", e);
-		}
-		try (OutputStream outStream = Files.newOutputStream(file.toPath())) {
-			outStream.write(binaryData);
-		} catch (IOException e) {
-			throw new MojoExecutionException("Failed to write to " + file, e);
+		if (changed) {
+			getLog().debug("The POM file has been written: " + pomFile);
+		} else {
+			getLog().debug("The POM file is unchanged: " + pomFile);
 		}
+		return changed;
 	}
 }
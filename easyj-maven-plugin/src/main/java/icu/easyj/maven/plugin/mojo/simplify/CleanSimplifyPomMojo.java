@@ -31,12 +31,16 @@ import org.apache.maven.plugins.annotations.Mojo;
 public class CleanSimplifyPomMojo extends AbstractSimplifyPomMojo {
 
 	public void execute() throws MojoExecutionException {
-		File simplifiedPomFile = getSimplifiedPomFile();
-		if (simplifiedPomFile.isFile()) {
-			getLog().info("Deleting " + simplifiedPomFile.getPath());
-			boolean deleted = simplifiedPomFile.delete();
+		this.deleteFile(getSimplifiedPomFile());
+		this.deleteFile(getFingerprintFile());
+	}
+
+	private void deleteFile(File file) throws MojoExecutionException {
+		if (file.isFile()) {
+			getLog().info("Deleting " + file.getPath());
+			boolean deleted = file.delete();
 			if (!deleted) {
-				throw new MojoExecutionException("Could not delete " + simplifiedPomFile.getAbsolutePath());
+				throw new MojoExecutionException("Could not delete " + file.getAbsolutePath());
 			}
 		}
 	}
@@ -19,6 +19,7 @@ import java.io.File;
 
 import icu.easyj.maven.plugin.mojo.simplify.simplifier.IPomSimplifier;
 import icu.easyj.maven.plugin.mojo.simplify.simplifier.pom.PomSimplifier;
+import icu.easyj.maven.plugin.mojo.utils.BuildMetrics;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -39,16 +40,22 @@ public class CreatePomFileMojo extends AbstractSimplifyPomMojo {
 
 	@Override
 	public void execute() throws MojoExecutionException {
-		// Create simplified POM file
-		getLog().info("Create the POM file '" + this.simplifiedPomFileName + "'.");
-
-		IPomSimplifier pomSimplifier = new PomSimplifier(this.project, null, getLog());
-		pomSimplifier.afterSimplify();
-
-		File simplifiedPomFile = getSimplifiedPomFile();
-		writePom(this.project.getOriginalModel(), simplifiedPomFile);
-
-		getLog().info("Set the POM file '" + this.simplifiedPomFileName + "' to the project object.");
-		project.setFile(simplifiedPomFile);
+		try {
+			// Create simplified POM file
+			getLog().info("Create the POM file '" + this.simplifiedPomFileName + "'.");
+
+			try (BuildMetrics.Timer ignored = this.startPhase(BuildMetrics.PHASE_SIMPLIFY)) {
+				IPomSimplifier pomSimplifier = new PomSimplifier(this.project, null, getLog());
+				pomSimplifier.afterSimplify();
+			}
+
+			File simplifiedPomFile = getSimplifiedPomFile();
+			writePom(this.project.getOriginalModel(), simplifiedPomFile);
+
+			getLog().info("Set the POM file '" + this.simplifiedPomFileName + "' to the project object.");
+			project.setFile(simplifiedPomFile);
+		} finally {
+			this.reportMetrics();
+		}
 	}
 }
@@ -16,16 +16,31 @@
 package icu.easyj.maven.plugin.mojo.simplify;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import icu.easyj.maven.plugin.mojo.simplify.simplifier.IPomSimplifier;
 import icu.easyj.maven.plugin.mojo.simplify.simplifier.PomSimplifierFactory;
+import icu.easyj.maven.plugin.mojo.utils.BuildMetrics;
+import icu.easyj.maven.plugin.mojo.utils.Fingerprint;
+import icu.easyj.maven.plugin.mojo.utils.IOUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 import static icu.easyj.maven.plugin.mojo.simplify.simplifier.IPomSimplifier.AUTO;
 
@@ -41,9 +56,25 @@ public class SimplifyPomMojo extends AbstractSimplifyPomMojo {
 	@Parameter(defaultValue = "${project}", readonly = true, required = true)
 	private MavenProject project;
 
+	@Parameter(defaultValue = "${session}", readonly = true)
+	MavenSession session;
+
 	@Parameter(property = "maven.simplify.skip", defaultValue = "false")
 	private boolean skip;
 
+	/**
+	 * 是否启用增量模式：对所有输入（原始POM、父POM、有效坐标、有效属性、有效依赖、插件配置及插件版本）计算指纹，
+	 * 指纹及简化后的POM都未变化时，跳过简化，直接使用已有的简化后的POM。<br>
+	 * 跳过简化时，读取已有的简化后的POM，设置为 'project.originalModel'，与简化后的内存状态保持一致（子模块会读取父模块的 'originalModel'）。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.simplify.incremental", defaultValue = "false")
+	private boolean incremental;
+
+	@Parameter(defaultValue = "${plugin.version}", readonly = true)
+	private String pluginVersion;
+
 
 	/**
 	 * 简化模式
@@ -98,34 +129,178 @@ public class SimplifyPomMojo extends AbstractSimplifyPomMojo {
 			return;
 		}
 
-		// 读取配置
-		SimplifyPomMojoConfig config = new SimplifyPomMojoConfig(this);
+		try {
+			this.doExecute();
+		} finally {
+			this.reportMetrics();
+		}
+	}
+
+	private void doExecute() throws MojoExecutionException {
+		File simplifiedPomFile = getSimplifiedPomFile();
+
+		String fingerprint = null;
+		try (BuildMetrics.Timer timer = this.startPhase(BuildMetrics.PHASE_SIMPLIFY)) {
+			// 增量模式：输入未变化时，跳过简化
+			if (this.incremental) {
+				try {
+					fingerprint = this.computeFingerprint();
+					if (this.isUpToDate(fingerprint, simplifiedPomFile) && this.applySimplifiedModel(simplifiedPomFile)) {
+						timer.getPhase().incrementCacheHits();
+						getLog().info("The inputs of the POM file '" + this.simplifiedPomFileName + "' are unchanged, skip simplifying.");
+						this.updatePomFile(simplifiedPomFile);
+						return;
+					}
+					timer.getPhase().incrementCacheMisses();
+				} catch (IOException e) {
+					throw new MojoExecutionException("Failed to compute the fingerprint of the POM inputs", e);
+				}
+			}
+
+			// 读取配置
+			SimplifyPomMojoConfig config = new SimplifyPomMojoConfig(this);
 
-		// 创建简化器
-		getLog().info("Create PomSimplifier by mode: " + this.simplifyMode);
-		IPomSimplifier pomSimplifier = PomSimplifierFactory.create(this.project, this.simplifyMode, config, getLog());
-		getLog().info("Do simplify by the POM simplifier: " + pomSimplifier.getClass().getSimpleName());
-		getLog().info("");
-		getLog().info("==================================  start simplify  ==================================");
+			// 创建简化器
+			getLog().info("Create PomSimplifier by mode: " + this.simplifyMode);
+			IPomSimplifier pomSimplifier = PomSimplifierFactory.create(this.project, this.simplifyMode, config, getLog());
+			getLog().info("Do simplify by the POM simplifier: " + pomSimplifier.getClass().getSimpleName());
+			getLog().info("");
+			getLog().info("==================================  start simplify  ==================================");
 
-		// 使用简化器处理pom.xml
-		pomSimplifier.beforeSimplify();
-		pomSimplifier.doSimplify();
-		pomSimplifier.doSimplifyByConfig();
-		pomSimplifier.afterSimplify();
+			// 使用简化器处理pom.xml
+			pomSimplifier.beforeSimplify();
+			pomSimplifier.doSimplify();
+			pomSimplifier.doSimplifyByConfig();
+			pomSimplifier.afterSimplify();
 
-		getLog().info("==================================   end  simplify  ==================================");
-		getLog().info("");
+			getLog().info("==================================   end  simplify  ==================================");
+			getLog().info("");
+		}
 
 		// Create simplified POM file
 		getLog().info("Create the POM file '" + this.simplifiedPomFileName + "'.");
 
-		File simplifiedPomFile = getSimplifiedPomFile();
 		this.writePom(this.project.getOriginalModel(), simplifiedPomFile);
 
+		if (fingerprint != null) {
+			this.writeFingerprint(fingerprint, simplifiedPomFile);
+		}
+
+		this.updatePomFile(simplifiedPomFile);
+	}
+
+	private void updatePomFile(File simplifiedPomFile) {
 		if (updatePomFile) {
 			getLog().info("Set the POM file '" + this.simplifiedPomFileName + "' to the project object.");
 			project.setFile(simplifiedPomFile);
 		}
 	}
+
+
+	//region 增量模式
+
+	/**
+	 * 计算所有输入的指纹
+	 */
+	String computeFingerprint() throws IOException {
+		Fingerprint fingerprint = super.createFingerprint()
+				.add("pluginVersion", this.pluginVersion)
+				// 配置
+				.add("simplifyMode", this.simplifyMode)
+				.add("expandImportDependencyManagement", this.expandImportDependencyManagement)
+				.add("isOpenSourceProject", this.isOpenSourceProject)
+				.add("removeParent", this.removeParent)
+				.add("artifactNameTemplate", this.artifactNameTemplate)
+				.add("keepProvidedDependencies", this.keepProvidedDependencies)
+				.add("keepOptionalDependencies", this.keepOptionalDependencies)
+				.add("keepTestDependencies", this.keepTestDependencies)
+				.add("excludeDependencies", this.excludeDependencies)
+				.add("removeLocalProperties", this.removeLocalProperties)
+				.add("createProperties", this.createProperties);
+
+		// 有效坐标：版本等可能来自命令行参数（如：-Drevision=2.0.0），不会体现在POM文件的内容中
+		fingerprint.add("groupId", this.project.getGroupId())
+				.add("artifactId", this.project.getArtifactId())
+				.add("version", this.project.getVersion())
+				.add("packaging", this.project.getPackaging());
+
+		// 原始POM及所有父POM（包括父POM的有效坐标）
+		fingerprint.addFile("pom", this.project.getFile());
+		MavenProject parent = this.project.getParent();
+		while (parent != null) {
+			fingerprint.add("parent", parent.getGroupId() + ":" + parent.getArtifactId() + ":" + parent.getVersion())
+					.addFile("parentPom", parent.getFile());
+			parent = parent.getParent();
+		}
+
+		// 有效模型：属性、依赖及依赖管理（包含导入的BOM中的依赖管理）
+		Model model = this.project.getModel();
+		fingerprint.add("properties", model.getProperties())
+				.add("dependencies", toStrings(model.getDependencies()));
+		if (model.getDependencyManagement() != null) {
+			fingerprint.add("dependencyManagement", toStrings(model.getDependencyManagement().getDependencies()));
+		}
+
+		return fingerprint.toHex();
+	}
+
+	private static List<String> toStrings(List<Dependency> dependencies) {
+		List<String> result = new ArrayList<>(dependencies.size());
+		for (Dependency dependency : dependencies) {
+			StringBuilder sb = new StringBuilder(dependency.getManagementKey())
+					.append(':').append(dependency.getVersion())
+					.append(':').append(dependency.getScope())
+					.append(':').append(dependency.getOptional())
+					.append(':').append(dependency.getSystemPath());
+			for (Exclusion exclusion : dependency.getExclusions()) {
+				sb.append(":!").append(exclusion.getGroupId()).append(':').append(exclusion.getArtifactId());
+			}
+			result.add(sb.toString());
+		}
+		return result;
+	}
+
+	/**
+	 * 判断简化后的POM是否为最新的：输入的指纹未变化，且简化后的POM未被修改或删除
+	 */
+	boolean isUpToDate(String fingerprint, File simplifiedPomFile) throws IOException {
+		File fingerprintFile = getFingerprintFile();
+		if (!fingerprintFile.isFile() || !simplifiedPomFile.isFile()) {
+			return false;
+		}
+
+		String[] lines = new String(Files.readAllBytes(fingerprintFile.toPath()), StandardCharsets.UTF_8).split("\n");
+		return lines.length == 2
+				&& lines[0].equals(fingerprint)
+				&& lines[1].equals(IOUtils.sha256Hex(simplifiedPomFile));
+	}
+
+	/**
+	 * 读取已有的简化后的POM，设置为 'project.originalModel'
+	 *
+	 * @return 是否成功，失败时，需要重新简化
+	 */
+	private boolean applySimplifiedModel(File simplifiedPomFile) {
+		try (InputStream in = Files.newInputStream(simplifiedPomFile.toPath())) {
+			Model simplifiedModel = new MavenXpp3Reader().read(in);
+			simplifiedModel.setPomFile(this.project.getOriginalModel().getPomFile());
+			this.project.setOriginalModel(simplifiedModel);
+			return true;
+		} catch (IOException | XmlPullParserException e) {
+			getLog().warn("Failed to read the POM file '" + simplifiedPomFile + "', simplify it again.", e);
+			return false;
+		}
+	}
+
+	private void writeFingerprint(String fingerprint, File simplifiedPomFile) {
+		File fingerprintFile = getFingerprintFile();
+		try {
+			IOUtils.createFile(fingerprintFile, fingerprint + IOUtils.LINE_SEPARATOR + IOUtils.sha256Hex(simplifiedPomFile));
+		} catch (IOException e) {
+			// 指纹文件写入失败，只会导致下次构建无法跳过简化
+			getLog().warn("Failed to write the fingerprint file: " + fingerprintFile, e);
+		}
+	}
+
+	//endregion
 }
@@ -19,8 +19,9 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
-import icu.easyj.maven.plugin.mojo.utils.MatchUtils;
+import icu.easyj.maven.plugin.mojo.simplify.simplifier.ParentValueCache;
 import icu.easyj.maven.plugin.mojo.utils.ObjectUtils;
+import icu.easyj.maven.plugin.mojo.utils.PatternSet;
 import org.apache.maven.model.Dependency;
 
 /**
@@ -35,6 +36,16 @@ public class SimplifyPomMojoConfig {
 
 	private SimplifyMode mode;
 
+	/**
+	 * 预编译的 {@link SimplifyPomMojo#excludeDependencies}，首次使用时创建
+	 */
+	private PatternSet excludeDependencyPatterns;
+
+	/**
+	 * 当前构建的父POM配置项的值的缓存，首次使用时获取
+	 */
+	private ParentValueCache parentValueCache;
+
 
 	public SimplifyPomMojoConfig(SimplifyPomMojo mojo) {
 		this.mojo = mojo;
@@ -76,13 +87,11 @@ public class SimplifyPomMojoConfig {
 			return false;
 		}
 
-		for (String exclude : mojo.excludeDependencies) {
-			if (MatchUtils.match(exclude, dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + dependency.getVersion())) {
-				return true;
-			}
+		if (excludeDependencyPatterns == null) {
+			excludeDependencyPatterns = new PatternSet(mojo.excludeDependencies);
 		}
 
-		return false;
+		return excludeDependencyPatterns.matches(dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + dependency.getVersion());
 	}
 
 	public Set<String> getRemoveLocalProperties() {
@@ -101,5 +110,12 @@ public class SimplifyPomMojoConfig {
 		return mojo.artifactNameTemplate;
 	}
 
+	public ParentValueCache getParentValueCache() {
+		if (parentValueCache == null) {
+			parentValueCache = ParentValueCache.of(mojo != null ? mojo.session : null);
+		}
+		return parentValueCache;
+	}
+
 	//endregion
 }
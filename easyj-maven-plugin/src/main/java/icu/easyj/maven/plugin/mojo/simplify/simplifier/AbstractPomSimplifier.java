@@ -15,11 +15,11 @@
  */
 package icu.easyj.maven.plugin.mojo.simplify.simplifier;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -65,6 +65,13 @@ public abstract class AbstractPomSimplifier implements IPomSimplifier {
 	protected final Model model;
 	protected final Parent modelParent;
 
+	/**
+	 * 项目属性，见 {@link #getProjectProperty(String)}
+	 */
+	private final Map<String, String> projectProperties;
+
+	private final PropertyInterpolator interpolator;
+
 
 	private boolean isCopiedParentItems = false;
 	private boolean isCopiedParentItemsForOpenSourceProject = false;
@@ -80,6 +87,9 @@ public abstract class AbstractPomSimplifier implements IPomSimplifier {
 		this.model = project.getModel();
 		this.modelParent = this.model.getParent();
 
+		this.projectProperties = this.createProjectProperties();
+		this.interpolator = new PropertyInterpolator(this::getProperty);
+
 		this.config = config;
 
 		this.log = log;
@@ -107,17 +117,14 @@ public abstract class AbstractPomSimplifier implements IPomSimplifier {
 	private void copyParentItems(String... itemNameArr) {
 		for (String itemName : itemNameArr) {
 			try {
-				itemName = itemName.substring(0, 1).toUpperCase() + itemName.substring(1);
-
-				Method getMethod = Model.class.getMethod("get" + itemName);
+				ParentValueCache.ModelItem item = ParentValueCache.getItem(itemName);
 
-				Object originalValue = getMethod.invoke(this.originalModel);
-				Object value = this.findParentValue(this.project.getParent(), getMethod);
+				Object originalValue = item.get(this.originalModel);
+				Object value = this.config.getParentValueCache().findParentValue(this.project.getParent(), item);
 
 				if (isEmpty(originalValue) && isNotEmpty(value)) {
-					this.log.info("   Copy " + itemName + ".");
-					Method setMethod = Model.class.getMethod("set" + itemName, value instanceof List ? List.class : (value instanceof Map ? Map.class : value.getClass()));
-					setMethod.invoke(this.originalModel, value);
+					this.log.info("   Copy " + item.getName() + ".");
+					item.set(this.originalModel, value);
 				}
 			} catch (Exception e) {
 				this.log.warn("   Copy " + itemName + " failed:", e);
@@ -125,17 +132,6 @@ public abstract class AbstractPomSimplifier implements IPomSimplifier {
 		}
 	}
 
-	private Object findParentValue(MavenProject parent, Method getMethod) throws InvocationTargetException, IllegalAccessException {
-		if (parent == null) {
-			return null;
-		}
-		Object value = getMethod.invoke(parent.getOriginalModel());
-		if (isEmpty(value)) {
-			return findParentValue(parent.getParent(), getMethod);
-		}
-		return value;
-	}
-
 	protected int getDependenciesSize(DependencyManagement dm) {
 		if (dm == null) {
 			return 0;
@@ -166,20 +162,7 @@ public abstract class AbstractPomSimplifier implements IPomSimplifier {
 	}
 
 	protected String replaceVariable(String str) {
-		if (str == null || str.isEmpty()) {
-			return str;
-		}
-
-		while (str.contains("${") && str.contains("}")) {
-			int start = str.indexOf("${");
-			int end = str.indexOf("}");
-			String varName = str.substring(start + 2, end).trim();
-			String varValue = this.getProperty(varName);
-			varValue = varValue == null ? "" : varValue.trim();
-			str = str.substring(0, start) + varValue + str.substring(end + 1);
-		}
-
-		return str;
+		return this.interpolator.interpolate(str);
 	}
 
 	protected String getProjectProperty(String key) {
@@ -187,37 +170,40 @@ public abstract class AbstractPomSimplifier implements IPomSimplifier {
 			return key;
 		}
 
-		switch (key.toLowerCase()) {
-			// project
-			case "project.groupid":
-			case "${project.groupid}":
-				return this.project.getGroupId();
-			case "project.artifactid":
-			case "${project.artifactid}":
-				return this.project.getArtifactId();
-			case "project.version":
-			case "${project.version}":
-				return this.project.getVersion();
-
-			// parent
-			case "project.parent.groupid":
-			case "${project.parent.groupid}":
-			case "parent.groupid":
-			case "${parent.groupid}":
-				return this.project.getParent() != null ? this.project.getParent().getGroupId() : this.project.getGroupId();
-			case "project.parent.artifactid":
-			case "${project.parent.artifactid}":
-			case "parent.artifactid":
-			case "${parent.artifactid}":
-				return this.project.getParent() != null ? this.project.getParent().getArtifactId() : this.project.getArtifactId();
-			case "project.parent.version":
-			case "${project.parent.version}":
-			case "parent.version":
-			case "${parent.version}":
-				return this.project.getParent() != null ? this.project.getParent().getVersion() : this.project.getVersion();
-
-			default:
-				return key;
+		String value = this.projectProperties.get(key);
+		if (value == null) {
+			value = this.projectProperties.get(key.toLowerCase());
+		}
+		return value != null ? value : key;
+	}
+
+	/**
+	 * 预先计算项目属性，键为属性名及其小写形式，及它们的 '${xxx}' 形式
+	 */
+	private Map<String, String> createProjectProperties() {
+		MavenProject parentOrSelf = this.parent != null ? this.parent : this.project;
+
+		Map<String, String> projectProperties = new HashMap<>(48);
+		// project
+		this.putProjectProperty(projectProperties, this.project.getGroupId(), "project.groupId");
+		this.putProjectProperty(projectProperties, this.project.getArtifactId(), "project.artifactId");
+		this.putProjectProperty(projectProperties, this.project.getVersion(), "project.version");
+		// parent
+		this.putProjectProperty(projectProperties, parentOrSelf.getGroupId(), "project.parent.groupId", "parent.groupId");
+		this.putProjectProperty(projectProperties, parentOrSelf.getArtifactId(), "project.parent.artifactId", "parent.artifactId");
+		this.putProjectProperty(projectProperties, parentOrSelf.getVersion(), "project.parent.version", "parent.version");
+		return projectProperties;
+	}
+
+	private void putProjectProperty(Map<String, String> projectProperties, String value, String... keys) {
+		if (value == null) {
+			return;
+		}
+		for (String key : keys) {
+			projectProperties.put(key, value);
+			projectProperties.put("${" + key + "}", value);
+			projectProperties.put(key.toLowerCase(), value);
+			projectProperties.put("${" + key.toLowerCase() + "}", value);
 		}
 	}
 
@@ -536,75 +522,80 @@ public abstract class AbstractPomSimplifier implements IPomSimplifier {
 			return;
 		}
 
-		int originalSize = getDependenciesSize(this.originalModel.getDependencies());
+		List<Dependency> originalDependencies = this.originalModel.getDependencies();
 		printLine();
-		this.log.info("Reset dependencies: groupId, version, exclusions (Contains " + this.originalModel.getDependencies().size() + " dependencies)");
-		for (int i = 0, n = 0; i < this.model.getDependencies().size(); i++, n++) {
-			Dependency dependency = this.model.getDependencies().get(i);
-			if (i < originalSize) {
-				Dependency originalDependency = this.originalModel.getDependencies().get(n);
-				String beforeDependencyStr = dependencyToString(originalDependency);
-
-				// reset groupId and artifactId
-				originalDependency.setGroupId(this.replaceVariable(originalDependency.getGroupId()));
-				originalDependency.setArtifactId(this.replaceVariable(originalDependency.getArtifactId()));
-
-				// 重置groupId、version和exclusions
-				if (dependency.getGroupId().equals(originalDependency.getGroupId())
-						&& dependency.getArtifactId().equals(originalDependency.getArtifactId())) {
-					//region 判断是否需要移除
-
-					if (!this.config.isKeepProvidedDependencies() && Artifact.SCOPE_PROVIDED.equalsIgnoreCase(dependency.getScope())) {
-						this.removeOneDependencies(dependency, n--, "scope=" + Artifact.SCOPE_PROVIDED);
-						continue;
-					}
+		this.log.info("Reset dependencies: groupId, version, exclusions (Contains " + originalDependencies.size() + " dependencies)");
 
-					if (!this.config.isKeepTestDependencies() && Artifact.SCOPE_TEST.equalsIgnoreCase(dependency.getScope())) {
-						this.removeOneDependencies(dependency, n--, "scope=" + Artifact.SCOPE_TEST);
-						continue;
-					}
+		// 以 management key 为键，建立实际依赖的索引（保持实际依赖的顺序）
+		Map<String, Dependency> dependencyIndex = new LinkedHashMap<>(this.model.getDependencies().size() * 2);
+		for (Dependency dependency : this.model.getDependencies()) {
+			dependencyIndex.putIfAbsent(getManagementKey(dependency.getGroupId(), dependency.getArtifactId(), dependency.getType(), dependency.getClassifier()), dependency);
+		}
 
-					if (!this.config.isKeepOptionalDependencies() && dependency.isOptional()) {
-						this.removeOneDependencies(dependency, n--, "optional=true");
-						continue;
-					}
+		// 按原依赖的顺序，一次性构建新的依赖列表
+		List<Dependency> newDependencies = new ArrayList<>(dependencyIndex.size());
+		for (Dependency originalDependency : originalDependencies) {
+			String beforeDependencyStr = dependencyToString(originalDependency);
 
-					if (this.config.isExcludeDependency(dependency)) {
-						this.removeOneDependencies(dependency, n--, "isExclude=true");
-						continue;
-					}
+			// reset groupId and artifactId
+			originalDependency.setGroupId(this.replaceVariable(originalDependency.getGroupId()));
+			originalDependency.setArtifactId(this.replaceVariable(originalDependency.getArtifactId()));
+
+			Dependency dependency = dependencyIndex.remove(getManagementKey(originalDependency.getGroupId(), originalDependency.getArtifactId(),
+					this.replaceVariable(originalDependency.getType()), this.replaceVariable(originalDependency.getClassifier())));
+			if (dependency == null) {
+				// 基本上是重复引用导致，直接移除当前dependency
+				this.log.info("  Remove duple dependency: " + dependencyToString(originalDependency));
+				continue;
+			}
 
-					//endregion
+			// 判断是否需要移除
+			String removeCause = this.getRemoveCause(dependency);
+			if (removeCause != null) {
+				this.log.info("  Remove dependency by " + removeCause + ": " + dependencyToString(dependency));
+				continue;
+			}
 
-					originalDependency.setType(dependency.getType());
-					originalDependency.setVersion(dependency.getVersion());
-					originalDependency.setClassifier(dependency.getClassifier());
+			// 重置groupId、version和exclusions
+			originalDependency.setType(dependency.getType());
+			originalDependency.setVersion(dependency.getVersion());
+			originalDependency.setClassifier(dependency.getClassifier());
 
-					originalDependency.setScope(Artifact.SCOPE_COMPILE.equalsIgnoreCase(dependency.getScope()) ? null : dependency.getScope());
-					originalDependency.setOptional(dependency.isOptional() ? "true" : null);
+			originalDependency.setScope(Artifact.SCOPE_COMPILE.equalsIgnoreCase(dependency.getScope()) ? null : dependency.getScope());
+			originalDependency.setOptional(dependency.isOptional() ? "true" : null);
 
-					originalDependency.setSystemPath(dependency.getSystemPath());
+			originalDependency.setSystemPath(dependency.getSystemPath());
 
-					originalDependency.setExclusions(dependency.getExclusions());
+			originalDependency.setExclusions(dependency.getExclusions());
 
-					this.log.info("  Reset dependency: " + beforeDependencyStr + " -> " + dependencyToString(originalDependency));
-				} else {
-					// 基本上是重复引用导致，直接移除当前dependency
-					this.log.info("  Remove duple dependency: " + dependencyToString(originalDependency));
-					this.originalModel.getDependencies().remove(n--);
-					originalSize--;
-					i--;
-				}
-			} else if (!isNeedRemoved(dependency)) {
+			this.log.info("  Reset dependency: " + beforeDependencyStr + " -> " + dependencyToString(originalDependency));
+			newDependencies.add(originalDependency);
+		}
+
+		// 索引中剩余的，是从父POM中继承的依赖
+		for (Dependency dependency : dependencyIndex.values()) {
+			if (!isNeedRemoved(dependency)) {
 				Dependency originalDependency = this.copyDependency(dependency); // 复制一份出来再添加
 				this.log.info("  Add dependency: " + dependencyToString(originalDependency));
-				this.originalModel.getDependencies().add(originalDependency);
+				newDependencies.add(originalDependency);
 			}
 		}
-		this.log.info("Remaining " + this.originalModel.getDependencies().size() + " dependencies.");
+
+		// 保留原列表实例，只替换其内容
+		originalDependencies.clear();
+		originalDependencies.addAll(newDependencies);
+
+		this.log.info("Remaining " + originalDependencies.size() + " dependencies.");
 		printLine();
 	}
 
+	/**
+	 * 获取依赖的 management key，与 {@link Dependency#getManagementKey()} 一致，但 type 为空时视为 jar，classifier 为空时视为没有 classifier
+	 */
+	private static String getManagementKey(String groupId, String artifactId, String type, String classifier) {
+		return groupId + ":" + artifactId + ":" + (isEmpty(type) ? JAR : type) + (isEmpty(classifier) ? "" : ":" + classifier);
+	}
+
 	/**
 	 * 为避免修改了model里的依赖数据，影响maven的正常运行。所以复制一份出来。设置到originalModel中。
 	 *
@@ -674,28 +665,33 @@ public abstract class AbstractPomSimplifier implements IPomSimplifier {
 	}
 
 	protected boolean isNeedRemoved(Dependency dependency) {
+		return this.getRemoveCause(dependency) != null;
+	}
+
+	/**
+	 * 获取依赖需要被移除的原因
+	 *
+	 * @param dependency 依赖
+	 * @return 移除原因，不需要移除时返回 null
+	 */
+	protected String getRemoveCause(Dependency dependency) {
 		if (!this.config.isKeepProvidedDependencies() && Artifact.SCOPE_PROVIDED.equalsIgnoreCase(dependency.getScope())) {
-			return true;
+			return "scope=" + Artifact.SCOPE_PROVIDED;
 		}
 
 		if (!this.config.isKeepTestDependencies() && Artifact.SCOPE_TEST.equalsIgnoreCase(dependency.getScope())) {
-			return true;
+			return "scope=" + Artifact.SCOPE_TEST;
 		}
 
 		if (!this.config.isKeepOptionalDependencies() && dependency.isOptional()) {
-			return true;
+			return "optional=true";
 		}
 
 		if (this.config.isExcludeDependency(dependency)) {
-			return true;
+			return "isExclude=true";
 		}
 
-		return false;
-	}
-
-	protected void removeOneDependencies(Dependency dependency, int n, String cause) {
-		this.originalModel.getDependencies().remove(n);
-		this.log.info("  Remove dependency by " + cause + ": " + dependencyToString(dependency));
+		return null;
 	}
 
 	//endregion ##
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.simplify.simplifier;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.CiManagement;
+import org.apache.maven.model.Contributor;
+import org.apache.maven.model.Developer;
+import org.apache.maven.model.IssueManagement;
+import org.apache.maven.model.License;
+import org.apache.maven.model.MailingList;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Organization;
+import org.apache.maven.model.Scm;
+import org.apache.maven.project.MavenProject;
+
+import static icu.easyj.maven.plugin.mojo.utils.ObjectUtils.isEmpty;
+
+/**
+ * 父POM中的配置项的值的缓存，同一次构建中，各模块共用，且线程安全（支持 'mvn -T' 并行构建）。<br>
+ * 以 '父POM的GAV + 配置项名' 作为键，缓存沿父POM链向上查找到的第一个非空的值，
+ * 多模块项目中，同一个父POM的配置项只需查找一次。<br>
+ * 缓存的作用域为一次构建（{@link MavenSession}），常驻进程（如：mvnd）中，下一次构建不会读到父POM链中任何一个POM修改前的旧值。<br>
+ * 配置项的 getter/setter 预先解析为函数，不再每次都通过反射查找方法。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class ParentValueCache {
+
+	/**
+	 * 空值的占位符，{@link ConcurrentHashMap} 不能存放 null
+	 */
+	private static final Object NONE = new Object();
+
+	/**
+	 * 已解析的配置项访问器，键为首字母大写的配置项名。
+	 * 只与 {@link Model} 的类结构有关，与构建无关，所以可以在所有构建中共用，且数量不会超过 {@link Model} 的属性数。
+	 */
+	private static final Map<String, ModelItem> ITEMS = new ConcurrentHashMap<>();
+
+	/**
+	 * 每次构建的缓存，构建结束后，{@link MavenSession} 被回收时，对应的缓存也随之被回收
+	 */
+	private static final Map<MavenSession, ParentValueCache> SESSION_CACHES = new WeakHashMap<>();
+
+	static {
+		Map<String, ModelItem> items = new HashMap<>();
+		register(items, "Url", Model::getUrl, (m, v) -> m.setUrl((String)v));
+		register(items, "InceptionYear", Model::getInceptionYear, (m, v) -> m.setInceptionYear((String)v));
+		register(items, "Licenses", Model::getLicenses, (m, v) -> m.setLicenses(ParentValueCache.<License>castList(v)));
+		register(items, "Developers", Model::getDevelopers, (m, v) -> m.setDevelopers(ParentValueCache.<Developer>castList(v)));
+		register(items, "Contributors", Model::getContributors, (m, v) -> m.setContributors(ParentValueCache.<Contributor>castList(v)));
+		register(items, "MailingLists", Model::getMailingLists, (m, v) -> m.setMailingLists(ParentValueCache.<MailingList>castList(v)));
+		register(items, "Scm", Model::getScm, (m, v) -> m.setScm((Scm)v));
+		register(items, "Organization", Model::getOrganization, (m, v) -> m.setOrganization((Organization)v));
+		register(items, "IssueManagement", Model::getIssueManagement, (m, v) -> m.setIssueManagement((IssueManagement)v));
+		register(items, "CiManagement", Model::getCiManagement, (m, v) -> m.setCiManagement((CiManagement)v));
+		ITEMS.putAll(items);
+	}
+
+
+	/**
+	 * 父POM中的配置项的值，键为 '父POM的GAV#配置项名'
+	 */
+	private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+
+	/**
+	 * 获取当前构建的缓存
+	 *
+	 * @param session 当前构建，为 null 时，返回一个不共用的新缓存
+	 * @return 缓存
+	 */
+	public static ParentValueCache of(@Nullable MavenSession session) {
+		if (session == null) {
+			return new ParentValueCache();
+		}
+		synchronized (SESSION_CACHES) {
+			return SESSION_CACHES.computeIfAbsent(session, s -> new ParentValueCache());
+		}
+	}
+
+
+	/**
+	 * 获取配置项的访问器
+	 *
+	 * @param itemName 配置项名，首字母大小写均可
+	 * @return 访问器
+	 * @throws IllegalArgumentException 配置项不存在
+	 */
+	public static ModelItem getItem(String itemName) {
+		String name = itemName.substring(0, 1).toUpperCase() + itemName.substring(1);
+		return ITEMS.computeIfAbsent(name, ParentValueCache::resolveItem);
+	}
+
+	/**
+	 * 沿父POM链向上查找配置项的第一个非空的值
+	 *
+	 * @param parent 父项目
+	 * @param item   配置项
+	 * @return 配置项的值，不存在时返回 null
+	 */
+	public Object findParentValue(MavenProject parent, ModelItem item) {
+		if (parent == null) {
+			return null;
+		}
+
+		// 不使用 computeIfAbsent，因为计算时会递归访问同一个Map
+		String key = getKey(parent, item);
+		Object value = this.values.get(key);
+		if (value == null) {
+			value = item.get(parent.getOriginalModel());
+			if (isEmpty(value)) {
+				value = this.findParentValue(parent.getParent(), item);
+			}
+			this.values.putIfAbsent(key, value != null ? value : NONE);
+		}
+		return value == NONE ? null : value;
+	}
+
+	private static String getKey(MavenProject parent, ModelItem item) {
+		return parent.getGroupId() + ":" + parent.getArtifactId() + ":" + parent.getVersion() + "#" + item.getName();
+	}
+
+	private static void register(Map<String, ModelItem> items, String name, Function<Model, Object> getter, BiConsumer<Model, Object> setter) {
+		items.put(name, new ModelItem(name, getter, setter));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> List<T> castList(Object value) {
+		return (List<T>)value;
+	}
+
+	/**
+	 * 未预先注册的配置项，通过反射解析一次 getter/setter
+	 */
+	private static ModelItem resolveItem(String name) {
+		try {
+			Method getMethod = Model.class.getMethod("get" + name);
+			Class<?> type = getMethod.getReturnType();
+			Method setMethod = Model.class.getMethod("set" + name, type);
+			return new ModelItem(name, model -> {
+				try {
+					return getMethod.invoke(model);
+				} catch (ReflectiveOperationException e) {
+					throw new RuntimeException("Get " + name + " failed.", e);
+				}
+			}, (model, value) -> {
+				try {
+					setMethod.invoke(model, value);
+				} catch (ReflectiveOperationException e) {
+					throw new RuntimeException("Set " + name + " failed.", e);
+				}
+			});
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException("Unknown model item: " + name, e);
+		}
+	}
+
+
+	/**
+	 * {@link Model} 的配置项访问器
+	 */
+	public static class ModelItem {
+
+		private final String name;
+
+		private final Function<Model, Object> getter;
+
+		private final BiConsumer<Model, Object> setter;
+
+		ModelItem(String name, Function<Model, Object> getter, BiConsumer<Model, Object> setter) {
+			this.name = name;
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		public Object get(Model model) {
+			return this.getter.apply(model);
+		}
+
+		public void set(Model model, Object value) {
+			this.setter.accept(model, value);
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+}
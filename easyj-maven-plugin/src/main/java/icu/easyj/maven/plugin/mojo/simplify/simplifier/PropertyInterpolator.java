@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.simplify.simplifier;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 变量插值器：将字符串中的 '${xxx}' 替换为属性值。<br>
+ * 单次扫描字符串，支持相邻的变量（如：'${a}${b}'）、嵌套的变量（如：'${a.${b}}'），以及属性值中引用的其他变量；
+ * 每个属性解析后的值都会被缓存；循环引用（如：a=${b}，b=${a}）的变量保持原样，不会无限循环。<br>
+ * 不存在的属性，替换为空字符串。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class PropertyInterpolator {
+
+	private static final String PREFIX = "${";
+
+	private static final char SUFFIX = '}';
+
+
+	/**
+	 * 属性查询函数：返回属性的原始值，属性不存在时返回 null
+	 */
+	private final Function<String, String> propertyLookup;
+
+	/**
+	 * 已解析的属性值
+	 */
+	private final Map<String, String> resolvedValues = new HashMap<>();
+
+	/**
+	 * 正在解析中的属性，用于检测循环引用
+	 */
+	private final Set<String> resolving = new LinkedHashSet<>();
+
+
+	public PropertyInterpolator(Function<String, String> propertyLookup) {
+		this.propertyLookup = propertyLookup;
+	}
+
+
+	/**
+	 * 替换字符串中的所有变量
+	 *
+	 * @param str 字符串
+	 * @return 替换后的字符串
+	 */
+	public String interpolate(String str) {
+		if (str == null || str.isEmpty()) {
+			return str;
+		}
+
+		int start = str.indexOf(PREFIX);
+		if (start < 0) {
+			return str;
+		}
+
+		StringBuilder sb = new StringBuilder(str.length() + 16);
+		int pos = 0;
+		while (start >= 0) {
+			int end = findSuffix(str, start + PREFIX.length());
+			if (end < 0) {
+				// 没有闭合的 '}'，剩余部分保持原样
+				break;
+			}
+
+			sb.append(str, pos, start);
+
+			String name = str.substring(start + PREFIX.length(), end);
+			if (name.contains(PREFIX)) {
+				// 嵌套的变量
+				name = this.interpolate(name);
+			}
+			sb.append(this.resolve(name.trim()));
+
+			pos = end + 1;
+			start = str.indexOf(PREFIX, pos);
+		}
+		sb.append(str, pos, str.length());
+
+		return sb.toString();
+	}
+
+	/**
+	 * 获取属性解析后的值
+	 *
+	 * @param name 属性名
+	 * @return 属性值，属性不存在时，返回空字符串
+	 */
+	public String resolve(String name) {
+		String value = this.resolvedValues.get(name);
+		if (value != null) {
+			return value;
+		}
+
+		if (!this.resolving.add(name)) {
+			// 循环引用，保持原样
+			return PREFIX + name + SUFFIX;
+		}
+		try {
+			value = this.propertyLookup.apply(name);
+			value = value == null ? "" : this.interpolate(value.trim()).trim();
+		} finally {
+			this.resolving.remove(name);
+		}
+
+		// 循环引用中的属性值不完整，不缓存
+		if (this.resolving.isEmpty() || !value.contains(PREFIX)) {
+			this.resolvedValues.put(name, value);
+		}
+		return value;
+	}
+
+
+	/**
+	 * 查找与 '${' 匹配的 '}' 的位置，跳过嵌套的 '${...}'
+	 */
+	private static int findSuffix(String str, int from) {
+		int depth = 0;
+		for (int i = from, len = str.length(); i < len; i++) {
+			char c = str.charAt(i);
+			if (c == SUFFIX) {
+				if (depth == 0) {
+					return i;
+				}
+				depth--;
+			} else if (c == '$' && i + 1 < len && str.charAt(i + 1) == '{') {
+				depth++;
+				i++;
+			}
+		}
+		return -1;
+	}
+}
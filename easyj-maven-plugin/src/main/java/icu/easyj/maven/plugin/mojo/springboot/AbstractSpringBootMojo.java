@@ -45,6 +45,8 @@ public abstract class AbstractSpringBootMojo extends AbstractEasyjMojo {
 			this.doExecute();
 		} catch (IOException e) {
 			throw new MojoExecutionException("IO exception", e);
+		} finally {
+			this.reportMetrics();
 		}
 	}
 
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.springboot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import icu.easyj.maven.plugin.mojo.utils.PatternSet;
+import icu.easyj.maven.plugin.mojo.utils.ScopeFilter;
+import org.apache.maven.artifact.Artifact;
+
+/**
+ * lib构件分类器。<br>
+ * 遍历已解析的构件，一次性将其分为：打包进JAR的构件、lib中的构件、lib-common中的构件、丢弃的构件（含原因），
+ * 不会修改 {@link org.apache.maven.project.MavenProject} 的构件过滤器，所以在并行构建中也是安全的。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class LibArtifactClassifier {
+
+	/**
+	 * 丢弃构件的原因
+	 */
+	public enum DropReason {
+
+		/**
+		 * 范围不满足 libIncludeScope 或 libExcludeScope
+		 */
+		SCOPE,
+
+		/**
+		 * 不需要的依赖，如：编译期才起作用的依赖、dependencies-starter
+		 */
+		UNNECESSARY,
+
+		/**
+		 * optional=true
+		 */
+		OPTIONAL
+	}
+
+
+	private final Set<String> includeGroupIds;
+
+	private final boolean includeSnapshotDependencies;
+
+	private final ScopeFilter scopeFilter;
+
+	private final Predicate<Artifact> unnecessaryArtifactPredicate;
+
+	private final boolean includeOptional;
+
+	private final PatternSet commonDependencyPatterns;
+
+
+	/**
+	 * 构造函数
+	 *
+	 * @param includeGroupIds              需打包进JAR的构件的groupId
+	 * @param includeSnapshotDependencies  是否将SNAPSHOT构件的groupId也添加到 includeGroupIds 中
+	 * @param scopeFilter                  lib的范围过滤器
+	 * @param unnecessaryArtifactPredicate 判断是否为不需要的构件
+	 * @param includeOptional              lib是否包含optional=true的构件
+	 * @param commonDependencyPatterns     lib-common的构件的匹配串
+	 */
+	public LibArtifactClassifier(Set<String> includeGroupIds, boolean includeSnapshotDependencies, ScopeFilter scopeFilter,
+								 Predicate<Artifact> unnecessaryArtifactPredicate, boolean includeOptional, PatternSet commonDependencyPatterns) {
+		this.includeGroupIds = includeGroupIds;
+		this.includeSnapshotDependencies = includeSnapshotDependencies;
+		this.scopeFilter = scopeFilter;
+		this.unnecessaryArtifactPredicate = unnecessaryArtifactPredicate;
+		this.includeOptional = includeOptional;
+		this.commonDependencyPatterns = commonDependencyPatterns;
+	}
+
+
+	/**
+	 * 对构件进行分类，test范围的构件直接忽略
+	 *
+	 * @param artifacts 已解析的构件
+	 * @return 分类结果
+	 */
+	public Result classify(Collection<Artifact> artifacts) {
+		Result result = new Result(this.includeGroupIds);
+
+		// 忽略test范围的构件，同时找出SNAPSHOT构件
+		List<Artifact> nonTestArtifacts = new ArrayList<>(artifacts.size());
+		for (Artifact artifact : artifacts) {
+			if (Artifact.SCOPE_TEST.equalsIgnoreCase(artifact.getScope())) {
+				continue;
+			}
+			nonTestArtifacts.add(artifact);
+
+			if (this.includeSnapshotDependencies && artifact.getVersion().endsWith("-SNAPSHOT")) {
+				result.snapshotArtifacts.add(artifact);
+				result.includeGroupIds.add(artifact.getGroupId());
+			}
+		}
+
+		if (result.includeGroupIds.isEmpty()) {
+			return result;
+		}
+
+		for (Artifact artifact : nonTestArtifacts) {
+			if (result.includeGroupIds.contains(artifact.getGroupId())) {
+				result.includedArtifacts.add(artifact);
+				continue;
+			}
+
+			// 因为spring-boot-maven-plugin:repackage没有includeGroupIds，所以反过来使用excludeGroupIds来达到include的效果
+			result.excludeGroupIds.add(artifact.getGroupId());
+
+			DropReason dropReason = this.getDropReason(artifact);
+			if (dropReason != null) {
+				result.droppedArtifacts.put(artifact, dropReason);
+			} else if (this.isCommonJar(artifact)) {
+				result.libCommonArtifacts.add(artifact);
+			} else {
+				result.libArtifacts.add(artifact);
+			}
+		}
+
+		return result;
+	}
+
+	private DropReason getDropReason(Artifact artifact) {
+		if (!this.scopeFilter.doFilter(artifact)) {
+			return DropReason.SCOPE;
+		}
+		if (this.unnecessaryArtifactPredicate.test(artifact)) {
+			return DropReason.UNNECESSARY;
+		}
+		if (!this.includeOptional && artifact.isOptional()) {
+			return DropReason.OPTIONAL;
+		}
+		return null;
+	}
+
+	private boolean isCommonJar(Artifact artifact) {
+		if (this.commonDependencyPatterns.isEmpty()) {
+			return false;
+		}
+		return this.commonDependencyPatterns.matches(artifact.getGroupId() + ":" + artifact.getArtifactId());
+	}
+
+
+	/**
+	 * 分类结果
+	 */
+	public static class Result {
+
+		/**
+		 * 需打包进JAR的构件的groupId，包含SNAPSHOT构件的groupId
+		 */
+		private final Set<String> includeGroupIds;
+
+		/**
+		 * 需排除的构件的groupId，使用TreeSet，为了日志按groupId顺序打印
+		 */
+		private final Set<String> excludeGroupIds = new TreeSet<>(String::compareTo);
+
+		private final List<Artifact> snapshotArtifacts = new ArrayList<>();
+
+		private final List<Artifact> includedArtifacts = new ArrayList<>();
+
+		private final List<Artifact> libArtifacts = new ArrayList<>();
+
+		private final List<Artifact> libCommonArtifacts = new ArrayList<>();
+
+		private final Map<Artifact, DropReason> droppedArtifacts = new LinkedHashMap<>();
+
+
+		Result(Set<String> includeGroupIds) {
+			this.includeGroupIds = new TreeSet<>(includeGroupIds);
+		}
+
+
+		public Set<String> getIncludeGroupIds() {
+			return Collections.unmodifiableSet(includeGroupIds);
+		}
+
+		public Set<String> getExcludeGroupIds() {
+			return Collections.unmodifiableSet(excludeGroupIds);
+		}
+
+		public List<Artifact> getSnapshotArtifacts() {
+			return Collections.unmodifiableList(snapshotArtifacts);
+		}
+
+		public List<Artifact> getIncludedArtifacts() {
+			return Collections.unmodifiableList(includedArtifacts);
+		}
+
+		public List<Artifact> getLibArtifacts() {
+			return Collections.unmodifiableList(libArtifacts);
+		}
+
+		public List<Artifact> getLibCommonArtifacts() {
+			return Collections.unmodifiableList(libCommonArtifacts);
+		}
+
+		public Map<Artifact, DropReason> getDroppedArtifacts() {
+			return Collections.unmodifiableMap(droppedArtifacts);
+		}
+
+		/**
+		 * 获取所有需排除的构件（包括被丢弃的构件）的数量
+		 *
+		 * @return 需排除的构件的数量
+		 */
+		public int getExcludedCount() {
+			return libArtifacts.size() + libCommonArtifacts.size() + droppedArtifacts.size();
+		}
+	}
+}
@@ -0,0 +1,471 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.springboot;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import icu.easyj.maven.plugin.mojo.utils.AtomicFileOutputStream;
+import icu.easyj.maven.plugin.mojo.utils.IOUtils;
+import org.apache.maven.artifact.Artifact;
+
+import static icu.easyj.maven.plugin.mojo.utils.IOUtils.LINE_SEPARATOR;
+
+/**
+ * lib历史文件（lib.history.md）的模型。<br>
+ * 表格中的每一行对应一个 {@link Row}，比较新旧文件时，按行进行有序归并，可以准确列出新增、删除、变更的JAR；
+ * 写入时，直接以流的方式写入文件，不需要先在内存中拼接整个文件内容。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class LibHistory {
+
+	/**
+	 * JAR最后修改时间的格式
+	 */
+	public static final DateTimeFormatter LAST_MODIFIED_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+	/**
+	 * 文件创建时间的格式
+	 */
+	public static final DateTimeFormatter CREATED_ON_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+	private static final String SEPARATOR = " | ";
+
+	/**
+	 * 比较行时使用的排序规则：与文件中的排序一致，根据文件名排序
+	 */
+	private static final Comparator<Row> ROW_COMPARATOR = Comparator.comparing((Row row) -> row.getFileName().toLowerCase())
+			.thenComparing(Row::getFileName);
+
+
+	/**
+	 * 表格之前的内容，只有读取的文件才有，如：Created-On
+	 */
+	private final String headerTxt;
+
+	private final List<Row> rows;
+
+
+	public LibHistory(String headerTxt, List<Row> rows) {
+		this.headerTxt = headerTxt;
+		this.rows = rows;
+	}
+
+
+	/**
+	 * 根据JAR列表创建lib历史，行的顺序与JAR列表的顺序一致
+	 *
+	 * @param jarArtifacts JAR列表
+	 * @return lib历史
+	 */
+	public static LibHistory of(List<Artifact> jarArtifacts) {
+		List<Row> rows = new ArrayList<>(jarArtifacts.size());
+		for (Artifact jarArtifact : jarArtifacts) {
+			File jarFile = jarArtifact.getFile();
+			rows.add(new Row(jarFile.getName(), jarArtifact.getGroupId(),
+					LAST_MODIFIED_FORMATTER.format(Instant.ofEpochMilli(IOUtils.getFileLastModified(jarFile))), jarFile.length()));
+		}
+		return new LibHistory(null, rows);
+	}
+
+	/**
+	 * 逐行读取lib历史文件，只解析表格内容
+	 *
+	 * @param historyFile lib历史文件
+	 * @return lib历史，文件不存在时，返回 null
+	 * @throws IOException IO异常
+	 */
+	public static LibHistory read(File historyFile) throws IOException {
+		if (!historyFile.isFile()) {
+			return null;
+		}
+
+		StringBuilder headerTxt = new StringBuilder();
+		List<Row> rows = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(historyFile), StandardCharsets.UTF_8))) {
+			int[] columns = null;
+			boolean inTable = false;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (!line.startsWith("|")) {
+					if (inTable) {
+						break; // 表格已结束
+					}
+					headerTxt.append(line).append(LINE_SEPARATOR);
+					continue;
+				}
+
+				String[] cells = splitRow(line);
+				if (columns == null) {
+					// 表头
+					columns = parseColumns(cells);
+					if (columns == null) {
+						break; // 无法识别的表格
+					}
+				} else if (!inTable) {
+					// 表头与表内容的分隔行
+					inTable = true;
+				} else {
+					Row row = parseRow(cells, columns);
+					if (row != null) {
+						rows.add(row);
+					}
+				}
+			}
+		}
+
+		return new LibHistory(headerTxt.toString(), rows);
+	}
+
+	/**
+	 * 与旧的lib历史比较，使用有序归并，列出新增、删除、变更的JAR
+	 *
+	 * @param older 旧的lib历史
+	 * @return 差异
+	 */
+	public Diff diff(LibHistory older) {
+		List<Row> newRows = new ArrayList<>(this.rows);
+		List<Row> oldRows = new ArrayList<>(older.rows);
+		newRows.sort(ROW_COMPARATOR);
+		oldRows.sort(ROW_COMPARATOR);
+
+		Diff diff = new Diff();
+		int i = 0, j = 0;
+		while (i < newRows.size() || j < oldRows.size()) {
+			int cmp;
+			if (i >= newRows.size()) {
+				cmp = 1;
+			} else if (j >= oldRows.size()) {
+				cmp = -1;
+			} else {
+				cmp = ROW_COMPARATOR.compare(newRows.get(i), oldRows.get(j));
+			}
+
+			if (cmp < 0) {
+				diff.added.add(newRows.get(i++));
+			} else if (cmp > 0) {
+				diff.removed.add(oldRows.get(j++));
+			} else {
+				Row newRow = newRows.get(i++);
+				Row oldRow = oldRows.get(j++);
+				if (!newRow.equals(oldRow)) {
+					diff.changed.add(new Row[]{oldRow, newRow});
+				}
+			}
+		}
+		return diff;
+	}
+
+	/**
+	 * 以流的方式写入lib历史文件，文件内容末尾没有换行符
+	 *
+	 * @param historyFile lib历史文件
+	 * @param createdBy   文件创建者
+	 * @param createdOn   文件创建时间
+	 * @param groupId     项目的groupId
+	 * @param artifactId  项目的artifactId
+	 * @param version     项目的version
+	 * @throws IOException IO异常
+	 */
+	public void write(File historyFile, String createdBy, long createdOn, String groupId, String artifactId, String version) throws IOException {
+		// 获取各各最大长度
+		int maxNameLength = 9;
+		int maxGroupIdLength = 8;
+		int maxBLength = 5;
+		int maxKBLength = 5;
+		long totalLength = 0;
+		for (Row row : this.rows) {
+			maxNameLength = Math.max(maxNameLength, row.getFileName().length());
+			maxGroupIdLength = Math.max(maxGroupIdLength, row.getGroupId().length());
+			maxBLength = Math.max(maxBLength, String.valueOf(row.getSize()).length());
+			maxKBLength = Math.max(maxKBLength, String.valueOf(row.getSize() / 1024).length());
+			totalLength += row.getSize();
+		}
+
+		try (AtomicFileOutputStream out = new AtomicFileOutputStream(historyFile)) {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+			// 文件来源说明与创建时间
+			writer.append("```yaml").append(LINE_SEPARATOR)
+					.append("Created-By: ").append(createdBy).append(LINE_SEPARATOR)
+					.append("Created-On: ").append(CREATED_ON_FORMATTER.format(Instant.ofEpochMilli(createdOn))).append(LINE_SEPARATOR)
+					.append("Tips: Please push this file to the VCS(Version Control System), it can be used to compare future changes to libs.").append(LINE_SEPARATOR)
+					.append("```").append(LINE_SEPARATOR)
+					.append(LINE_SEPARATOR);
+			// 项目信息：groupId、artifactId、version
+			writer.append("```yaml").append(LINE_SEPARATOR)
+					.append("groupId: ").append(groupId).append(LINE_SEPARATOR)
+					.append("artifactId: ").append(artifactId).append(LINE_SEPARATOR)
+					.append("version: ").append(version).append(LINE_SEPARATOR)
+					.append("```").append(LINE_SEPARATOR)
+					.append(LINE_SEPARATOR);
+			// lib信息
+			writer.append("```yaml").append(LINE_SEPARATOR);
+			// libs总数量
+			writer.append("Number of libs: ").append(String.valueOf(this.rows.size())).append(LINE_SEPARATOR);
+			// libs总大小：分三个单位展示（B、KB、MB）
+			writer.append("Size of libs: ")
+					.append(String.valueOf(totalLength)).append(" B | ")
+					.append(String.valueOf(totalLength / 1024)).append(" KB | ")
+					.append(String.valueOf(totalLength / 1024 / 1024)).append(" MB").append(LINE_SEPARATOR);
+			writer.append("```").append(LINE_SEPARATOR)
+					.append(LINE_SEPARATOR);
+			// 表头
+			writer.append("| File Name");
+			appendStr(writer, maxNameLength - 9, ' ');
+			writer.append(" | Group ID");
+			appendStr(writer, maxGroupIdLength - 8, ' ');
+			writer.append(" |    Last Modified    | ");
+			appendStr(writer, maxBLength - 5, ' ');
+			writer.append("Size(B) | ");
+			appendStr(writer, maxKBLength - 5, ' ');
+			writer.append("Size(KB) |").append(LINE_SEPARATOR);
+			writer.append("|:");
+			appendStr(writer, maxNameLength, '-'); // JAR文件名
+			writer.append("-|:");
+			appendStr(writer, maxGroupIdLength, '-'); // 所属组ID
+			writer.append("-|:-------------------:|-"); // 创建时间
+			appendStr(writer, maxBLength + 2, '-'); // 文件大小（B）
+			writer.append(":|-");
+			appendStr(writer, maxKBLength + 3, '-'); // 文件大小（KB）
+			writer.append(":|");
+			// 表内容
+			for (Row row : this.rows) {
+				writer.append(LINE_SEPARATOR) // 换行
+						.append("| ") // 行首符号
+						.append(row.getFileName());
+				appendStr(writer, maxNameLength - row.getFileName().length(), ' '); // JAR文件名
+				writer.append(SEPARATOR) // 分隔符
+						.append(row.getGroupId());
+				appendStr(writer, maxGroupIdLength - row.getGroupId().length(), ' '); // 所属组ID
+				writer.append(SEPARATOR) // 分隔符
+						.append(row.getLastModified()) // 文件最后修改时间
+						.append(SEPARATOR); // 分隔符
+				appendStr(writer, maxBLength - String.valueOf(row.getSize()).length(), ' ');
+				writer.append(String.valueOf(row.getSize())).append(" B") // B
+						.append(SEPARATOR); // 分隔符
+				appendStr(writer, maxKBLength - String.valueOf(row.getSize() / 1024).length(), ' ');
+				writer.append(String.valueOf(row.getSize() / 1024)).append(" KB").append(" |"); // KB
+			}
+
+			writer.flush();
+			out.commit();
+		}
+	}
+
+
+	//region Private
+
+	private static void appendStr(Writer writer, int length, char c) throws IOException {
+		while (length > 0) {
+			length--;
+			writer.write(c);
+		}
+	}
+
+	private static String[] splitRow(String line) {
+		String[] cells = line.split("\\|", -1);
+		// 去掉行首与行尾的空单元格
+		int start = cells.length > 0 && cells[0].trim().isEmpty() ? 1 : 0;
+		int end = cells.length > 1 && cells[cells.length - 1].trim().isEmpty() ? cells.length - 1 : cells.length;
+		String[] result = new String[Math.max(0, end - start)];
+		for (int i = start; i < end; i++) {
+			result[i - start] = cells[i].trim();
+		}
+		return result;
+	}
+
+	/**
+	 * 解析表头，获取各列的序号。兼容旧版本的文件（多了 'No.' 列，且 'Last Modified' 列名为 'Time'）
+	 *
+	 * @param cells 表头的单元格
+	 * @return 文件名、组ID、最后修改时间、文件大小 四列的序号，无法识别时返回 null
+	 */
+	private static int[] parseColumns(String[] cells) {
+		int[] columns = {-1, -1, -1, -1};
+		for (int i = 0; i < cells.length; i++) {
+			String cell = cells[i];
+			if ("File Name".equals(cell)) {
+				columns[0] = i;
+			} else if ("Group ID".equals(cell)) {
+				columns[1] = i;
+			} else if ("Last Modified".equals(cell) || "Time".equals(cell)) {
+				columns[2] = i;
+			} else if ("Size(B)".equals(cell)) {
+				columns[3] = i;
+			}
+		}
+		for (int column : columns) {
+			if (column < 0) {
+				return null;
+			}
+		}
+		return columns;
+	}
+
+	private static Row parseRow(String[] cells, int[] columns) {
+		for (int column : columns) {
+			if (column >= cells.length) {
+				return null;
+			}
+		}
+
+		String size = cells[columns[3]];
+		if (size.endsWith("B")) {
+			size = size.substring(0, size.length() - 1).trim();
+		}
+		long sizeB;
+		try {
+			sizeB = Long.parseLong(size);
+		} catch (NumberFormatException e) {
+			sizeB = -1;
+		}
+
+		return new Row(cells[columns[0]], cells[columns[1]], cells[columns[2]], sizeB);
+	}
+
+	//endregion
+
+
+	//region Getter
+
+	public String getHeaderTxt() {
+		return headerTxt;
+	}
+
+	public List<Row> getRows() {
+		return Collections.unmodifiableList(rows);
+	}
+
+	//endregion
+
+
+	/**
+	 * lib历史文件中的一行，即一个JAR
+	 */
+	public static class Row {
+
+		private final String fileName;
+
+		private final String groupId;
+
+		/**
+		 * 最后修改时间，格式见 {@link #LAST_MODIFIED_FORMATTER}
+		 */
+		private final String lastModified;
+
+		/**
+		 * 文件大小（B）
+		 */
+		private final long size;
+
+
+		public Row(String fileName, String groupId, String lastModified, long size) {
+			this.fileName = fileName;
+			this.groupId = groupId;
+			this.lastModified = lastModified;
+			this.size = size;
+		}
+
+
+		public String getFileName() {
+			return fileName;
+		}
+
+		public String getGroupId() {
+			return groupId;
+		}
+
+		public String getLastModified() {
+			return lastModified;
+		}
+
+		public long getSize() {
+			return size;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Row row = (Row)o;
+			return size == row.size && fileName.equals(row.fileName) && groupId.equals(row.groupId) && lastModified.equals(row.lastModified);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fileName, groupId, lastModified, size);
+		}
+
+		@Override
+		public String toString() {
+			return fileName + " (" + groupId + ", " + lastModified + ", " + size + " B)";
+		}
+	}
+
+	/**
+	 * 新旧lib历史之间的差异
+	 */
+	public static class Diff {
+
+		private final List<Row> added = new ArrayList<>();
+
+		private final List<Row> removed = new ArrayList<>();
+
+		/**
+		 * 文件名相同，但其他信息已变更的行：[旧行, 新行]
+		 */
+		private final List<Row[]> changed = new ArrayList<>();
+
+
+		public boolean isEmpty() {
+			return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+		}
+
+		public List<Row> getAdded() {
+			return added;
+		}
+
+		public List<Row> getRemoved() {
+			return removed;
+		}
+
+		public List<Row[]> getChanged() {
+			return changed;
+		}
+	}
+}
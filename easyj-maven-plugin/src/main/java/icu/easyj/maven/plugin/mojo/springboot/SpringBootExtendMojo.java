@@ -15,33 +15,50 @@
  */
 package icu.easyj.maven.plugin.mojo.springboot;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.TreeSet;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import icu.easyj.maven.plugin.mojo.utils.ArtifactStore;
+import icu.easyj.maven.plugin.mojo.utils.AtomicFileOutputStream;
+import icu.easyj.maven.plugin.mojo.utils.BuildMetrics;
+import icu.easyj.maven.plugin.mojo.utils.CompressedEntryCache;
+import icu.easyj.maven.plugin.mojo.utils.ConcurrentUtils;
 import icu.easyj.maven.plugin.mojo.utils.IOUtils;
-import icu.easyj.maven.plugin.mojo.utils.MatchUtils;
+import icu.easyj.maven.plugin.mojo.utils.JarMetadataCache;
+import icu.easyj.maven.plugin.mojo.utils.LogUtils;
 import icu.easyj.maven.plugin.mojo.utils.ObjectUtils;
+import icu.easyj.maven.plugin.mojo.utils.PatternSet;
+import icu.easyj.maven.plugin.mojo.utils.ScopeFilter;
 import icu.easyj.maven.plugin.mojo.utils.StringUtils;
+import icu.easyj.maven.plugin.mojo.utils.SyncResult;
+import icu.easyj.maven.plugin.mojo.utils.ZipOptions;
 import icu.easyj.maven.plugin.mojo.utils.ZipUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
 
 import static icu.easyj.maven.plugin.mojo.Version.VERSION;
 import static icu.easyj.maven.plugin.mojo.utils.IOUtils.LINE_SEPARATOR;
@@ -53,12 +70,9 @@ import static icu.easyj.maven.plugin.mojo.utils.IOUtils.LINE_SEPARATOR2;
  * @author wangliang181230
  * @since 0.6.8
  */
-@Mojo(name = "spring-boot-extend", defaultPhase = LifecyclePhase.PREPARE_PACKAGE, threadSafe = true)
+@Mojo(name = "spring-boot-extend", defaultPhase = LifecyclePhase.PREPARE_PACKAGE, requiresDependencyResolution = ResolutionScope.TEST, threadSafe = true)
 public class SpringBootExtendMojo extends AbstractSpringBootMojo {
 
-	private static final String SEPARATOR = " | ";
-
-
 	//region 功能1：skip install or deploy
 
 	@Parameter(defaultValue = "false")
@@ -151,12 +165,161 @@ public class SpringBootExtendMojo extends AbstractSpringBootMojo {
 	@Parameter(property = "maven.spring-boot-extend.zipLib", defaultValue = "true")
 	private boolean zipLib;
 
+	/**
+	 * 打包lib.zip时，已压缩过的文件（如：JAR），是否直接存储（STORED）而不再压缩。
+	 * JAR本身已是压缩包，再次压缩几乎不能减小文件大小，只会浪费CPU。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.zipLibStoreCompressedFiles", defaultValue = "false")
+	private boolean zipLibStoreCompressedFiles;
+
+	/**
+	 * 打包lib.zip时的压缩级别：0~9，-1为默认级别。为0时，所有文件都不压缩。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.zipLibLevel", defaultValue = "-1")
+	private int zipLibLevel;
+
+	/**
+	 * 打包lib.zip时的压缩线程数：为1时，单线程压缩；小于等于0时，取CPU核数。
+	 * 多线程压缩时，ZIP中条目的顺序与单线程压缩时一致。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.zipLibThreads", defaultValue = "1")
+	private int zipLibThreads;
+
+	/**
+	 * 打包lib.zip时，是否缓存压缩后的条目数据（以 'JAR的SHA-256校验和 + 压缩级别' 为键）。
+	 * 缓存命中时，直接写入缓存中的数据，不再重复压缩未变更的JAR。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.zipLibCache", defaultValue = "false")
+	private boolean zipLibCache;
+
+	/**
+	 * 压缩后的条目数据的缓存目录，默认存放于本地仓库中，所以 clean 之后的构建也可以使用。
+	 * {@link #zipLibCache} 为 true 时，才有作用。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.zipLibCacheDirectory", defaultValue = "${settings.localRepository}/.easyj/zip-cache")
+	private File zipLibCacheDirectory;
+
+	/**
+	 * 压缩后的条目数据的缓存的总大小上限，单位：MB。超过上限时，按最近使用时间淘汰，小于等于0时，不限制。
+	 * {@link #zipLibCache} 为 true 时，才有作用。<br>
+	 * 注意：{@link #zipLibCacheDirectory} 与 {@link #libStoreDirectory} 为同一个目录时，存储中压缩后的数据也会被淘汰（文件内容不会）。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.zipLibCacheMaxSize", defaultValue = "1024")
+	private long zipLibCacheMaxSize;
+
+	/**
+	 * 是否输出可复现的lib.zip：条目按名称排序，修改时间统一为 'project.build.outputTimestamp'，文件权限固定，且不写入扩展字段。
+	 * 相同的JAR总是输出完全相同的字节，便于下游的缓存与增量传输跳过未变更的ZIP。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.zipLibReproducible", defaultValue = "false")
+	private boolean zipLibReproducible;
+
+	/**
+	 * 可复现的ZIP中，所有条目的修改时间，格式与Maven一致：ISO-8601格式的时间，或从1970年开始的秒数。
+	 * {@link #zipLibReproducible} 为 true 时，才有作用。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(defaultValue = "${project.build.outputTimestamp}")
+	private String outputTimestamp;
+
 	/**
 	 * 生成lib历史文件。主要目的是为了让开发人员或运维人员知道lib是否 '已变更且需要更新'。
 	 */
 	@Parameter(property = "maven.spring-boot-extend.createLibHistory", defaultValue = "true")
 	private boolean createLibHistory;
 
+	/**
+	 * 是否生成lib增量包 '{libDirName}-delta.zip'：lib与基线lib历史文件（见 {@link #libDeltaBaselineDirectory}）相比有差异时，
+	 * 只打包新增或已变更的JAR，并附带需要删除的JAR的清单 '{libDirName}-delete.txt'。更新服务器上的外置lib时，只需推送已变更的JAR。<br>
+	 * lib与基线一致时，删除之前生成的增量包。<br>
+	 * {@link #createLibHistory} 为 true 时，才有作用。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.createLibDelta", defaultValue = "false")
+	private boolean createLibDelta;
+
+	/**
+	 * lib增量包的基线：存放服务器上当前部署的lib对应的lib历史文件 '{libDirName}.history.md' 的目录。<br>
+	 * 未配置时，以最近一次变更前的lib历史文件（即最新的 '{libDirName}.history.md*.bak' 文件）为基线，
+	 * 所以lib未再变更的后续构建，仍会生成相同的增量包；但若两次部署之间lib变更了多次，增量包只包含最近一次的变更，此时请配置此目录。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.libDeltaBaselineDirectory")
+	private File libDeltaBaselineDirectory;
+
+	/**
+	 * 是否增量同步lib目录：只复制新增或已变更的JAR（比较文件大小与修改时间），跳过未变更的JAR，并删除已不再依赖的JAR。<br>
+	 * 为 false 时，每次都复制全部JAR，且不会删除已不再依赖的JAR。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.libSync", defaultValue = "false")
+	private boolean libSync;
+
+	/**
+	 * 增量同步lib目录时，文件大小与修改时间均一致的JAR，是否再比较SHA-256校验和。
+	 * {@link #libSync} 为 true 时，才有作用。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.libSyncChecksum", defaultValue = "false")
+	private boolean libSyncChecksum;
+
+	/**
+	 * 是否并行处理 lib 和 lib-common：复制JAR、生成lib历史文件、打包ZIP 均使用线程池并行执行，输出结果与串行执行时一致。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.libParallel", defaultValue = "false")
+	private boolean libParallel;
+
+	/**
+	 * 并行处理时的线程数，小于等于0时，取CPU核数。
+	 * {@link #libParallel} 为 true 时，才有作用。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.libParallelThreads", defaultValue = "0")
+	private int libParallelThreads;
+
+	/**
+	 * 是否使用内容寻址的构件存储：JAR以SHA-256校验和为键，去重存放于存储目录中，lib目录通过硬链接指向存储中的文件，
+	 * 打包lib.zip时，也复用存储中已压缩好的条目数据（配置了 {@link #zipLibCache} 时，改为使用其缓存）。<br>
+	 * 多模块项目中，各模块共用同一个存储目录，相同的JAR只需复制一次、压缩一次。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.libStore", defaultValue = "false")
+	private boolean libStore;
+
+	/**
+	 * 构件存储目录，默认存放于执行构建的根项目的 target 目录中，所以各模块共用，且 clean 根项目时会被一起清除。
+	 * {@link #libStore} 为 true 时，才有作用。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-extend.libStoreDirectory", defaultValue = "${session.executionRootDirectory}/target/easyj-lib-store")
+	private File libStoreDirectory;
+
+	private ArtifactStore artifactStore;
+
 	//endregion
 
 
@@ -208,7 +371,9 @@ public class SpringBootExtendMojo extends AbstractSpringBootMojo {
 
 
 		// 功能3：创建startup文件
-		this.createStartupFile(loaderPath);
+		try (BuildMetrics.Timer ignored = this.startPhase(BuildMetrics.PHASE_STARTUP_SCRIPT)) {
+			this.createStartupFile(loaderPath);
+		}
 	}
 
 
@@ -246,35 +411,49 @@ public class SpringBootExtendMojo extends AbstractSpringBootMojo {
 
 		// 获取 includeGroupIds
 		Set<String> includeGroupIds = this.getIncludeGroupIds();
-		if (ObjectUtils.isEmpty(includeGroupIds)) {
+		if (ObjectUtils.isEmpty(includeGroupIds) && !this.includeSnapshotDependencies) {
+			return null;
+		}
+
+		// 创建lib的范围过滤器，范围配置无效时，在处理任何依赖之前就失败
+		ScopeFilter libScopeFilter = this.createScopeFilter(this.libIncludeScope, this.libExcludeScope);
+
+		Set<String> commonDependencyPatternSet = StringUtils.toSet(this.commonDependencyPatterns);
+		if (ObjectUtils.isNotEmpty(this.commonDependencyPatternSet)) {
+			commonDependencyPatternSet.addAll(this.commonDependencyPatternSet);
+		}
+		// 预编译匹配串，避免每个构件都重新解析一次
+		PatternSet commonDependencyPatterns = new PatternSet(commonDependencyPatternSet);
+
+		File jarMetadataCacheFile = new File(this.getTargetDir(), JarMetadataCache.CACHE_FILE_PATH);
+		LibArtifactClassifier.Result classification;
+		try (BuildMetrics.Timer timer = this.startPhase(BuildMetrics.PHASE_CLASSIFY)) {
+			// 加载JAR文件元数据的缓存，避免每次构建都重复读取所有JAR文件
+			JarMetadataCache.load(jarMetadataCacheFile);
+
+			// 一次遍历已解析的构件，完成分类。不修改 project 的构件过滤器，避免影响其他插件，且在并行构建中是安全的
+			LibArtifactClassifier classifier = new LibArtifactClassifier(includeGroupIds, this.includeSnapshotDependencies, libScopeFilter,
+					art -> isUnnecessaryArtifact(art, this.libExcludeDependenciesStarter), // 一些不需要的依赖，如：编译期起才作用的依赖
+					this.libIncludeOptional, commonDependencyPatterns);
+			classification = classifier.classify(project.getArtifacts());
+			timer.getPhase().addFiles(project.getArtifacts().size());
+		}
+
+		for (Artifact snapshotArtifact : classification.getSnapshotArtifacts()) {
+			this.info("snapshotArtifact: %s", snapshotArtifact.getArtifactId());
+		}
+
+		includeGroupIds = classification.getIncludeGroupIds();
+		if (includeGroupIds.isEmpty()) {
 			return null;
 		}
+
 		// 打印 includeGroupIds
 		this.emptyLine();
-		this.info("The includeGroupIds: " + this.collectionToStr(includeGroupIds));
+		this.info("The includeGroupIds: %s", LogUtils.lazyListStr(includeGroupIds));
 
 		// 因为spring-boot-maven-plugin:repackage没有includeGroupIds，所以反过来使用excludeGroupIds来达到include的效果
-		Set<String> excludeGroupIds = new TreeSet<>(String::compareTo); // 使用TreeSet，为了下面的日志按groupId顺序打印
-		AtomicInteger includeCount = new AtomicInteger(0);
-		// 设置过滤器
-		project.setArtifactFilter(artifact -> {
-			if (this.isNotTestArtifact(artifact)) {
-				if (!includeGroupIds.contains(artifact.getGroupId())) {
-					return true;
-				} else {
-					includeCount.incrementAndGet();
-				}
-			}
-			return false;
-		});
-		// 获取需排除的artifacts
-		Set<Artifact> excludeArtifacts = project.getArtifacts();
-		// 需排除的artifacts的所有groupId添加到excludeGroupIds
-		for (Artifact excludeArtifact : excludeArtifacts) {
-			excludeGroupIds.add(excludeArtifact.getGroupId());
-		}
-		// 清空过滤器
-		project.setArtifactFilter(null);
+		Set<String> excludeGroupIds = classification.getExcludeGroupIds();
 
 		// 设置 'spring-boot.excludeGroupIds'
 		if (excludeGroupIds.isEmpty()) {
@@ -290,7 +469,7 @@ public class SpringBootExtendMojo extends AbstractSpringBootMojo {
 
 		// 打印下当前值
 		String propertyValue = this.getProperty("spring-boot.excludeGroupIds");
-		if (ObjectUtils.isNotEmpty(propertyValue)) {
+		if (ObjectUtils.isNotEmpty(propertyValue) && getLog().isInfoEnabled()) {
 			this.emptyLine();
 			this.info("The origin values of the property 'spring-boot.excludeGroupIds' for the goal 'spring-boot-maven-plugin:repackage':" + this.handleListStr(propertyValue.trim()));
 		}
@@ -298,7 +477,7 @@ public class SpringBootExtendMojo extends AbstractSpringBootMojo {
 		// 设置 property 'spring-boot.excludeGroupIds'
 		this.emptyLine();
 		this.info("Put the following values to the property 'spring-boot.excludeGroupIds' for the goal 'spring-boot-maven-plugin:repackage': (%d)%s",
-				excludeGroupIds.size(), this.collectionToStr(excludeGroupIds));
+				excludeGroupIds.size(), LogUtils.lazyListStr(excludeGroupIds));
 		properties.put("spring-boot.excludeGroupIds", StringUtils.toString(excludeGroupIds));
 
 		//endregion
@@ -320,51 +499,77 @@ public class SpringBootExtendMojo extends AbstractSpringBootMojo {
 		}
 
 
-		//region lib 和 lib-common，根据 commonDependencyPatterns 配置，分开来
+		//region lib 和 lib-common，根据 commonDependencyPatterns 配置，分开来（已在分类时完成）
 
-		// 将scope=provided、optional=true和无用的jar包丢弃掉
-		excludeArtifacts.removeIf(art ->
-				!filter(art, this.libIncludeScope, this.libExcludeScope)
-						|| isUnnecessaryArtifact(art, this.libExcludeDependenciesStarter) // 一些不需要的依赖，如：编译期起才作用的依赖
-						|| (!libIncludeOptional && art.isOptional()) // optional=true
-		);
+		if (!commonDependencyPatterns.isEmpty()) {
+			this.emptyLine();
+			this.info("The commonDependencyPatterns: %s", LogUtils.lazyListStr(commonDependencyPatternSet));
+		}
 
-		List<Artifact> jarArtifacts = new ArrayList<>();
-		List<Artifact> commonJarArtifacts = new ArrayList<>();
+		// scope=provided、optional=true和无用的jar包，已在分类时丢弃
+		for (Map.Entry<Artifact, LibArtifactClassifier.DropReason> dropped : classification.getDroppedArtifacts().entrySet()) {
+			this.debug("Drop the artifact '%s', reason: %s", dropped.getKey(), dropped.getValue());
+		}
 
-		Set<String> commonDependencyPatternSet = StringUtils.toSet(this.commonDependencyPatterns);
-		if (ObjectUtils.isNotEmpty(this.commonDependencyPatternSet)) {
-			commonDependencyPatternSet.addAll(this.commonDependencyPatternSet);
+		List<Artifact> jarArtifacts = new ArrayList<>(classification.getLibArtifacts());
+		List<Artifact> commonJarArtifacts = new ArrayList<>(classification.getLibCommonArtifacts());
+
+		// 需排除的所有JAR（包括被丢弃的），用于保存JAR文件元数据的缓存
+		List<File> jarFiles = new ArrayList<>(classification.getExcludedCount());
+		for (Artifact artifact : jarArtifacts) {
+			jarFiles.add(artifact.getFile());
 		}
-		if (!commonDependencyPatternSet.isEmpty()) {
-			this.emptyLine();
-			this.info("The commonDependencyPatterns: " + this.collectionToStr(commonDependencyPatternSet));
+		for (Artifact artifact : commonJarArtifacts) {
+			jarFiles.add(artifact.getFile());
 		}
-
-		// 从 artifact 中获取 file
-		for (Artifact excludeArtifact : excludeArtifacts) {
-			if (this.isCommonJar(excludeArtifact, commonDependencyPatternSet)) {
-				commonJarArtifacts.add(excludeArtifact);
-			} else {
-				jarArtifacts.add(excludeArtifact);
-			}
+		for (Artifact artifact : classification.getDroppedArtifacts().keySet()) {
+			jarFiles.add(artifact.getFile());
 		}
 
 		//endregion
 
-		int total = (includeCount.get() + excludeArtifacts.size());
+		int includeCount = classification.getIncludedArtifacts().size();
+		int excludeCount = jarArtifacts.size() + commonJarArtifacts.size();
+		int total = (includeCount + excludeCount);
 		this.emptyLine();
 		this.info("  Total: %d JARs", total);
-		this.info("Include: %s JARs", StringUtils.padLeft(includeCount.get(), String.valueOf(total).length()));
+		this.info("Include: %s JARs", StringUtils.padLeft(includeCount, String.valueOf(total).length()));
 		this.info("Exclude: %s JARs（lib: %d, lib-common: %d）",
-				StringUtils.padLeft(excludeArtifacts.size(), String.valueOf(total).length()), jarArtifacts.size(), commonJarArtifacts.size());
+				StringUtils.padLeft(excludeCount, String.valueOf(total).length()), jarArtifacts.size(), commonJarArtifacts.size());
 
-		String loaderPath = "";
+		if (this.libStore) {
+			this.artifactStore = new ArtifactStore(this.libStoreDirectory);
+			this.emptyLine();
+			this.info("Use the artifact store: %s", this.libStoreDirectory.getPath());
+		}
 
-		if (this.createLibDirAndZip("lib", jarArtifacts)) {
+		if (this.libParallel) {
+			this.createLibDirsAndZipsInParallel(jarArtifacts, commonJarArtifacts);
+		} else {
+			this.createLibDirAndZip("lib", jarArtifacts);
+			this.createLibDirAndZip("lib-common", commonJarArtifacts);
+		}
+
+		// 清理压缩后的条目数据的缓存，使其不超过上限
+		if (this.zipLibCache) {
+			int deleted = new CompressedEntryCache(this.zipLibCacheDirectory).trim(this.zipLibCacheMaxSize * 1024 * 1024);
+			if (deleted > 0) {
+				this.info("Trimmed the zip cache, deleted %d entries: %s", deleted, this.zipLibCacheDirectory.getPath());
+			}
+		}
+
+		// 保存JAR文件元数据的缓存
+		try {
+			JarMetadataCache.save(jarMetadataCacheFile, jarFiles);
+		} catch (IOException e) {
+			this.warn("Save the JAR metadata cache failed: %s", jarMetadataCacheFile.getPath(), e);
+		}
+
+		String loaderPath = "";
+		if (!jarArtifacts.isEmpty()) {
 			loaderPath = "lib/";
 		}
-		if (this.createLibDirAndZip("lib-common", commonJarArtifacts)) {
+		if (!commonJarArtifacts.isEmpty()) {
 			if (loaderPath.length() > 0) loaderPath += ", ";
 			loaderPath += "lib-common/";
 		}
@@ -391,60 +596,220 @@ public class SpringBootExtendMojo extends AbstractSpringBootMojo {
 		// string 转为 set
 		Set<String> includeGroupIds = StringUtils.toTreeSet(includeGroupIdsStr);
 
-		if (this.includeSnapshotDependencies) {
-			// 设置过滤器
-			project.setArtifactFilter(artifact -> this.isNotTestArtifact(artifact) && artifact.getVersion().endsWith("-SNAPSHOT"));
-			// 获取SNAPSHOT版本的artifacts
-			Set<Artifact> snapshotArtifacts = project.getArtifacts();
-			// 清空过滤器
-			project.setArtifactFilter(null);
-			// 获取groupIds
-			for (Artifact snapshotArtifact : snapshotArtifacts) {
-				this.info("snapshotArtifact: %s", snapshotArtifact.getArtifactId());
-				includeGroupIds.add(snapshotArtifact.getGroupId());
-			}
-		}
-
 		return includeGroupIds;
 	}
 
-	private boolean createLibDirAndZip(String libDirName, List<Artifact> jarArtifacts) throws IOException {
+	private void createLibDirAndZip(String libDirName, List<Artifact> jarArtifacts) throws IOException {
 		if (jarArtifacts.isEmpty()) {
-			return false;
+			if (this.libSync) {
+				this.removeEmptyLib(libDirName);
+			}
+			return;
 		}
 
-		// 创建lib目录实例
-		File libDir = this.createLibDir(libDirName);
-
 		// 将依赖复制到lib目录下
-		this.emptyLine();
-		this.info("Copy %d JARs to the directory: %s", jarArtifacts.size(), libDir.getPath());
-		this.copyFilesToDir2(jarArtifacts, libDir);
+		try (BuildMetrics.Timer ignored = this.startPhase(BuildMetrics.PHASE_COPY)) {
+			File libDir = this.createLibDirAndLog(libDirName, jarArtifacts);
+			if (this.libSync) {
+				SyncResult result = this.syncFilesToDir2(jarArtifacts, libDir, this.libSyncChecksum);
+				this.info("Sync '%s/' succeeded, %s", libDirName, result);
+			} else {
+				this.copyFilesToDir2(jarArtifacts, libDir);
+			}
+		}
 
 		// 生成lib(-common).history.md
 		if (this.createLibHistory) {
-			this.createLibHistoryFile(libDirName, jarArtifacts);
+			try (BuildMetrics.Timer ignored = this.startPhase(BuildMetrics.PHASE_HISTORY)) {
+				this.createLibHistoryFile(libDirName, jarArtifacts);
+			}
 		}
 
 		// 将依赖打包进lib(-common).zip中
 		if (zipLib) {
-			FileOutputStream fos;
-			try {
-				fos = new FileOutputStream(outputDirectory.getPath() + "/target/" + libDirName + "---" + jarArtifacts.size() + "-JARs.zip");
-			} catch (FileNotFoundException e) {
-				throw new RuntimeException("New FileOutputStream of '" + libDirName + ".zip' failed.", e);
+			try (BuildMetrics.Timer ignored = this.startPhase(BuildMetrics.PHASE_ZIP)) {
+				this.createLibZip(libDirName, jarArtifacts);
 			}
+		}
+	}
 
-			try {
-				ZipUtils.toZip3(jarArtifacts, fos, false, libDirName);
-			} catch (IOException e) {
-				throw new RuntimeException("Package '" + libDirName + ".zip' failed.", e);
+	/**
+	 * 同步模式下，lib为空时，删除 target 目录中之前生成的lib目录及lib.zip，避免残留的JAR被误用。<br>
+	 * 不处理项目目录中的lib历史文件：它可能已提交到版本控制系统中，且是lib增量包的基线，与lib不为空时一样，只在lib变更时由 {@link #createLibHistoryFile} 备份并更新。
+	 *
+	 * @param libDirName lib目录名
+	 */
+	private void removeEmptyLib(String libDirName) {
+		File libDir = new File(this.getTargetDir(), libDirName);
+		if (libDir.isDirectory()) {
+			SyncResult result = new SyncResult();
+			this.removeOrphanFiles(Collections.emptyList(), libDir, result);
+			if (!libDir.delete()) {
+				this.warn("Failed to delete the directory: %s", libDir.getPath());
 			}
+			this.info("Sync '%s/' succeeded, %s", libDirName, result);
+		}
+
+		File[] zipFiles = this.getTargetDir().listFiles((dir, name) -> name.startsWith(libDirName + "---") && name.endsWith("-JARs.zip"));
+		if (zipFiles == null) {
+			return;
+		}
+		for (File file : zipFiles) {
+			if (file.delete()) {
+				this.info("Delete the outdated file: %s", file.getPath());
+			} else {
+				this.warn("Failed to delete the outdated file: %s", file.getPath());
+			}
+		}
+	}
 
-			this.info("Package '%s.zip' succeeded, contains %d JARs.", libDirName, jarArtifacts.size());
+	/**
+	 * 并行处理 lib 和 lib-common。<br>
+	 * 按 '复制JAR -> 生成lib历史文件 -> 打包ZIP' 三个阶段执行，每个阶段内的任务并行执行，阶段之间保持原有的先后顺序，
+	 * 所以各文件的内容与串行执行时一致。
+	 *
+	 * @param jarArtifacts       lib的构件列表
+	 * @param commonJarArtifacts lib-common的构件列表
+	 * @throws IOException IO异常
+	 */
+	private void createLibDirsAndZipsInParallel(List<Artifact> jarArtifacts, List<Artifact> commonJarArtifacts) throws IOException {
+		Map<String, List<Artifact>> libs = new LinkedHashMap<>();
+		if (!jarArtifacts.isEmpty()) {
+			libs.put("lib", jarArtifacts);
+		} else if (this.libSync) {
+			this.removeEmptyLib("lib");
+		}
+		if (!commonJarArtifacts.isEmpty()) {
+			libs.put("lib-common", commonJarArtifacts);
+		} else if (this.libSync) {
+			this.removeEmptyLib("lib-common");
+		}
+		if (libs.isEmpty()) {
+			return;
 		}
 
-		return true;
+		int threads = ConcurrentUtils.getThreads(this.libParallelThreads);
+		this.emptyLine();
+		this.info("Process %s in parallel with %d threads.", libs.keySet(), threads);
+
+		ExecutorService executor = ConcurrentUtils.newThreadPool("easyj-spring-boot-extend-", threads);
+		try {
+			// 将依赖复制到lib目录下
+			List<Callable<Void>> tasks = new ArrayList<>();
+			Map<String, File> libDirs = new LinkedHashMap<>();
+			Map<String, SyncResult> syncResults = new LinkedHashMap<>();
+			for (Map.Entry<String, List<Artifact>> lib : libs.entrySet()) {
+				File libDir = this.createLibDirAndLog(lib.getKey(), lib.getValue());
+				SyncResult syncResult = new SyncResult();
+				libDirs.put(lib.getKey(), libDir);
+				syncResults.put(lib.getKey(), syncResult);
+				for (Artifact jarArtifact : lib.getValue()) {
+					tasks.add(() -> {
+						if (this.libSync) {
+							this.syncFileToDir(jarArtifact.getFile(), libDir, this.libSyncChecksum, syncResult);
+						} else {
+							this.copyFileToDir(jarArtifact.getFile(), libDir);
+						}
+						return null;
+					});
+				}
+			}
+			try (BuildMetrics.Timer ignored = this.startPhase(BuildMetrics.PHASE_COPY)) {
+				ConcurrentUtils.invokeAll(executor, tasks);
+			}
+			if (this.libSync) {
+				for (Map.Entry<String, List<Artifact>> lib : libs.entrySet()) {
+					SyncResult syncResult = syncResults.get(lib.getKey());
+					this.removeOrphanFiles(lib.getValue(), libDirs.get(lib.getKey()), syncResult);
+					this.info("Sync '%s/' succeeded, %s", lib.getKey(), syncResult);
+				}
+			}
+
+			// 生成lib(-common).history.md
+			if (this.createLibHistory) {
+				tasks.clear();
+				libs.forEach((libDirName, artifacts) -> tasks.add(() -> {
+					this.createLibHistoryFile(libDirName, artifacts);
+					return null;
+				}));
+				try (BuildMetrics.Timer ignored = this.startPhase(BuildMetrics.PHASE_HISTORY)) {
+					ConcurrentUtils.invokeAll(executor, tasks);
+				}
+			}
+
+			// 将依赖打包进lib(-common).zip中
+			if (this.zipLib) {
+				tasks.clear();
+				libs.forEach((libDirName, artifacts) -> tasks.add(() -> {
+					this.createLibZip(libDirName, artifacts);
+					return null;
+				}));
+				try (BuildMetrics.Timer ignored = this.startPhase(BuildMetrics.PHASE_ZIP)) {
+					ConcurrentUtils.invokeAll(executor, tasks);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 使用构件存储时，JAR先存入存储中，再以硬链接的方式"复制"到lib目录下
+	 */
+	@Override
+	protected void copyFile(File sourceFile, File targetFile) {
+		if (this.artifactStore == null) {
+			super.copyFile(sourceFile, targetFile);
+			return;
+		}
+
+		try {
+			boolean linked = this.artifactStore.link(sourceFile, targetFile);
+			this.recordCopiedFile(sourceFile, linked);
+		} catch (IOException e) {
+			throw new RuntimeException(String.format("Link file from the artifact store failed: %s -> %s", sourceFile.getPath(), targetFile.getPath()), e);
+		}
+	}
+
+	private File createLibDirAndLog(String libDirName, List<Artifact> jarArtifacts) {
+		// 创建lib目录实例
+		File libDir = this.createLibDir(libDirName);
+
+		this.emptyLine();
+		this.info("%s %d JARs to the directory: %s", this.libSync ? "Sync" : "Copy", jarArtifacts.size(), libDir.getPath());
+
+		return libDir;
+	}
+
+	private void createLibZip(String libDirName, List<Artifact> jarArtifacts) {
+		File zipFile = new File(outputDirectory.getPath() + "/target/" + libDirName + "---" + jarArtifacts.size() + "-JARs.zip");
+		try {
+			AtomicFileOutputStream.write(zipFile, this.fsync,
+					out -> ZipUtils.toZip3(jarArtifacts, out, false, libDirName, this.getZipLibOptions()));
+		} catch (IOException e) {
+			throw new RuntimeException("Package '" + libDirName + ".zip' failed.", e);
+		}
+
+		this.info("Package '%s.zip' succeeded, contains %d JARs.", libDirName, jarArtifacts.size());
+	}
+
+	private ZipOptions getZipLibOptions() {
+		ZipOptions options = new ZipOptions();
+		options.setLevel(this.zipLibLevel);
+		options.setStoreCompressedFiles(this.zipLibStoreCompressedFiles);
+		options.setThreads(this.zipLibThreads);
+		options.setMetrics(this.getPhase(BuildMetrics.PHASE_ZIP));
+		options.setTempDirectory(this.getTargetDir());
+		if (this.zipLibReproducible) {
+			options.setReproducible(true);
+			options.setOutputTimestamp(ZipOptions.parseOutputTimestamp(this.outputTimestamp));
+		}
+		if (this.zipLibCache) {
+			options.setEntryCache(new CompressedEntryCache(this.zipLibCacheDirectory));
+		} else if (this.artifactStore != null) {
+			options.setEntryCache(this.artifactStore.getEntryCache());
+		}
+		return options;
 	}
 
 	private void createLibHistoryFile(String libDirName, List<Artifact> jarArtifacts) throws IOException {
@@ -460,100 +825,29 @@ public class SpringBootExtendMojo extends AbstractSpringBootMojo {
 			}
 		});*/
 
-		// 获取各各最大长度
-		int maxNameLength = 0;
-		int maxGroupIdLength = 0;
-		int maxBLength = 0;
-		int maxKBLength = 0;
-		long totalLength = 0;
-		for (Artifact jarArtifact : jarArtifacts) {
-			File jarFile = jarArtifact.getFile();
-			if (maxNameLength < jarFile.getName().length()) {
-				maxNameLength = jarFile.getName().length();
-			}
-			if (maxGroupIdLength < jarArtifact.getGroupId().length()) {
-				maxGroupIdLength = jarArtifact.getGroupId().length();
-			}
-			if (maxBLength < String.valueOf(jarFile.length()).length()) {
-				maxBLength = String.valueOf(jarFile.length()).length();
-			}
-			if (maxKBLength < String.valueOf(jarFile.length() / 1024).length()) {
-				maxKBLength = String.valueOf(jarFile.length() / 1024).length();
-			}
-			totalLength += jarFile.length();
-		}
-		maxNameLength = Math.max(maxNameLength, 9);
-		maxGroupIdLength = Math.max(maxGroupIdLength, 8);
-		maxBLength = Math.max(maxBLength, 5);
-		maxKBLength = Math.max(maxKBLength, 5);
-
-		// 组装文件内容
-		StringBuilder history = new StringBuilder();
-		// 文件来源说明与创建时间
-		history.append("```yaml").append(LINE_SEPARATOR)
-				.append("Created-By: icu.easyj.maven.plugins:easyj-maven-plugin:").append(VERSION).append("(goal:spring-boot-extend)").append(LINE_SEPARATOR)
-				.append("Created-On: ").append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(System.currentTimeMillis())).append(LINE_SEPARATOR)
-				.append("Tips: Please push this file to the VCS(Version Control System), it can be used to compare future changes to libs.").append(LINE_SEPARATOR)
-				.append("```").append(LINE_SEPARATOR)
-				.append(LINE_SEPARATOR);
-		// 项目信息：groupId、artifactId、version
-		history.append("```yaml").append(LINE_SEPARATOR)
-				.append("groupId: ").append(project.getGroupId()).append(LINE_SEPARATOR)
-				.append("artifactId: ").append(project.getArtifactId()).append(LINE_SEPARATOR)
-				.append("version: ").append(project.getVersion()).append(LINE_SEPARATOR)
-				.append("```").append(LINE_SEPARATOR)
-				.append(LINE_SEPARATOR);
-		// lib信息
-		history.append("```yaml").append(LINE_SEPARATOR);
-		// libs总数量
-		history.append("Number of libs: ").append(jarArtifacts.size()).append(LINE_SEPARATOR);
-		// libs总大小：分三个单位展示（B、KB、MB）
-		history.append("Size of libs: ")
-				.append(totalLength).append(" B | ")
-				.append(totalLength / 1024).append(" KB | ")
-				.append(totalLength / 1024 / 1024).append(" MB").append(LINE_SEPARATOR);
-		history.append("```").append(LINE_SEPARATOR)
-				.append(LINE_SEPARATOR);
-		// 表头
-		history.append("| File Name").append(this.buildStr(maxNameLength - 9, ' ')).append(" ")
-				.append("| Group ID").append(this.buildStr(maxGroupIdLength - 8, ' ')).append(" ")
-				.append("|    Last Modified    ")
-				.append("| ").append(this.buildStr(maxBLength - 5, ' ')).append("Size(B) ")
-				.append("| ").append(this.buildStr(maxKBLength - 5, ' ')).append("Size(KB) |")
-				.append(LINE_SEPARATOR)
-				.append("|:").append(this.buildStr(maxNameLength, '-')).append("-") // JAR文件名
-				.append("|:").append(this.buildStr(maxGroupIdLength, '-')).append("-") // 所属组ID
-				.append("|:-------------------:") // 创建时间
-				.append("|-").append(this.buildStr(maxBLength + 2, '-')).append(":") // 文件大小（B）
-				.append("|-").append(this.buildStr(maxKBLength + 3, '-')).append(":|") // 文件大小（KB）
-				.append(LINE_SEPARATOR);
-		// 表内容
-		for (Artifact jarArtifact : jarArtifacts) {
-			File jarFile = jarArtifact.getFile();
-			long fileLength = jarFile.length();
-			history.append("| ") // 行首符号
-					.append(jarFile.getName()).append(this.buildIndent(maxNameLength, jarFile.getName())) // JAR文件名
-					.append(SEPARATOR) // 分隔符
-					.append(jarArtifact.getGroupId()).append(this.buildIndent(maxGroupIdLength, jarArtifact.getGroupId())) // 所属组ID
-					.append(SEPARATOR) // 分隔符
-					.append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(IOUtils.getFileLastModified(jarFile))) // 文件最后修改时间
-					.append(SEPARATOR) // 分隔符
-					.append(this.buildIndent(maxBLength, fileLength)).append(fileLength).append(" B") // B
-					.append(SEPARATOR) // 分隔符
-					.append(this.buildIndent(maxKBLength, fileLength / 1024)).append(fileLength / 1024).append(" KB").append(" |") // KB
-					.append(LINE_SEPARATOR); // 换行
-		}
-		String newHistoryTxt = history.toString().trim();
+		LibHistory newHistory = LibHistory.of(jarArtifacts);
 
 		// 读取现有的文件内容并与新的文件内容作比较，如果不一样，则提示警告，告知开发或运维人员需要更新外置lib了
 		File historyFile = new File(this.outputDirectory, libDirName + ".history.md");
-		String historyTxt = IOUtils.getFileTxt(historyFile);
-		if (historyTxt != null) { // 为null时，文件不存在，说明是第一次生成
-			if (!getLibHistoryTableTxt(historyTxt).equals(getLibHistoryTableTxt(newHistoryTxt))) {
-				// 打印 WARNING 日志
-				this.warn("'%s/' 目录中的JAR文件已变更，请检查 '%s/%s.history.md' 文件中已变更的JAR，并务必与应用一起更新，避免应用运行异常！(%s)",
-						libDirName, this.outputDirectory.getName(), libDirName,
-						new SimpleDateFormat("HH:mm:ss.SSS").format(new Date())); // 后面加个时间，避免IDE不提示WARN警告。
+		LibHistory history = LibHistory.read(historyFile);
+		if (history != null) { // 为null时，文件不存在，说明是第一次生成
+			LibHistory.Diff diff = newHistory.diff(history);
+			if (!diff.isEmpty()) {
+				// 打印 WARNING 日志，并列出已变更的JAR。并行处理时，避免与其他lib的日志交错
+				synchronized (this) {
+					this.warn("'%s/' 目录中的JAR文件已变更，请检查 '%s/%s.history.md' 文件中已变更的JAR，并务必与应用一起更新，避免应用运行异常！(%s)",
+							libDirName, this.outputDirectory.getName(), libDirName,
+							new SimpleDateFormat("HH:mm:ss.SSS").format(new Date())); // 后面加个时间，避免IDE不提示WARN警告。
+					for (LibHistory.Row row : diff.getAdded()) {
+						this.warn("  + 新增：%s", row);
+					}
+					for (LibHistory.Row row : diff.getRemoved()) {
+						this.warn("  - 删除：%s", row);
+					}
+					for (LibHistory.Row[] rows : diff.getChanged()) {
+						this.warn("  * 变更：%s -> %s", rows[0], rows[1]);
+					}
+				}
 
 				// 将原文件重命名为 *.bak 文件，并设为可写
 				File historyFileBak = new File(this.outputDirectory, libDirName + ".history.md.bak");
@@ -564,61 +858,139 @@ public class SpringBootExtendMojo extends AbstractSpringBootMojo {
 					i++;
 				}
 				historyFile.renameTo(historyFileBak);
-				this.updateLibHistoryFileLastModified(historyFileBak, historyTxt);
+				this.updateLibHistoryFileLastModified(historyFileBak, history.getHeaderTxt());
 
 				// 创建新文件
 				historyFile.setWritable(true);
-				IOUtils.createFile(historyFile, newHistoryTxt);
+				this.writeLibHistoryFile(newHistory, historyFile);
 			}
 		} else {
-			IOUtils.createFile(historyFile, newHistoryTxt);
+			this.writeLibHistoryFile(newHistory, historyFile);
 		}
 		// 最终设置为只读
 		historyFile.setReadOnly();
+
+		// 生成lib增量包：与基线比较，而不是与刚被替换的lib历史文件比较，否则lib未再变更的下一次构建，就会删除尚未部署的增量包
+		if (this.createLibDelta) {
+			this.createOrDeleteLibDeltaZip(libDirName, jarArtifacts, newHistory);
+		}
 	}
 
-	private boolean isCommonJar(Artifact artifact, Set<String> commonDependencyPatternSet) {
-		for (String commonArtifactPattern : commonDependencyPatternSet) {
-			if (MatchUtils.match(commonArtifactPattern, artifact.getGroupId() + ":" + artifact.getArtifactId())) {
-				return true;
+	/**
+	 * 与基线lib历史文件比较：有差异时，生成lib增量包；没有基线或没有差异时，删除之前生成的lib增量包
+	 */
+	private void createOrDeleteLibDeltaZip(String libDirName, List<Artifact> jarArtifacts, LibHistory newHistory) throws IOException {
+		File baselineFile;
+		if (this.libDeltaBaselineDirectory != null) {
+			baselineFile = new File(this.libDeltaBaselineDirectory, libDirName + ".history.md");
+			if (!baselineFile.isFile()) {
+				this.warn("The baseline lib history file '%s' does not exist, skip creating '%s-delta.zip'.", baselineFile.getPath(), libDirName);
 			}
+		} else {
+			baselineFile = findLatestLibHistoryBak(this.outputDirectory, libDirName);
 		}
-		return false;
-	}
 
-	private String buildIndent(int maxNameLength, String name) {
-		int diff = maxNameLength - name.length();
-		return buildStr(diff, ' ');
+		LibHistory baseline = baselineFile != null ? LibHistory.read(baselineFile) : null;
+		LibHistory.Diff diff = baseline != null ? newHistory.diff(baseline) : null;
+		if (diff == null || diff.isEmpty()) {
+			this.deleteLibDeltaZip(libDirName);
+			return;
+		}
+
+		this.info("Create '%s-delta.zip' against the baseline lib history file: %s", libDirName, baselineFile.getPath());
+		this.createLibDeltaZip(libDirName, jarArtifacts, diff);
 	}
 
-	private String buildIndent(int maxSizeLength, long size) {
-		int diff = maxSizeLength - String.valueOf(size).length();
+	/**
+	 * 查找最近一次变更前的lib历史文件：lib变更时，原文件被重命名为 *.bak 文件，且修改时间被设置为其创建时间
+	 *
+	 * @param outputDirectory lib历史文件所在的目录
+	 * @param libDirName      lib目录名
+	 * @return 最新的 *.bak 文件，不存在时，返回 null
+	 */
+	@Nullable
+	static File findLatestLibHistoryBak(File outputDirectory, String libDirName) {
+		String prefix = libDirName + ".history.md";
+		File[] bakFiles = outputDirectory.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(".bak"));
+		if (bakFiles == null) {
+			return null;
+		}
 
-		return buildStr(diff, ' ');
+		File latest = null;
+		long latestLastModified = Long.MIN_VALUE;
+		for (File bakFile : bakFiles) {
+			long lastModified = bakFile.lastModified();
+			if (latest == null || lastModified > latestLastModified) {
+				latest = bakFile;
+				latestLastModified = lastModified;
+			}
+		}
+		return latest;
 	}
 
-	private String buildStr(int length, char c) {
-		StringBuilder sb = new StringBuilder();
-		while (length > 0) {
-			length--;
-			sb.append(c);
+	/**
+	 * 生成lib增量包：只包含新增或已变更的JAR，以及需要删除的JAR的清单
+	 *
+	 * @param libDirName   lib目录名
+	 * @param jarArtifacts lib的构件列表
+	 * @param diff         与基线lib历史文件的差异
+	 * @throws IOException IO异常
+	 */
+	private void createLibDeltaZip(String libDirName, List<Artifact> jarArtifacts, LibHistory.Diff diff) throws IOException {
+		Map<String, File> jarFiles = new HashMap<>(jarArtifacts.size() * 2);
+		for (Artifact jarArtifact : jarArtifacts) {
+			jarFiles.put(jarArtifact.getFile().getName(), jarArtifact.getFile());
+		}
+
+		// 需要删除的JAR的清单，每行一个文件名
+		File deleteListFile = new File(this.createTargetDir(), libDirName + "-delete.txt");
+		try (AtomicFileOutputStream out = new AtomicFileOutputStream(deleteListFile)) {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+			for (LibHistory.Row row : diff.getRemoved()) {
+				writer.write(row.getFileName());
+				writer.write(LINE_SEPARATOR);
+			}
+			writer.flush();
+			out.commit();
+		}
+
+		Map<String, File> entries = new LinkedHashMap<>();
+		for (LibHistory.Row row : diff.getAdded()) {
+			entries.put(libDirName + "/" + row.getFileName(), jarFiles.get(row.getFileName()));
+		}
+		for (LibHistory.Row[] rows : diff.getChanged()) {
+			entries.put(libDirName + "/" + rows[1].getFileName(), jarFiles.get(rows[1].getFileName()));
 		}
+		entries.put(deleteListFile.getName(), deleteListFile);
 
-		return sb.toString();
+		AtomicFileOutputStream.write(new File(this.getTargetDir(), libDirName + "-delta.zip"), this.fsync,
+				out -> ZipUtils.toZip4(entries, out, this.getZipLibOptions()));
+
+		this.info("Package '%s-delta.zip' succeeded, contains %d added and %d changed JARs, and %d JARs to delete.",
+				libDirName, diff.getAdded().size(), diff.getChanged().size(), diff.getRemoved().size());
 	}
 
 	/**
-	 * 获取lib历史信息主要内容
+	 * lib与基线一致时，删除之前生成的lib增量包，避免误用
 	 *
-	 * @param libHistoryTxt lib历史信息
-	 * @return 主要历史信息
-	 */
-	String getLibHistoryTableTxt(String libHistoryTxt) {
-		libHistoryTxt = libHistoryTxt
-				.replaceAll("[ \t\r]+", "") // 去除所有空格
-				.replaceAll("[:\\-]+(?=\\|)", "") // 去除表头的
-				.replaceAll("\\|{5,}", "||||"); // 把表头和表内容的分隔行的符号替换成4个，方便substring，避免上面内容改了造成BUG。
-		return libHistoryTxt.substring(libHistoryTxt.indexOf("||||") + 5).trim(); // 获取表格内容
+	 * @param libDirName lib目录名
+	 */
+	private void deleteLibDeltaZip(String libDirName) {
+		for (String fileName : new String[]{libDirName + "-delta.zip", libDirName + "-delete.txt"}) {
+			File file = new File(this.getTargetDir(), fileName);
+			if (file.exists() && file.delete()) {
+				this.debug("Delete the outdated file: %s", file.getPath());
+			}
+		}
+	}
+
+	private void writeLibHistoryFile(LibHistory history, File historyFile) throws IOException {
+		history.write(historyFile, "icu.easyj.maven.plugins:easyj-maven-plugin:" + VERSION + "(goal:spring-boot-extend)",
+				System.currentTimeMillis(), project.getGroupId(), project.getArtifactId(), project.getVersion());
+
+		BuildMetrics.Phase phase = this.getPhase(BuildMetrics.PHASE_HISTORY);
+		phase.addFiles(1);
+		phase.addBytesWritten(historyFile.length());
 	}
 
 	@Nullable
@@ -700,6 +1072,9 @@ public class SpringBootExtendMojo extends AbstractSpringBootMojo {
 		File file = new File(outputDirectory.getPath() + "/target/startup." + fileSuffix);
 		try {
 			IOUtils.createFile(file, startupScriptText);
+			BuildMetrics.Phase phase = this.getPhase(BuildMetrics.PHASE_STARTUP_SCRIPT);
+			phase.addFiles(1);
+			phase.addBytesWritten(file.length());
 			this.info("Create startup file succeeded: %s, the startup script:\r\n===>\r\n%s\r\n<===\r\n",
 					file.getName(), startupScriptText.trim());
 		} catch (IOException e) {
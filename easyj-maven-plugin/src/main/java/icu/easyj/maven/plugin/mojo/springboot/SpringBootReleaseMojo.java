@@ -16,13 +16,23 @@
 package icu.easyj.maven.plugin.mojo.springboot;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
-import icu.easyj.maven.plugin.mojo.utils.MatchUtils;
+import icu.easyj.maven.plugin.mojo.utils.BuildMetrics;
+import icu.easyj.maven.plugin.mojo.utils.ConcurrentUtils;
+import icu.easyj.maven.plugin.mojo.utils.IOUtils;
+import icu.easyj.maven.plugin.mojo.utils.PatternSet;
 import icu.easyj.maven.plugin.mojo.utils.StringUtils;
+import icu.easyj.maven.plugin.mojo.utils.SyncResult;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -55,9 +65,36 @@ public class SpringBootReleaseMojo extends AbstractSpringBootMojo {
 	@Parameter(property = "maven.spring-boot-release.dir")
 	private String releaseDirectory;
 
+	/**
+	 * 并行复制文件的线程数，小于等于0时，取CPU核数。
+	 * 发布目录一般在较慢的共享存储上，适当的并行可以明显缩短发布时间，但过多的线程反而会争抢IO。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-release.threads", defaultValue = "4")
+	private int threads;
+
+	/**
+	 * 是否跳过发布目录中已存在且未变更的文件（文件大小与文件系统中的修改时间均一致）。<br>
+	 * 比较的是文件系统中的修改时间，而不是JAR中 'META-INF/MANIFEST.MF' 的修改时间：
+	 * 配置了固定的 'project.build.outputTimestamp' 时，重新构建的JAR中的条目时间不变，但文件本身的修改时间会变化。
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-release.skipUnchanged", defaultValue = "true")
+	private boolean skipUnchanged;
+
+	/**
+	 * 跳过未变更的文件时，文件大小与修改时间均一致的文件，是否再比较SHA-256校验和
+	 *
+	 * @since 1.1.6
+	 */
+	@Parameter(property = "maven.spring-boot-release.checksum", defaultValue = "false")
+	private boolean checksum;
+
 
 	@Override
-	public void doExecute() throws MojoExecutionException {
+	public void doExecute() throws MojoExecutionException, IOException {
 		if (StringUtils.isEmpty(this.releaseDirectory)) {
 			throw new RuntimeException("'releaseDirectory' must be not empty.");
 		}
@@ -89,27 +126,66 @@ public class SpringBootReleaseMojo extends AbstractSpringBootMojo {
 		// 处理匹配串
 		Set<String> patterns = this.getFilePatterns();
 		this.info("The file patterns: " + patterns);
+		PatternSet patternSet = new PatternSet(patterns);
 
-
+		// 一次扫描所有源目录，收集需发布的文件。同名文件以后扫描到的为准，与逐个复制时的结果一致
+		Map<String, File> releaseFiles = new LinkedHashMap<>();
 		for (File sourceDir : this.sourceDirectories) {
-			// 匹配的文件复制到发布文件夹中
 			File[] files = sourceDir.listFiles();
-			if (files != null) {
-				List<File> fileList = new ArrayList<>(files.length);
-
-				for (File file : files) {
-					if (!file.isFile()) {
-						continue;
-					}
+			if (files == null) {
+				continue;
+			}
+			for (File file : files) {
+				if (file.isFile() && patternSet.matches(file.getName())) {
+					releaseFiles.put(file.getName(), file);
+				}
+			}
+		}
 
-					if (MatchUtils.match(patterns, file.getName())) {
-						fileList.add(file);
+		// 发布文件
+		SyncResult result = new SyncResult();
+		try (BuildMetrics.Timer ignored = this.startPhase(BuildMetrics.PHASE_COPY)) {
+			int threads = Math.min(ConcurrentUtils.getThreads(this.threads), releaseFiles.size());
+			if (threads <= 1) {
+				for (File file : releaseFiles.values()) {
+					this.releaseFile(file, releaseDir, result);
+				}
+			} else {
+				ExecutorService executor = ConcurrentUtils.newThreadPool("easyj-spring-boot-release-", threads);
+				try {
+					List<Callable<Void>> tasks = new ArrayList<>(releaseFiles.size());
+					for (File file : releaseFiles.values()) {
+						tasks.add(() -> {
+							this.releaseFile(file, releaseDir, result);
+							return null;
+						});
 					}
+					ConcurrentUtils.invokeAll(executor, tasks);
+				} finally {
+					executor.shutdownNow();
 				}
-
-				this.copyFilesToDir(fileList, releaseDir, true);
 			}
 		}
+		this.info("Release succeeded, copied: %d, skipped: %d", result.getCopied(), result.getSkipped());
+	}
+
+	/**
+	 * 发布单个文件：先复制到发布目录中的临时文件，再重命名为目标文件，避免发布目录中出现不完整的文件
+	 */
+	private void releaseFile(File file, File releaseDir, SyncResult result) throws IOException {
+		File targetFile = new File(releaseDir, file.getName());
+		long lastModified = Files.getLastModifiedTime(file.toPath()).toMillis();
+		if (this.skipUnchanged && IOUtils.isSameFile(file, targetFile, lastModified, this.checksum)) {
+			this.info("Skip the unchanged file '%s'.", file.getName());
+			result.incrementSkipped();
+			this.getPhase(BuildMetrics.PHASE_COPY).incrementCacheHits();
+			return;
+		}
+
+		IOUtils.copyAtomically(file, targetFile, lastModified);
+		this.recordCopiedFile(file, false);
+		result.incrementCopied();
+		this.info("Copy file '%s' to the directory '%s'.", file.getName(), releaseDir.getPath());
 	}
 
 
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 内容寻址的构件存储，以文件内容的SHA-256校验和作为键，对文件去重。<br>
+ * 多模块项目中，各模块的lib目录通过硬链接指向存储中的同一份文件，
+ * 打包lib.zip时，也复用存储中已压缩好的条目数据，避免各模块重复复制、重复压缩相同的JAR。<br>
+ * 存储的目录结构：
+ * <pre>
+ * {storeDir}/{hash前2位}/{hash}/data                                                文件内容
+ * {storeDir}/{hash前2位}/{hash}/deflated-L{level}-{crc}-{size}-{compressedSize}    以指定压缩级别压缩后的数据（数值均为十六进制）
+ * </pre>
+ * 压缩后的数据由 {@link CompressedEntryCache} 管理，与文件内容存放在同一个目录中。<br>
+ * 存储中的文件不会被修改，写入时先写入临时文件，再原子性地移动到目标位置，所以可以被多个模块（或多个线程）同时使用。
+ * 文件内容只会新增；压缩后的数据在 {@link CompressedEntryCache#trim(long)} 时可能被淘汰（存储本身从不调用它，
+ * 但若将 'zipLibCacheDirectory' 配置为存储目录，清理该缓存时，会淘汰存储中压缩后的数据，之后需要时再重新压缩）。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class ArtifactStore {
+
+	private static final String DATA_FILE_NAME = "data";
+
+
+	/**
+	 * 存储目录
+	 */
+	private final File storeDir;
+
+	/**
+	 * 压缩后的条目数据的缓存，与存储共用同一个目录
+	 */
+	private final CompressedEntryCache entryCache;
+
+
+	public ArtifactStore(File storeDir) {
+		this.storeDir = storeDir;
+		this.entryCache = new CompressedEntryCache(storeDir);
+	}
+
+
+	/**
+	 * 将文件存入存储中，内容相同的文件只存一份
+	 *
+	 * @param file 文件
+	 * @return 存储中的文件
+	 * @throws IOException IO异常
+	 */
+	public File put(File file) throws IOException {
+		File entryDir = this.entryCache.createEntryDir(IOUtils.cachedSha256Hex(file));
+		File dataFile = new File(entryDir, DATA_FILE_NAME);
+		if (!dataFile.isFile()) {
+			Path tempFile = Files.createTempFile(entryDir.toPath(), DATA_FILE_NAME, ".tmp");
+			IOUtils.copy(file, tempFile.toFile());
+			IOUtils.moveAtomically(tempFile, dataFile);
+		}
+		return dataFile;
+	}
+
+	/**
+	 * 将文件存入存储中，再以硬链接的方式"复制"到目标文件。<br>
+	 * 当文件系统不支持硬链接，或存储目录与目标文件不在同一个文件系统时，改为复制文件。
+	 *
+	 * @param sourceFile 源文件
+	 * @param targetFile 目标文件
+	 * @return true=已创建硬链接 | false=不支持硬链接，已改为复制文件
+	 * @throws IOException IO异常
+	 */
+	public boolean link(File sourceFile, File targetFile) throws IOException {
+		File dataFile = this.put(sourceFile);
+		if (targetFile.exists() && Files.isSameFile(dataFile.toPath(), targetFile.toPath())) {
+			return true;
+		}
+		return IOUtils.linkOrCopy(dataFile, targetFile);
+	}
+
+
+	//region Getter
+
+	public File getStoreDir() {
+		return storeDir;
+	}
+
+	public CompressedEntryCache getEntryCache() {
+		return entryCache;
+	}
+
+	//endregion
+}
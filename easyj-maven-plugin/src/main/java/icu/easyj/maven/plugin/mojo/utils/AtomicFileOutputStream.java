@@ -0,0 +1,221 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 原子性写入文件的输出流：数据先写入目标文件所在目录中的临时文件，{@link #commit()} 时（可选地刷盘后）原子性地重命名为目标文件。<br>
+ * 未调用 {@link #commit()} 就关闭时（如：写入失败、构建被中断），目标文件保持不变，不会出现只写了一半的文件。<br>
+ * 从创建到关闭期间，持有目标文件的锁（见 {@link IOUtils#lockFile(File)}），并行构建的多个线程写入同一个文件时，依次写入。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class AtomicFileOutputStream extends OutputStream {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+
+	private final File file;
+
+	/**
+	 * 提交时，是否将数据刷到磁盘中（fsync），避免宕机或断电后，目标文件的内容丢失
+	 */
+	private final boolean sync;
+
+	private final Lock lock;
+
+	private final Path tempFile;
+
+	private final FileOutputStream fos;
+
+	private final OutputStream out;
+
+	private boolean committed;
+
+	private boolean closed;
+
+
+	public AtomicFileOutputStream(File file) throws IOException {
+		this(file, false);
+	}
+
+	public AtomicFileOutputStream(File file, boolean sync) throws IOException {
+		this.file = file;
+		this.sync = sync;
+		this.lock = IOUtils.lockFile(file);
+		try {
+			File dir = file.getAbsoluteFile().getParentFile();
+			this.tempFile = Files.createTempFile(dir.toPath(), "." + file.getName() + ".", ".tmp");
+		} catch (IOException | RuntimeException e) {
+			this.lock.unlock();
+			throw e;
+		}
+		try {
+			this.fos = new FileOutputStream(this.tempFile.toFile());
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(this.tempFile);
+			this.lock.unlock();
+			throw e;
+		}
+		this.out = new BufferedOutputStream(this.fos, BUFFER_SIZE);
+	}
+
+
+	/**
+	 * 原子性地写入文件：写入过程中抛出异常时，目标文件保持不变。<br>
+	 * 传给 {@code content} 的输出流关闭时，不会关闭或提交本输出流，所以可以直接交给会自行关闭输出流的写入器（如：{@link ZipWriter}）。
+	 *
+	 * @param file    目标文件
+	 * @param sync    是否将数据刷到磁盘中
+	 * @param content 写入文件内容的函数
+	 * @throws IOException IO异常
+	 */
+	public static void write(File file, boolean sync, Content content) throws IOException {
+		try (AtomicFileOutputStream out = new AtomicFileOutputStream(file, sync)) {
+			content.writeTo(new UncloseableOutputStream(out));
+			out.commit();
+		}
+	}
+
+
+	@Override
+	public void write(int b) throws IOException {
+		this.ensureOpen();
+		this.out.write(b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		this.ensureOpen();
+		this.out.write(b, off, len);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		this.ensureOpen();
+		this.out.flush();
+	}
+
+	/**
+	 * 完成写入：用临时文件替换目标文件
+	 *
+	 * @throws IOException IO异常
+	 */
+	public void commit() throws IOException {
+		this.ensureOpen();
+
+		this.out.flush();
+		if (this.sync) {
+			this.fos.getFD().sync();
+		}
+		this.out.close();
+		IOUtils.replaceAtomically(this.tempFile, this.file);
+		this.committed = true;
+		if (this.sync) {
+			IOUtils.syncDirectory(this.file.getAbsoluteFile().getParentFile());
+		}
+
+		this.close();
+	}
+
+	/**
+	 * 关闭输出流，并释放目标文件的锁。未提交时，删除临时文件，目标文件保持不变。
+	 *
+	 * @throws IOException IO异常
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+
+		try {
+			if (!this.committed) {
+				try {
+					this.out.close();
+				} finally {
+					Files.deleteIfExists(this.tempFile);
+				}
+			}
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (this.closed) {
+			throw new IOException("Stream closed: " + this.file);
+		}
+	}
+
+
+	/**
+	 * 写入文件内容的函数
+	 */
+	@FunctionalInterface
+	public interface Content {
+
+		/**
+		 * 写入文件内容
+		 *
+		 * @param out 输出流
+		 * @throws IOException IO异常
+		 */
+		void writeTo(OutputStream out) throws IOException;
+	}
+
+	/**
+	 * 关闭时只刷新数据，不关闭被包装的输出流
+	 */
+	private static class UncloseableOutputStream extends OutputStream {
+
+		private final OutputStream out;
+
+		UncloseableOutputStream(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			this.out.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			this.out.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			this.out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.out.flush();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * 有容量上限的内存缓存，超出上限时，淘汰最久未使用的条目（LRU）。<br>
+ * 用于在整个JVM中共享的静态缓存，避免在 mvnd 等常驻进程中，随着构建次数的增加而无限增长。
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class BoundedCache<K, V> {
+
+	private final int maxSize;
+
+	private final Map<K, V> map;
+
+
+	public BoundedCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize must be greater than 0, but was " + maxSize);
+		}
+		this.maxSize = maxSize;
+		this.map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return this.size() > BoundedCache.this.maxSize;
+			}
+		};
+	}
+
+
+	@Nullable
+	public synchronized V get(K key) {
+		return this.map.get(key);
+	}
+
+	public synchronized void put(K key, V value) {
+		this.map.put(key, value);
+	}
+
+	public synchronized void putIfAbsent(K key, V value) {
+		this.map.putIfAbsent(key, value);
+	}
+
+	public synchronized int size() {
+		return this.map.size();
+	}
+
+	public synchronized void clear() {
+		this.map.clear();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+}
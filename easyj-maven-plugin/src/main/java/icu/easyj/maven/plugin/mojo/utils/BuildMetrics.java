@@ -0,0 +1,326 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * 构建指标：记录一次Goal执行中，每个阶段的耗时、读写的字节数、处理的文件数及缓存命中数，线程安全。<br>
+ * 可输出为JSON报告（见 {@link #writeJson(File)}），或单行摘要（见 {@link #toSummary()}），用于定位是哪些模块、哪些阶段拖慢了构建。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class BuildMetrics {
+
+	//region 阶段名称
+
+	public static final String PHASE_CLASSIFY = "classify";
+	public static final String PHASE_COPY = "copy";
+	public static final String PHASE_HISTORY = "history";
+	public static final String PHASE_ZIP = "zip";
+	public static final String PHASE_STARTUP_SCRIPT = "startup-script";
+	public static final String PHASE_SIMPLIFY = "simplify";
+	public static final String PHASE_WRITE = "write";
+
+	//endregion
+
+
+	private final String projectId;
+
+	private final String goal;
+
+	private final String executionId;
+
+	private final long startTime = System.currentTimeMillis();
+
+	private final long startNanos = System.nanoTime();
+
+	/**
+	 * 阶段，按首次使用的顺序排列
+	 */
+	private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+
+	public BuildMetrics(String projectId, String goal, String executionId) {
+		this.projectId = projectId;
+		this.goal = goal;
+		this.executionId = executionId;
+	}
+
+
+	/**
+	 * 获取阶段，不存在时创建
+	 *
+	 * @param name 阶段名称
+	 * @return 阶段
+	 */
+	public synchronized Phase phase(String name) {
+		return this.phases.computeIfAbsent(name, k -> new Phase());
+	}
+
+	/**
+	 * 开始计时，用法：{@code try (BuildMetrics.Timer ignored = metrics.start(PHASE_COPY)) { ... }}<br>
+	 * 同一阶段多次计时，耗时累加。
+	 *
+	 * @param phaseName 阶段名称
+	 * @return 计时器，关闭时停止计时
+	 */
+	public Timer start(String phaseName) {
+		return new Timer(this.phase(phaseName));
+	}
+
+	/**
+	 * @return 从创建至今的耗时（毫秒）
+	 */
+	public long getWallTimeMillis() {
+		return (System.nanoTime() - this.startNanos) / 1_000_000;
+	}
+
+
+	//region 输出
+
+	/**
+	 * 输出构建指标，输出失败时只打印警告，不影响构建
+	 *
+	 * @param writeJson    是否输出JSON报告
+	 * @param dir          JSON报告的目录
+	 * @param printSummary 是否打印单行摘要
+	 * @param log          日志
+	 */
+	public void report(boolean writeJson, File dir, boolean printSummary, Log log) {
+		if (writeJson) {
+			try {
+				File file = this.writeJson(dir);
+				log.debug("Write the build metrics to: " + file.getPath());
+			} catch (IOException e) {
+				log.warn("Failed to write the build metrics to: " + dir.getPath(), e);
+			}
+		}
+		if (printSummary) {
+			log.info("[easyj-metrics] " + this.projectId + " " + this.toSummary());
+		}
+	}
+
+	/**
+	 * 将JSON报告写入目录中，文件名为 '{goal}-{executionId}.json'
+	 *
+	 * @param dir 目录
+	 * @return JSON报告文件
+	 * @throws IOException IO异常
+	 */
+	public File writeJson(File dir) throws IOException {
+		if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+			throw new IOException("Failed to create directory: " + dir.getPath());
+		}
+
+		File file = new File(dir, (this.goal + "-" + this.executionId).replaceAll("[^\\w.\\-]", "_") + ".json");
+		try (AtomicFileOutputStream out = new AtomicFileOutputStream(file)) {
+			out.write(this.toJson().getBytes(StandardCharsets.UTF_8));
+			out.commit();
+		}
+		return file;
+	}
+
+	public String toJson() {
+		StringBuilder sb = new StringBuilder(512);
+		sb.append("{\n");
+		sb.append("  \"project\": ").append(jsonString(this.projectId)).append(",\n");
+		sb.append("  \"goal\": ").append(jsonString(this.goal)).append(",\n");
+		sb.append("  \"executionId\": ").append(jsonString(this.executionId)).append(",\n");
+		sb.append("  \"startTime\": ").append(jsonString(Instant.ofEpochMilli(this.startTime).toString())).append(",\n");
+		sb.append("  \"wallTimeMs\": ").append(this.getWallTimeMillis()).append(",\n");
+		sb.append("  \"phases\": {");
+		List<Map.Entry<String, Phase>> phaseList = this.getPhases();
+		for (int i = 0; i < phaseList.size(); i++) {
+			Phase phase = phaseList.get(i).getValue();
+			sb.append(i == 0 ? "\n" : ",\n");
+			sb.append("    ").append(jsonString(phaseList.get(i).getKey())).append(": {")
+					.append("\"wallTimeMs\": ").append(phase.getWallTimeMillis())
+					.append(", \"bytesRead\": ").append(phase.getBytesRead())
+					.append(", \"bytesWritten\": ").append(phase.getBytesWritten())
+					.append(", \"files\": ").append(phase.getFiles())
+					.append(", \"cacheHits\": ").append(phase.getCacheHits())
+					.append(", \"cacheMisses\": ").append(phase.getCacheMisses())
+					.append("}");
+		}
+		sb.append(phaseList.isEmpty() ? "}\n" : "\n  }\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	/**
+	 * @return 单行摘要，如：'spring-boot-extend 1234 ms | copy 300 ms, 120 files, 55.3 MB, 100 hits | zip ...'
+	 */
+	public String toSummary() {
+		StringBuilder sb = new StringBuilder(128);
+		sb.append(this.goal).append(' ').append(this.getWallTimeMillis()).append(" ms");
+		for (Map.Entry<String, Phase> entry : this.getPhases()) {
+			Phase phase = entry.getValue();
+			sb.append(" | ").append(entry.getKey()).append(' ').append(phase.getWallTimeMillis()).append(" ms");
+			if (phase.getFiles() > 0) {
+				sb.append(", ").append(phase.getFiles()).append(" files");
+			}
+			long bytes = Math.max(phase.getBytesRead(), phase.getBytesWritten());
+			if (bytes > 0) {
+				sb.append(", ").append(formatBytes(bytes));
+			}
+			if (phase.getCacheHits() > 0 || phase.getCacheMisses() > 0) {
+				sb.append(", ").append(phase.getCacheHits()).append('/').append(phase.getCacheHits() + phase.getCacheMisses()).append(" hits");
+			}
+		}
+		return sb.toString();
+	}
+
+	private synchronized List<Map.Entry<String, Phase>> getPhases() {
+		return new ArrayList<>(this.phases.entrySet());
+	}
+
+	private static String formatBytes(long bytes) {
+		if (bytes < 1024) {
+			return bytes + " B";
+		}
+		if (bytes < 1024 * 1024) {
+			return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+		}
+		return String.format(Locale.ROOT, "%.1f MB", bytes / 1024.0 / 1024.0);
+	}
+
+	private static String jsonString(String str) {
+		if (str == null) {
+			return "null";
+		}
+
+		StringBuilder sb = new StringBuilder(str.length() + 2).append('"');
+		for (int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < 0x20) {
+				sb.append(String.format("\\u%04x", (int)c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	//endregion
+
+
+	/**
+	 * 阶段的指标，线程安全
+	 */
+	public static class Phase {
+
+		private final AtomicLong wallTimeNanos = new AtomicLong();
+		private final AtomicLong bytesRead = new AtomicLong();
+		private final AtomicLong bytesWritten = new AtomicLong();
+		private final AtomicLong files = new AtomicLong();
+		private final AtomicLong cacheHits = new AtomicLong();
+		private final AtomicLong cacheMisses = new AtomicLong();
+
+
+		public void addWallTimeNanos(long nanos) {
+			this.wallTimeNanos.addAndGet(nanos);
+		}
+
+		public void addBytesRead(long bytes) {
+			this.bytesRead.addAndGet(bytes);
+		}
+
+		public void addBytesWritten(long bytes) {
+			this.bytesWritten.addAndGet(bytes);
+		}
+
+		public void addFiles(long count) {
+			this.files.addAndGet(count);
+		}
+
+		public void incrementCacheHits() {
+			this.cacheHits.incrementAndGet();
+		}
+
+		public void incrementCacheMisses() {
+			this.cacheMisses.incrementAndGet();
+		}
+
+
+		//region Getter
+
+		public long getWallTimeMillis() {
+			return this.wallTimeNanos.get() / 1_000_000;
+		}
+
+		public long getBytesRead() {
+			return this.bytesRead.get();
+		}
+
+		public long getBytesWritten() {
+			return this.bytesWritten.get();
+		}
+
+		public long getFiles() {
+			return this.files.get();
+		}
+
+		public long getCacheHits() {
+			return this.cacheHits.get();
+		}
+
+		public long getCacheMisses() {
+			return this.cacheMisses.get();
+		}
+
+		//endregion
+	}
+
+	/**
+	 * 阶段计时器，关闭时将耗时累加到阶段中
+	 */
+	public static class Timer implements AutoCloseable {
+
+		private final Phase phase;
+
+		private final long start = System.nanoTime();
+
+
+		Timer(Phase phase) {
+			this.phase = phase;
+		}
+
+
+		public Phase getPhase() {
+			return this.phase;
+		}
+
+		@Override
+		public void close() {
+			this.phase.addWallTimeNanos(System.nanoTime() - this.start);
+		}
+	}
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 与目标文件的现有内容进行比较的输出流，只有内容不一致时，才会写入目标文件。<br>
+ * 写入的数据边写边与现有内容比较，一致的部分不会占用内存，也不会写入磁盘；第一次出现不一致时，才创建临时文件，
+ * 并在 {@link #commit()} 时原子性地替换目标文件。未调用 {@link #commit()} 就关闭时，目标文件保持不变。<br>
+ * 从创建到关闭期间，持有目标文件的锁，并行构建的多个线程写入同一个文件时，依次写入。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class ComparingFileOutputStream extends OutputStream {
+
+	private static final int BUFFER_SIZE = 8192;
+
+
+	private final File file;
+
+	/**
+	 * 目标文件的锁，从创建到关闭期间持有，见 {@link IOUtils#lockFile(File)}
+	 */
+	private final Lock lock;
+
+	/**
+	 * 目标文件现有内容的输入流，为 null 时，表示目标文件不存在或已出现不一致
+	 */
+	private InputStream existing;
+
+	/**
+	 * 与现有内容一致的字节数
+	 */
+	private long matched;
+
+	private byte[] compareBuffer;
+
+	private Path tempFile;
+
+	/**
+	 * 临时文件的输出流，为 null 时，表示尚未出现不一致
+	 */
+	private OutputStream temp;
+
+	private boolean closed;
+
+
+	public ComparingFileOutputStream(File file) throws IOException {
+		this.file = file;
+		this.lock = IOUtils.lockFile(file);
+		try {
+			if (file.isFile() && file.canRead()) {
+				this.existing = new BufferedInputStream(Files.newInputStream(file.toPath()), BUFFER_SIZE);
+			} else {
+				this.switchToTempFile();
+			}
+		} catch (IOException | RuntimeException e) {
+			this.close();
+			throw e;
+		}
+	}
+
+
+	@Override
+	public void write(int b) throws IOException {
+		this.write(new byte[]{(byte)b}, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (this.closed) {
+			throw new IOException("Stream closed: " + this.file);
+		}
+
+		if (this.temp == null) {
+			if (this.compareBuffer == null || this.compareBuffer.length < len) {
+				this.compareBuffer = new byte[Math.max(len, BUFFER_SIZE)];
+			}
+			int read = readFully(this.existing, this.compareBuffer, len);
+			if (read == len && equals(this.compareBuffer, b, off, len)) {
+				this.matched += len;
+				return;
+			}
+			this.switchToTempFile();
+		}
+
+		this.temp.write(b, off, len);
+	}
+
+	/**
+	 * 完成写入：内容与目标文件的现有内容不一致时，用写入的内容替换目标文件
+	 *
+	 * @return true=目标文件已被替换 | false=内容一致，未写入目标文件
+	 * @throws IOException IO异常
+	 */
+	public boolean commit() throws IOException {
+		if (this.temp == null) {
+			if (this.existing.read() == -1) {
+				this.close();
+				return false;
+			}
+			// 现有内容比写入的内容长
+			this.switchToTempFile();
+		}
+
+		this.temp.close();
+		this.temp = null;
+		IOUtils.replaceAtomically(this.tempFile, this.file);
+		this.tempFile = null;
+		this.close();
+		return true;
+	}
+
+	/**
+	 * 关闭输出流，未提交的临时文件将被删除，目标文件保持不变
+	 *
+	 * @throws IOException IO异常
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+
+		try {
+			if (this.existing != null) {
+				this.existing.close();
+				this.existing = null;
+			}
+			if (this.temp != null) {
+				this.temp.close();
+				this.temp = null;
+			}
+		} finally {
+			try {
+				if (this.tempFile != null) {
+					Files.deleteIfExists(this.tempFile);
+					this.tempFile = null;
+				}
+			} finally {
+				this.lock.unlock();
+			}
+		}
+	}
+
+
+	/**
+	 * 创建临时文件，并将已比较过的一致的内容复制到临时文件中
+	 */
+	private void switchToTempFile() throws IOException {
+		if (this.existing != null) {
+			this.existing.close();
+			this.existing = null;
+		}
+
+		File dir = this.file.getAbsoluteFile().getParentFile();
+		this.tempFile = Files.createTempFile(dir.toPath(), "." + this.file.getName() + ".", ".tmp");
+		this.temp = new BufferedOutputStream(Files.newOutputStream(this.tempFile), BUFFER_SIZE);
+
+		if (this.matched > 0) {
+			try (InputStream in = Files.newInputStream(this.file.toPath())) {
+				byte[] buffer = new byte[BUFFER_SIZE];
+				long remaining = this.matched;
+				while (remaining > 0) {
+					int len = in.read(buffer, 0, (int)Math.min(buffer.length, remaining));
+					if (len == -1) {
+						throw new IOException("File was modified during writing: " + this.file);
+					}
+					this.temp.write(buffer, 0, len);
+					remaining -= len;
+				}
+			}
+		}
+	}
+
+	private static int readFully(InputStream in, byte[] buffer, int len) throws IOException {
+		int total = 0;
+		while (total < len) {
+			int read = in.read(buffer, total, len - total);
+			if (read == -1) {
+				break;
+			}
+			total += read;
+		}
+		return total;
+	}
+
+	private static boolean equals(byte[] a, byte[] b, int off, int len) {
+		for (int i = 0; i < len; i++) {
+			if (a[i] != b[off + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * 已压缩好的ZIP条目数据，可由 {@link ZipWriter} 直接写入，而不需要再次压缩。<br>
+ * 压缩后的数据存放在内存中，或存放在文件中（如：STORED的条目，数据就是源文件本身）。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class CompressedEntry {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+
+	/**
+	 * 压缩方法：{@link ZipEntry#STORED} 或 {@link ZipEntry#DEFLATED}
+	 */
+	private final int method;
+
+	private final long crc;
+
+	/**
+	 * 压缩前的大小
+	 */
+	private final long size;
+
+	/**
+	 * 压缩后的大小
+	 */
+	private final long compressedSize;
+
+	/**
+	 * 压缩后的数据，与 {@link #dataFile} 二选一
+	 */
+	private final byte[] data;
+
+	/**
+	 * 存放压缩后的数据的文件，与 {@link #data} 二选一
+	 */
+	private final File dataFile;
+
+	/**
+	 * 数据文件对应的源文件及压缩级别：数据文件来自缓存时设置，数据文件被删除时（如：被其他模块清理缓存时淘汰），用于重新压缩
+	 */
+	private final File sourceFile;
+	private final int level;
+
+
+	public CompressedEntry(int method, long crc, long size, long compressedSize, byte[] data) {
+		this.method = method;
+		this.crc = crc;
+		this.size = size;
+		this.compressedSize = compressedSize;
+		this.data = data;
+		this.dataFile = null;
+		this.sourceFile = null;
+		this.level = Deflater.DEFAULT_COMPRESSION;
+	}
+
+	public CompressedEntry(int method, long crc, long size, long compressedSize, File dataFile) {
+		this(method, crc, size, compressedSize, dataFile, null, Deflater.DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * @param sourceFile 数据文件对应的源文件，数据文件不存在时，以 level 重新压缩源文件
+	 * @param level      压缩级别
+	 */
+	public CompressedEntry(int method, long crc, long size, long compressedSize, File dataFile, File sourceFile, int level) {
+		this.method = method;
+		this.crc = crc;
+		this.size = size;
+		this.compressedSize = compressedSize;
+		this.data = null;
+		this.dataFile = dataFile;
+		this.sourceFile = sourceFile;
+		this.level = level;
+	}
+
+
+	/**
+	 * 不压缩，只计算CRC，数据在写入时直接从源文件中读取
+	 *
+	 * @param file 源文件
+	 * @return 条目数据
+	 * @throws IOException IO异常
+	 */
+	public static CompressedEntry store(File file) throws IOException {
+		CRC32 crc = new CRC32();
+		long size = 0;
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				crc.update(buffer, 0, len);
+				size += len;
+			}
+		}
+		return new CompressedEntry(ZipEntry.STORED, crc.getValue(), size, size, file);
+	}
+
+	/**
+	 * 将源文件压缩到内存中
+	 *
+	 * @param file  源文件
+	 * @param level 压缩级别
+	 * @return 条目数据
+	 * @throws IOException IO异常
+	 */
+	public static CompressedEntry deflate(File file, int level) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream((int)Math.min(file.length() / 2 + 64, Integer.MAX_VALUE - 8));
+		long[] result = deflate(file, level, baos);
+		return new CompressedEntry(ZipEntry.DEFLATED, result[0], result[1], result[2], baos.toByteArray());
+	}
+
+	/**
+	 * 将源文件压缩到数据文件中，以流的方式压缩，内存占用固定，不受文件大小影响
+	 *
+	 * @param file     源文件
+	 * @param level    压缩级别
+	 * @param dataFile 存放压缩后的数据的文件
+	 * @return 条目数据
+	 * @throws IOException IO异常
+	 * @since 1.1.6
+	 */
+	public static CompressedEntry deflate(File file, int level, File dataFile) throws IOException {
+		long[] result;
+		try (OutputStream out = Files.newOutputStream(dataFile.toPath())) {
+			result = deflate(file, level, out);
+		}
+		return new CompressedEntry(ZipEntry.DEFLATED, result[0], result[1], result[2], dataFile);
+	}
+
+	/**
+	 * 压缩源文件，并写入到输出流中
+	 *
+	 * @return [CRC, 压缩前的大小, 压缩后的大小]
+	 */
+	private static long[] deflate(File file, int level, OutputStream out) throws IOException {
+		CRC32 crc = new CRC32();
+		Deflater deflater = new Deflater(level, true);
+		try (InputStream in = Files.newInputStream(file.toPath());
+			 DeflaterOutputStream dos = new DeflaterOutputStream(out, deflater, BUFFER_SIZE)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				crc.update(buffer, 0, len);
+				dos.write(buffer, 0, len);
+			}
+			dos.finish();
+
+			return new long[]{crc.getValue(), deflater.getBytesRead(), deflater.getBytesWritten()};
+		} finally {
+			deflater.end();
+		}
+	}
+
+
+	/**
+	 * 将压缩后的数据写入到输出流中
+	 *
+	 * @param out 输出流
+	 * @throws IOException IO异常
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		if (this.data != null) {
+			out.write(this.data);
+			return;
+		}
+
+		try {
+			Files.copy(this.dataFile.toPath(), out);
+		} catch (NoSuchFileException e) {
+			if (this.sourceFile == null) {
+				throw e;
+			}
+
+			// 缓存文件已被删除（打开文件时失败，还未写入任何数据），重新压缩源文件：相同的数据与压缩级别，压缩后的数据一致
+			long[] result = deflate(this.sourceFile, this.level, new FilterOutputStream(out) {
+				@Override
+				public void write(byte[] b, int off, int len) throws IOException {
+					out.write(b, off, len);
+				}
+
+				@Override
+				public void close() {
+					// 不关闭被包装的流
+				}
+			});
+			if (result[0] != this.crc || result[1] != this.size) {
+				throw new IOException("The source file is changed after it was compressed: " + this.sourceFile);
+			}
+		}
+	}
+
+
+	//region Getter
+
+	public int getMethod() {
+		return method;
+	}
+
+	public long getCrc() {
+		return crc;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public long getCompressedSize() {
+		return compressedSize;
+	}
+
+	public File getDataFile() {
+		return dataFile;
+	}
+
+	//endregion
+}
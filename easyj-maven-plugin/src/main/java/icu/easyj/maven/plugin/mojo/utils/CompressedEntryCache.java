@@ -0,0 +1,238 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import javax.annotation.Nullable;
+
+/**
+ * 压缩后的ZIP条目数据的持久化缓存，以 '文件的SHA-256校验和 + 压缩级别' 作为键。<br>
+ * 本地仓库中的构件是不会变的，缓存命中时，由 {@link ZipWriter} 直接写入缓存中的CRC、大小及压缩后的数据，不需要再次压缩。<br>
+ * 缓存的目录结构：
+ * <pre>
+ * {cacheDir}/{hash前2位}/{hash}/deflated-L{level}-{crc}-{size}-{compressedSize}   以指定压缩级别压缩后的数据（数值均为十六进制）
+ * </pre>
+ * 缓存中的文件只会新增，不会被修改，写入时先写入临时文件，再原子性地移动到目标位置，所以可以被多个模块（或多个构建进程）同时使用。<br>
+ * 命中缓存时，校验文件名中记录的压缩前、后的大小，与源文件及缓存文件的实际大小是否一致，不一致时（如：缓存文件被截断），视为未命中，删除后重新压缩。<br>
+ * 缓存文件的修改时间即最近使用时间（每次命中都会更新），通过 {@link #trim(long)} 按最近使用时间淘汰，使缓存的总大小不超过上限；
+ * 最近 {@link #TRIM_MIN_AGE} 内使用过的文件不会被淘汰，避免删除其他模块（或其他构建进程）已命中但尚未写入ZIP的文件。<br>
+ * 即使缓存文件在写入前被删除，{@link CompressedEntry#writeTo} 也会重新压缩源文件，不会导致构建失败。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class CompressedEntryCache {
+
+	private static final String DEFLATED_FILE_PREFIX = "deflated-L";
+
+	/**
+	 * 清理缓存时，最近使用时间在此时长内的文件不会被淘汰
+	 */
+	static final long TRIM_MIN_AGE = 60 * 60 * 1000L;
+
+
+	/**
+	 * 缓存目录
+	 */
+	private final File cacheDir;
+
+
+	public CompressedEntryCache(File cacheDir) {
+		this.cacheDir = cacheDir;
+	}
+
+
+	/**
+	 * 获取文件以指定压缩级别压缩后的条目数据。缓存中没有时，压缩文件并存入缓存中。
+	 *
+	 * @param file  文件
+	 * @param level 压缩级别
+	 * @return 条目数据，数据存放在缓存中的文件中
+	 * @throws IOException IO异常
+	 */
+	public CompressedEntry deflate(File file, int level) throws IOException {
+		return this.deflate(file, level, null);
+	}
+
+	/**
+	 * 获取文件以指定压缩级别压缩后的条目数据。缓存中没有时，压缩文件并存入缓存中。
+	 *
+	 * @param file    文件
+	 * @param level   压缩级别
+	 * @param metrics 构建指标，用于记录缓存是否命中，可为 null
+	 * @return 条目数据，数据存放在缓存中的文件中
+	 * @throws IOException IO异常
+	 */
+	public CompressedEntry deflate(File file, int level, BuildMetrics.Phase metrics) throws IOException {
+		File entryDir = this.createEntryDir(IOUtils.cachedSha256Hex(file));
+		String prefix = DEFLATED_FILE_PREFIX + level + "-";
+
+		File[] deflatedFiles = entryDir.listFiles((dir, name) -> name.startsWith(prefix) && !name.endsWith(".tmp"));
+		if (deflatedFiles != null) {
+			for (File deflatedFile : deflatedFiles) {
+				CompressedEntry entry = this.verify(file, deflatedFile, prefix, level);
+				if (entry != null) {
+					if (metrics != null) {
+						metrics.incrementCacheHits();
+					}
+					return entry;
+				}
+				// 缓存文件已损坏，删除后重新压缩
+				Files.deleteIfExists(deflatedFile.toPath());
+			}
+		}
+
+		if (metrics != null) {
+			metrics.incrementCacheMisses();
+		}
+		Path tempFile = Files.createTempFile(entryDir.toPath(), DEFLATED_FILE_PREFIX, ".tmp");
+		CompressedEntry entry = CompressedEntry.deflate(file, level, tempFile.toFile());
+		File deflatedFile = new File(entryDir, prefix + Long.toHexString(entry.getCrc())
+				+ "-" + Long.toHexString(entry.getSize()) + "-" + Long.toHexString(entry.getCompressedSize()));
+		IOUtils.moveAtomically(tempFile, deflatedFile);
+		return new CompressedEntry(ZipEntry.DEFLATED, entry.getCrc(), entry.getSize(), entry.getCompressedSize(), deflatedFile, file, level);
+	}
+
+	/**
+	 * 校验缓存文件：文件名中记录的压缩前、后的大小，须与源文件及缓存文件的实际大小一致
+	 *
+	 * @return 条目数据，校验不通过时，返回 null
+	 */
+	@Nullable
+	private CompressedEntry verify(File file, File deflatedFile, String prefix, int level) {
+		String[] values = deflatedFile.getName().substring(prefix.length()).split("-");
+		if (values.length != 3) {
+			return null;
+		}
+
+		long crc;
+		long size;
+		long compressedSize;
+		try {
+			crc = Long.parseLong(values[0], 16);
+			size = Long.parseLong(values[1], 16);
+			compressedSize = Long.parseLong(values[2], 16);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		if (size != file.length() || compressedSize != deflatedFile.length()) {
+			return null;
+		}
+
+		// 更新最近使用时间，避免被清理缓存时淘汰
+		deflatedFile.setLastModified(System.currentTimeMillis());
+		return new CompressedEntry(ZipEntry.DEFLATED, crc, size, compressedSize, deflatedFile, file, level);
+	}
+
+	/**
+	 * 清理缓存：总大小超过上限时，按最近使用时间，从最久未使用的开始删除，直到不超过上限。<br>
+	 * 最近 {@link #TRIM_MIN_AGE} 内使用过的文件不会被删除，所以清理后的总大小可能仍超过上限。
+	 *
+	 * @param maxSize 缓存总大小的上限（字节），小于等于0时，不清理
+	 * @return 删除的缓存文件数
+	 */
+	public int trim(long maxSize) {
+		if (maxSize <= 0) {
+			return 0;
+		}
+
+		List<File> deflatedFiles = new ArrayList<>();
+		long totalSize = 0;
+		File[] prefixDirs = this.cacheDir.listFiles(File::isDirectory);
+		if (prefixDirs == null) {
+			return 0;
+		}
+		for (File prefixDir : prefixDirs) {
+			File[] entryDirs = prefixDir.listFiles(File::isDirectory);
+			if (entryDirs == null) {
+				continue;
+			}
+			for (File entryDir : entryDirs) {
+				File[] files = entryDir.listFiles((dir, name) -> name.startsWith(DEFLATED_FILE_PREFIX) && !name.endsWith(".tmp"));
+				if (files == null) {
+					continue;
+				}
+				for (File file : files) {
+					deflatedFiles.add(file);
+					totalSize += file.length();
+				}
+			}
+		}
+		if (totalSize <= maxSize) {
+			return 0;
+		}
+
+		// 先读取修改时间再排序，避免排序过程中修改时间被其他进程更新，导致比较结果不一致
+		Map<File, Long> lastModifiedMap = new HashMap<>(deflatedFiles.size() * 2);
+		for (File file : deflatedFiles) {
+			lastModifiedMap.put(file, file.lastModified());
+		}
+		deflatedFiles.sort(Comparator.comparing(lastModifiedMap::get));
+
+		int deleted = 0;
+		long minLastModified = System.currentTimeMillis() - TRIM_MIN_AGE;
+		for (File file : deflatedFiles) {
+			// 已按最近使用时间排序，之后的文件都是最近使用过的
+			if (totalSize <= maxSize || lastModifiedMap.get(file) > minLastModified) {
+				break;
+			}
+			long length = file.length();
+			if (file.delete()) {
+				totalSize -= length;
+				deleted++;
+				// 删除空目录，目录中还有其他文件（如：构件存储的数据文件）时，删除失败，忽略即可
+				File entryDir = file.getParentFile();
+				if (entryDir.delete()) {
+					entryDir.getParentFile().delete();
+				}
+			}
+		}
+		return deleted;
+	}
+
+	/**
+	 * 创建键对应的目录
+	 *
+	 * @param hash 文件的SHA-256校验和
+	 * @return 目录
+	 * @throws IOException IO异常
+	 */
+	File createEntryDir(String hash) throws IOException {
+		File entryDir = new File(this.cacheDir, hash.substring(0, 2) + "/" + hash);
+		if (!entryDir.isDirectory()) {
+			Files.createDirectories(entryDir.toPath());
+		}
+		return entryDir;
+	}
+
+
+	//region Getter
+
+	public File getCacheDir() {
+		return cacheDir;
+	}
+
+	//endregion
+}
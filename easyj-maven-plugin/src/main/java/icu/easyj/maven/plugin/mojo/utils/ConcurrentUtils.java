@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并发工具类
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public abstract class ConcurrentUtils {
+
+	/**
+	 * 获取线程数
+	 *
+	 * @param threads 配置的线程数，小于等于0时，取CPU核数
+	 * @return 线程数
+	 */
+	public static int getThreads(int threads) {
+		return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * 创建固定大小的线程池，线程均为守护线程，避免阻止JVM退出
+	 *
+	 * @param threadNamePrefix 线程名前缀
+	 * @param threads          线程数
+	 * @return 线程池
+	 */
+	public static ExecutorService newThreadPool(String threadNamePrefix, int threads) {
+		AtomicInteger threadNumber = new AtomicInteger(0);
+		return Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, threadNamePrefix + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * 执行所有任务并等待完成，结果顺序与任务顺序一致。<br>
+	 * 任一任务失败时，取消剩余任务，并抛出该任务的异常。
+	 *
+	 * @param executor 线程池
+	 * @param tasks    任务列表
+	 * @param <T>      结果类型
+	 * @return 结果列表
+	 * @throws IOException 任务抛出的IO异常
+	 */
+	public static <T> List<T> invokeAll(ExecutorService executor, List<? extends Callable<T>> tasks) throws IOException {
+		List<Future<T>> futures = new ArrayList<>(tasks.size());
+		for (Callable<T> task : tasks) {
+			futures.add(executor.submit(task));
+		}
+
+		List<T> results = new ArrayList<>(futures.size());
+		try {
+			for (Future<T> future : futures) {
+				results.add(get(future));
+			}
+		} finally {
+			if (results.size() < futures.size()) {
+				for (Future<T> future : futures) {
+					future.cancel(true);
+				}
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * 关闭线程池：取消未开始的任务，中断正在执行的任务，并等待所有任务结束。<br>
+	 * 调用方在此之后清理任务使用的资源（如：临时文件）时，不会与仍在执行的任务冲突。
+	 *
+	 * @param executor 线程池
+	 */
+	public static void shutdownAndAwait(ExecutorService executor) {
+		executor.shutdownNow();
+		try {
+			while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+				// 任务不响应中断时（如：正在压缩文件），继续等待其结束
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * 获取任务结果，并将任务的异常还原后抛出
+	 *
+	 * @param future 任务
+	 * @param <T>    结果类型
+	 * @return 结果
+	 * @throws IOException 任务抛出的IO异常
+	 */
+	public static <T> T get(Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException ex = new InterruptedIOException("Interrupted while waiting for the task.");
+			ex.initCause(e);
+			throw ex;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException)cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			} else if (cause instanceof Error) {
+				throw (Error)cause;
+			} else {
+				throw new RuntimeException("Execute task failed.", cause);
+			}
+		}
+	}
+}
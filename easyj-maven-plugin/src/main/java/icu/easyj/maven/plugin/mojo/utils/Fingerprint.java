@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 输入指纹，用于增量构建：将构建的所有输入（文件内容、配置项等）计算为一个SHA-256校验和，校验和不变时，表示输入未变化。<br>
+ * 无序的集合（{@link Set}、{@link Map}）会先排序，所以与元素的遍历顺序无关。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class Fingerprint {
+
+	private final MessageDigest digest;
+
+
+	public Fingerprint() {
+		try {
+			this.digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("SHA-256 is not supported.", e);
+		}
+	}
+
+
+	/**
+	 * 添加一个输入值
+	 *
+	 * @param name  名称
+	 * @param value 值
+	 * @return 当前对象
+	 */
+	public Fingerprint add(String name, Object value) {
+		this.update(name);
+		if (value instanceof Map) {
+			Map<String, String> sorted = new TreeMap<>();
+			((Map<?, ?>)value).forEach((k, v) -> sorted.put(String.valueOf(k), String.valueOf(v)));
+			this.update(sorted.toString());
+		} else if (value instanceof Set) {
+			Set<String> sorted = new TreeSet<>();
+			((Set<?>)value).forEach(v -> sorted.add(String.valueOf(v)));
+			this.update(sorted.toString());
+		} else if (value instanceof Collection) {
+			this.update(String.valueOf(((Collection<?>)value).size()));
+			for (Object v : (Collection<?>)value) {
+				this.update(String.valueOf(v));
+			}
+		} else {
+			this.update(String.valueOf(value));
+		}
+		return this;
+	}
+
+	/**
+	 * 添加一个输入文件，使用的是文件的内容的校验和，与文件的修改时间无关
+	 *
+	 * @param name 名称
+	 * @param file 文件，为 null 或不存在时，也会被记录下来
+	 * @return 当前对象
+	 * @throws IOException IO异常
+	 */
+	public Fingerprint addFile(String name, File file) throws IOException {
+		if (file == null || !file.isFile()) {
+			return this.add(name, "<none>");
+		}
+		return this.add(name, IOUtils.cachedSha256Hex(file));
+	}
+
+	/**
+	 * @return 十六进制的指纹（小写），调用后，当前对象不能再使用
+	 */
+	public String toHex() {
+		return IOUtils.toHex(this.digest.digest());
+	}
+
+
+	/**
+	 * 每个值都以 '长度:' 开头，避免不同的输入拼接后产生相同的字节
+	 */
+	private void update(String str) {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		this.digest.update((bytes.length + ":").getBytes(StandardCharsets.UTF_8));
+		this.digest.update(bytes);
+	}
+}
@@ -16,15 +16,25 @@
 package icu.easyj.maven.plugin.mojo.utils;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Enumeration;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.jar.Attributes;
-import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 import javax.annotation.Nullable;
@@ -42,6 +52,22 @@ public abstract class IOUtils {
 
 	public static final String LINE_SEPARATOR2 = "\r\n";
 
+	private static final int BUFFER_SIZE = 8 * 1024;
+
+	private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * 文件的SHA-256校验和缓存，键为 '路径|大小|修改时间'，同一次构建中，各模块共用，每个文件只需计算一次校验和。<br>
+	 * 条目数有上限，常驻进程（如：mvnd）中，不会随着构建次数的增加而无限增长。
+	 */
+	private static final BoundedCache<String, String> SHA256_HEX_CACHE = new BoundedCache<>(8192);
+
+	/**
+	 * 输出文件的锁，键为文件的绝对路径。同一次构建中，各模块共用，并行构建时，避免多个线程同时写入同一个文件。<br>
+	 * 锁带有引用计数，最后一个持有者释放时从中移除，常驻进程（如：mvnd）中，不会随着写入的文件数的增加而无限增长。
+	 */
+	private static final Map<String, FileLock> FILE_LOCKS = new ConcurrentHashMap<>();
+
 
 	/**
 	 * 读取文本文件内容
@@ -86,37 +112,287 @@ public abstract class IOUtils {
 	}
 
 	/**
-	 * 复制文件
+	 * 复制文件。<br>
+	 * 由文件系统直接传输数据，不会将整个文件读入内存中；目标文件已存在时，先删除再复制，避免写入到与其他文件共用数据的硬链接中。
 	 *
 	 * @param sourceFile 源文件
 	 * @param targetFile 目标文件
 	 * @throws IOException IO异常
 	 */
 	public static void copy(File sourceFile, File targetFile) throws IOException {
-		try (FileInputStream in = new FileInputStream(sourceFile);
-			 FileOutputStream out = new FileOutputStream(targetFile)) {
-			byte[] buffer = new byte[in.available()];
-			in.read(buffer);
-			out.write(buffer);
-			out.flush();
-		}
+		copy(sourceFile, targetFile, getFileLastModified(sourceFile));
+	}
+
+	/**
+	 * 复制文件，并将目标文件的修改时间设置为指定的时间
+	 *
+	 * @param sourceFile   源文件
+	 * @param targetFile   目标文件
+	 * @param lastModified 目标文件的修改时间
+	 * @throws IOException IO异常
+	 * @since 1.1.6
+	 */
+	public static void copy(File sourceFile, File targetFile, long lastModified) throws IOException {
+		Files.copy(sourceFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
 		try {
-			targetFile.setLastModified(getFileLastModified(sourceFile));
+			targetFile.setLastModified(lastModified);
 		} catch (SecurityException ignore) {
 		}
 	}
 
 	/**
-	 * 创建文件
+	 * 以原子的方式复制文件：先复制到目标目录中的临时文件，再重命名为目标文件。<br>
+	 * 复制过程中，目标文件要么是旧的内容，要么是完整的新内容，读取方不会读到写了一半的文件。
+	 *
+	 * @param sourceFile 源文件
+	 * @param targetFile 目标文件
+	 * @throws IOException IO异常
+	 * @since 1.1.6
+	 */
+	public static void copyAtomically(File sourceFile, File targetFile) throws IOException {
+		copyAtomically(sourceFile, targetFile, getFileLastModified(sourceFile));
+	}
+
+	/**
+	 * 以原子的方式复制文件，并将目标文件的修改时间设置为指定的时间
+	 *
+	 * @param sourceFile   源文件
+	 * @param targetFile   目标文件
+	 * @param lastModified 目标文件的修改时间
+	 * @throws IOException IO异常
+	 * @since 1.1.6
+	 */
+	public static void copyAtomically(File sourceFile, File targetFile, long lastModified) throws IOException {
+		Lock lock = lockFile(targetFile);
+		try {
+			File dir = targetFile.getAbsoluteFile().getParentFile();
+			Path tempFile = Files.createTempFile(dir.toPath(), "." + targetFile.getName() + ".", ".tmp");
+			try {
+				copy(sourceFile, tempFile.toFile(), lastModified);
+				replaceAtomically(tempFile, targetFile);
+			} finally {
+				Files.deleteIfExists(tempFile);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 将临时文件原子性地重命名为目标文件，目标文件已存在时，替换它。<br>
+	 * 文件系统不支持原子性的移动时，改为普通的替换。
+	 *
+	 * @param tempFile   临时文件，需与目标文件在同一个目录中
+	 * @param targetFile 目标文件
+	 * @throws IOException IO异常
+	 * @since 1.1.6
+	 */
+	public static void replaceAtomically(Path tempFile, File targetFile) throws IOException {
+		try {
+			Files.move(tempFile, targetFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tempFile, targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * 获取并锁定输出文件的锁，使用完后，需调用 {@link Lock#unlock()} 释放锁。<br>
+	 * 该锁只在当前JVM中有效（如：Maven并行构建的多个线程之间），不能阻止其他进程写入该文件。
+	 *
+	 * @param file 输出文件
+	 * @return 已锁定的锁
+	 * @since 1.1.6
+	 */
+	public static Lock lockFile(File file) {
+		String key = file.getAbsoluteFile().toPath().normalize().toString();
+		// 引用计数只在 compute 中修改，与移除操作互斥
+		FileLock lock = FILE_LOCKS.compute(key, (k, v) -> {
+			if (v == null) {
+				v = new FileLock(k);
+			}
+			v.references++;
+			return v;
+		});
+		lock.lock();
+		return lock;
+	}
+
+	/**
+	 * @return 当前持有或等待中的输出文件的锁的数量
+	 */
+	static int getFileLockCount() {
+		return FILE_LOCKS.size();
+	}
+
+	/**
+	 * 将目录的变更（如：文件的创建、重命名）刷到磁盘中。<br>
+	 * 部分操作系统（如：Windows）不支持打开目录，此时忽略。
+	 *
+	 * @param dir 目录
+	 * @since 1.1.6
+	 */
+	public static void syncDirectory(File dir) {
+		try (FileChannel channel = FileChannel.open(dir.toPath(), StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException ignore) {
+			// do nothing
+		}
+	}
+
+	/**
+	 * 以硬链接的方式"复制"文件，不复制任何数据。<br>
+	 * 当文件系统不支持硬链接，或源文件与目标文件不在同一个文件系统时，改为复制文件。<br>
+	 * 注意：硬链接与源文件共用同一份数据和修改时间，所以不会修改目标文件的修改时间，也请勿修改目标文件的内容。
+	 *
+	 * @param sourceFile 源文件
+	 * @param targetFile 目标文件
+	 * @return true=已创建硬链接 | false=不支持硬链接，已改为复制文件
+	 * @throws IOException IO异常
+	 */
+	public static boolean linkOrCopy(File sourceFile, File targetFile) throws IOException {
+		Path target = targetFile.toPath();
+		try {
+			Files.deleteIfExists(target);
+			Files.createLink(target, sourceFile.toPath());
+			return true;
+		} catch (UnsupportedOperationException | FileSystemException e) {
+			copy(sourceFile, targetFile);
+			return false;
+		}
+	}
+
+	/**
+	 * 将临时文件移动到目标位置，优先原子性地移动，其他线程或进程只会看到完整的目标文件。<br>
+	 * 目标文件已存在时（如：已由其他线程写入了相同的内容），直接删除临时文件。
+	 *
+	 * @param tempFile   临时文件
+	 * @param targetFile 目标文件
+	 * @throws IOException IO异常
+	 * @since 1.1.6
+	 */
+	public static void moveAtomically(Path tempFile, File targetFile) throws IOException {
+		try {
+			try {
+				Files.move(tempFile, targetFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile, targetFile.toPath());
+			}
+		} catch (FileAlreadyExistsException e) {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * 判断目标文件是否与源文件一致，用于增量复制。<br>
+	 * 比较文件大小与修改时间（精确到秒，目标文件的修改时间在复制时已设置为源文件的 {@link #getFileLastModified(File)}），
+	 * 需要时，再比较两个文件的SHA-256校验和。
+	 *
+	 * @param sourceFile 源文件
+	 * @param targetFile 目标文件
+	 * @param checksum   是否比较校验和
+	 * @return true=一致 | false=不一致
+	 * @throws IOException IO异常
+	 */
+	public static boolean isSameFile(File sourceFile, File targetFile, boolean checksum) throws IOException {
+		return isSameFile(sourceFile, targetFile, getFileLastModified(sourceFile), checksum);
+	}
+
+	/**
+	 * 判断目标文件是否与源文件一致，用于增量复制。<br>
+	 * 比较文件大小与修改时间（精确到秒，目标文件的修改时间在复制时已设置为 sourceLastModified），
+	 * 需要时，再比较两个文件的SHA-256校验和。
+	 *
+	 * @param sourceFile         源文件
+	 * @param targetFile         目标文件
+	 * @param sourceLastModified 源文件的修改时间
+	 * @param checksum           是否比较校验和
+	 * @return true=一致 | false=不一致
+	 * @throws IOException IO异常
+	 * @since 1.1.6
+	 */
+	public static boolean isSameFile(File sourceFile, File targetFile, long sourceLastModified, boolean checksum) throws IOException {
+		if (!targetFile.isFile()) {
+			return false;
+		}
+
+		// 硬链接
+		if (Files.isSameFile(sourceFile.toPath(), targetFile.toPath())) {
+			return true;
+		}
+
+		if (sourceFile.length() != targetFile.length()
+				|| sourceLastModified / 1000 != targetFile.lastModified() / 1000) {
+			return false;
+		}
+
+		return !checksum || sha256Hex(sourceFile).equals(sha256Hex(targetFile));
+	}
+
+	/**
+	 * 计算文件的SHA-256校验和
+	 *
+	 * @param file 文件
+	 * @return 十六进制的校验和（小写）
+	 * @throws IOException IO异常
+	 */
+	public static String sha256Hex(File file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("SHA-256 is not supported.", e);
+		}
+
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, len);
+			}
+		}
+
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * 计算文件的SHA-256校验和，文件的路径、大小及修改时间不变时，使用缓存中的校验和。<br>
+	 * 适用于本地仓库中的构件等不会被修改的文件。
+	 *
+	 * @param file 文件
+	 * @return 十六进制的校验和（小写）
+	 * @throws IOException IO异常
+	 * @since 1.1.6
+	 */
+	public static String cachedSha256Hex(File file) throws IOException {
+		String key = file.getAbsolutePath() + '|' + file.length() + '|' + file.lastModified();
+		String hash = SHA256_HEX_CACHE.get(key);
+		if (hash == null) {
+			hash = sha256Hex(file);
+			SHA256_HEX_CACHE.put(key, hash);
+		}
+		return hash;
+	}
+
+	public static String toHex(byte[] bytes) {
+		char[] chars = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			chars[i * 2] = HEX_CHARS[(bytes[i] >> 4) & 0xF];
+			chars[i * 2 + 1] = HEX_CHARS[bytes[i] & 0xF];
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * 创建文件。文件内容原子性地写入，写入失败时，原文件保持不变。
 	 *
 	 * @param newFile 文件
 	 * @param text    文件内容
 	 * @throws IOException IO异常
 	 */
 	public static void createFile(File newFile, String text) throws IOException {
-		try (FileOutputStream out = new FileOutputStream(newFile)) {
+		try (AtomicFileOutputStream out = new AtomicFileOutputStream(newFile)) {
 			out.write(text.getBytes());
-			out.flush();
+			out.commit();
 		}
 	}
 
@@ -130,17 +406,10 @@ public abstract class IOUtils {
 		if (file.getName().endsWith(".jar")) {
 			// 如果是jar文件，则读取 /META-INF/MANIFEST.MF 文件的lastModified。
 			// 因为jar文件是和该文件一起生成的，所以这个文件的lastModified才是jar文件的实际最后生成时间
-			try (JarFile jarFile = new JarFile(file)) {
-				// 读取 MANIFEST.MF 文件的创建时间
-				JarEntry jarEntry = jarFile.getJarEntry(JarFile.MANIFEST_NAME);
-
-				if (jarEntry == null) {
-					// 如果 MANIFEST.MF 文件不存在，就找所有JarEntry中时间最大的那个
-					jarEntry = getMaxTimeJarEntry(jarFile);
-				}
-
-				if (jarEntry != null) {
-					return jarEntry.getTime();
+			try {
+				long lastModified = JarMetadataCache.get(file).getLastModified();
+				if (lastModified != -1) {
+					return lastModified;
 				}
 			} catch (IOException ignore) {
 				// do nothing
@@ -150,38 +419,10 @@ public abstract class IOUtils {
 		return file.lastModified();
 	}
 
-//	@Nullable
-//	private static JarEntry getAnyOneClassJarEntry(JarFile jarFile) {
-//		Enumeration<JarEntry> enumeration = jarFile.entries();
-//		while (enumeration.hasMoreElements()) {
-//			JarEntry currentEntry = enumeration.nextElement();
-//			if (currentEntry.getName().endsWith(".class")) {
-//				return currentEntry;
-//			}
-//		}
-//
-//		return null;
-//	}
-
-	@Nullable
-	private static JarEntry getMaxTimeJarEntry(JarFile jarFile) {
-		JarEntry maxTimeJarEntry = null;
-
-		Enumeration<JarEntry> enumeration = jarFile.entries();
-		while (enumeration.hasMoreElements()) {
-			JarEntry currentEntry = enumeration.nextElement();
-			if (maxTimeJarEntry == null || maxTimeJarEntry.getTime() < currentEntry.getTime()) {
-				maxTimeJarEntry = currentEntry;
-			}
-		}
-
-		return maxTimeJarEntry;
-	}
-
 	public static boolean isSpringBootDependenciesStarterJar(File file) {
 		if (file.getName().endsWith(".jar")) {
-			try (JarFile jarFile = new JarFile(file)) {
-				return isSpringBootDependenciesStarterJar(jarFile);
+			try {
+				return JarMetadataCache.get(file).isSpringBootDependenciesStarter();
 			} catch (IOException e) {
 				throw new RuntimeException("", e);
 			}
@@ -202,4 +443,28 @@ public abstract class IOUtils {
 
 		return "dependencies-starter".equalsIgnoreCase(attributes.getValue("Spring-Boot-Jar-Type"));
 	}
+
+
+	/**
+	 * 带引用计数的输出文件的锁：每次 {@link #lockFile(File)} 对应一次 {@link #unlock()}，引用计数为0时，从 {@link #FILE_LOCKS} 中移除
+	 */
+	private static class FileLock extends ReentrantLock {
+
+		private final String key;
+
+		/**
+		 * 引用计数，只在 {@link #FILE_LOCKS} 的 compute 方法中读写
+		 */
+		private int references;
+
+		FileLock(String key) {
+			this.key = key;
+		}
+
+		@Override
+		public void unlock() {
+			super.unlock();
+			FILE_LOCKS.computeIfPresent(this.key, (k, v) -> --v.references == 0 ? null : v);
+		}
+	}
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * JAR文件的元数据：MANIFEST.MF 的主属性、实际最后修改时间、条目数量
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class JarMetadata {
+
+	/**
+	 * MANIFEST.MF 的主属性，属性名忽略大小写
+	 */
+	private final Map<String, String> attributes;
+
+	/**
+	 * JAR文件的实际最后修改时间，没有任何条目时为 -1
+	 */
+	private final long lastModified;
+
+	/**
+	 * 条目数量
+	 */
+	private final int entryCount;
+
+
+	public JarMetadata(Map<String, String> attributes, long lastModified, int entryCount) {
+		Map<String, String> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		if (attributes != null) {
+			map.putAll(attributes);
+		}
+		this.attributes = Collections.unmodifiableMap(map);
+		this.lastModified = lastModified;
+		this.entryCount = entryCount;
+	}
+
+
+	/**
+	 * 读取JAR文件的元数据。<br>
+	 * 优先通过 {@link ZipCentralDirectory} 原地扫描中央目录，不会为每个条目创建 {@link JarEntry} 对象；
+	 * 格式不支持时，再通过 {@link JarFile} 读取。
+	 *
+	 * @param file JAR文件
+	 * @return JAR文件的元数据
+	 * @throws IOException IO异常
+	 */
+	@Nonnull
+	public static JarMetadata read(File file) throws IOException {
+		ZipCentralDirectory cen;
+		try {
+			cen = ZipCentralDirectory.read(file);
+		} catch (ZipException e) {
+			return readByJarFile(file);
+		}
+
+		// 读取 MANIFEST.MF 的主属性
+		Map<String, String> attributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		if (cen.getManifestData() != null) {
+			putMainAttributes(attributes, new Manifest(new ByteArrayInputStream(cen.getManifestData())));
+		}
+
+		// 因为jar文件是和 MANIFEST.MF 文件一起生成的，所以这个文件的lastModified才是jar文件的实际最后生成时间；
+		// 如果 MANIFEST.MF 文件不存在，就取所有条目中最大的修改时间
+		long lastModified = cen.getManifestData() != null ? cen.getManifestTime() : cen.getMaxTime();
+
+		return new JarMetadata(attributes, lastModified, cen.getEntryCount());
+	}
+
+	/**
+	 * 通过 {@link JarFile} 读取JAR文件的元数据，只打开一次JAR文件
+	 *
+	 * @param file JAR文件
+	 * @return JAR文件的元数据
+	 * @throws IOException IO异常
+	 */
+	@Nonnull
+	static JarMetadata readByJarFile(File file) throws IOException {
+		try (JarFile jarFile = new JarFile(file, false)) {
+			// 读取 MANIFEST.MF 的主属性
+			Map<String, String> attributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+			putMainAttributes(attributes, jarFile.getManifest());
+
+			// 因为jar文件是和 MANIFEST.MF 文件一起生成的，所以这个文件的lastModified才是jar文件的实际最后生成时间
+			JarEntry jarEntry = jarFile.getJarEntry(JarFile.MANIFEST_NAME);
+			if (jarEntry == null) {
+				// 如果 MANIFEST.MF 文件不存在，就找所有JarEntry中时间最大的那个
+				jarEntry = getMaxTimeJarEntry(jarFile);
+			}
+
+			return new JarMetadata(attributes, jarEntry != null ? jarEntry.getTime() : -1, jarFile.size());
+		}
+	}
+
+	private static void putMainAttributes(Map<String, String> attributes, Manifest manifest) {
+		if (manifest != null && manifest.getMainAttributes() != null) {
+			for (Map.Entry<Object, Object> entry : manifest.getMainAttributes().entrySet()) {
+				attributes.put(entry.getKey().toString(), String.valueOf(entry.getValue()));
+			}
+		}
+	}
+
+	@Nullable
+	private static JarEntry getMaxTimeJarEntry(JarFile jarFile) {
+		JarEntry maxTimeJarEntry = null;
+
+		Enumeration<JarEntry> enumeration = jarFile.entries();
+		while (enumeration.hasMoreElements()) {
+			JarEntry currentEntry = enumeration.nextElement();
+			if (maxTimeJarEntry == null || maxTimeJarEntry.getTime() < currentEntry.getTime()) {
+				maxTimeJarEntry = currentEntry;
+			}
+		}
+
+		return maxTimeJarEntry;
+	}
+
+
+	@Nullable
+	public String getAttribute(String name) {
+		return attributes.get(name);
+	}
+
+	public boolean isSpringBootDependenciesStarter() {
+		return "dependencies-starter".equalsIgnoreCase(this.getAttribute("Spring-Boot-Jar-Type"));
+	}
+
+
+	//region Getter
+
+	public Map<String, String> getAttributes() {
+		return attributes;
+	}
+
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	public int getEntryCount() {
+		return entryCount;
+	}
+
+	//endregion
+}
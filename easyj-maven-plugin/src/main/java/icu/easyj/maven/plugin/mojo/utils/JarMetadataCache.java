@@ -0,0 +1,165 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * JAR文件元数据的缓存。<br>
+ * 内存缓存在整个构建过程中共享，以 '文件路径 + 文件大小 + 修改时间' 作为键，文件变更后自动失效，且条目数不超过 {@link #MAX_SIZE}；
+ * 同时可持久化到 target/ 目录下的文件中，供下次构建使用。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public abstract class JarMetadataCache {
+
+	/**
+	 * 持久化文件相对于 target/ 目录的路径
+	 */
+	public static final String CACHE_FILE_PATH = "easyj-cache/jar-metadata.properties";
+
+	/**
+	 * 内存缓存的最大条目数，超出时淘汰最久未使用的条目。常驻进程（如：mvnd）中，旧版本JAR的元数据不会一直占用内存
+	 */
+	public static final int MAX_SIZE = 4096;
+
+	private static final BoundedCache<String, JarMetadata> CACHE = new BoundedCache<>(MAX_SIZE);
+
+
+	/**
+	 * 获取JAR文件的元数据，缓存中不存在时，读取JAR文件并放入缓存
+	 *
+	 * @param file JAR文件
+	 * @return JAR文件的元数据
+	 * @throws IOException IO异常
+	 */
+	@Nonnull
+	public static JarMetadata get(File file) throws IOException {
+		String key = getKey(file);
+		JarMetadata metadata = CACHE.get(key);
+		if (metadata == null) {
+			metadata = JarMetadata.read(file);
+			CACHE.put(key, metadata);
+		}
+		return metadata;
+	}
+
+	private static String getKey(File file) {
+		return getKey(file.getAbsolutePath(), file.length(), file.lastModified());
+	}
+
+	private static String getKey(String path, long size, long lastModified) {
+		return path + "|" + size + "|" + lastModified;
+	}
+
+
+	//region 持久化
+
+	/**
+	 * 从持久化文件中加载缓存
+	 *
+	 * @param cacheFile 持久化文件
+	 */
+	public static void load(File cacheFile) {
+		if (!cacheFile.isFile()) {
+			return;
+		}
+
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(cacheFile.toPath())) {
+			properties.load(in);
+		} catch (IOException | IllegalArgumentException e) {
+			// 持久化文件已损坏，忽略它，保存时会重新生成
+			return;
+		}
+
+		for (String path : properties.stringPropertyNames()) {
+			String[] lines = properties.getProperty(path).split("\n");
+			String[] values = lines[0].split(",");
+			if (values.length != 4) {
+				continue;
+			}
+
+			Map<String, String> attributes = new LinkedHashMap<>();
+			for (int i = 1; i < lines.length; i++) {
+				int idx = lines[i].indexOf(": ");
+				if (idx > 0) {
+					attributes.put(lines[i].substring(0, idx), lines[i].substring(idx + 2));
+				}
+			}
+
+			try {
+				String key = getKey(path, Long.parseLong(values[0]), Long.parseLong(values[1]));
+				CACHE.putIfAbsent(key, new JarMetadata(attributes, Long.parseLong(values[2]), Integer.parseInt(values[3])));
+			} catch (NumberFormatException ignore) {
+				// 忽略损坏的条目
+			}
+		}
+	}
+
+	/**
+	 * 将指定JAR文件的缓存保存到持久化文件中
+	 *
+	 * @param cacheFile 持久化文件
+	 * @param jarFiles  JAR文件集合
+	 * @throws IOException IO异常
+	 */
+	public static void save(File cacheFile, Collection<File> jarFiles) throws IOException {
+		Properties properties = new Properties();
+		for (File jarFile : jarFiles) {
+			JarMetadata metadata = getIfPresent(jarFile);
+			if (metadata == null) {
+				continue;
+			}
+
+			StringBuilder value = new StringBuilder()
+					.append(jarFile.length()).append(',')
+					.append(jarFile.lastModified()).append(',')
+					.append(metadata.getLastModified()).append(',')
+					.append(metadata.getEntryCount());
+			for (Map.Entry<String, String> attribute : metadata.getAttributes().entrySet()) {
+				value.append('\n').append(attribute.getKey()).append(": ").append(attribute.getValue());
+			}
+			properties.setProperty(jarFile.getAbsolutePath(), value.toString());
+		}
+
+		File parentDir = cacheFile.getParentFile();
+		if (!parentDir.exists() && !parentDir.mkdirs()) {
+			throw new IOException("Failed to create '" + parentDir.getPath() + "' directory.");
+		}
+		try (AtomicFileOutputStream out = new AtomicFileOutputStream(cacheFile)) {
+			properties.store(out, "JAR metadata cache of the easyj-maven-plugin, it can be deleted at any time.");
+			out.commit();
+		}
+	}
+
+	@Nullable
+	private static JarMetadata getIfPresent(File file) {
+		return CACHE.get(getKey(file));
+	}
+
+	//endregion
+}
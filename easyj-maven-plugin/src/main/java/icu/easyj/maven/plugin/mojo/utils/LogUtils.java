@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * 日志工具类
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public abstract class LogUtils {
+
+	/**
+	 * 列表中每一项的前缀
+	 */
+	public static final String LIST_ITEM_PREFIX = "\r\n         - ";
+
+	/**
+	 * 列表最多打印的项数，超出部分只打印数量
+	 */
+	public static final int MAX_LIST_ITEMS = 100;
+
+	/**
+	 * 可复用的格式化缓冲区，超过该容量时不再复用，避免长期占用内存
+	 */
+	private static final int MAX_REUSABLE_BUFFER_SIZE = 16 * 1024;
+
+	private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+
+	/**
+	 * 格式化日志内容，与 {@link String#format(String, Object...)} 的结果一致。<br>
+	 * 只自行处理 '%s'、'%d'、'%%'、'%n'，不需要解析格式；包含其他格式或参数不足时，交由 {@link String#format(String, Object...)} 处理。<br>
+	 * 多余的参数（如：最后一个参数为异常时）会被忽略。
+	 *
+	 * @param format 格式
+	 * @param args   参数
+	 * @return 格式化后的内容
+	 */
+	public static String format(String format, Object... args) {
+		if (format.indexOf('%') < 0) {
+			return format;
+		}
+
+		StringBuilder sb = BUFFER.get();
+		sb.setLength(0);
+		try {
+			int argIndex = 0;
+			int len = format.length();
+			for (int i = 0; i < len; i++) {
+				char c = format.charAt(i);
+				if (c != '%') {
+					sb.append(c);
+					continue;
+				}
+
+				char spec = i + 1 < len ? format.charAt(i + 1) : 0;
+				if (spec == '%') {
+					sb.append('%');
+				} else if (spec == 'n') {
+					sb.append(System.lineSeparator());
+				} else if ((spec == 's' || spec == 'd') && args != null && argIndex < args.length) {
+					sb.append(args[argIndex++]);
+				} else {
+					return String.format(format, args);
+				}
+				i++;
+			}
+			return sb.toString();
+		} finally {
+			if (sb.capacity() > MAX_REUSABLE_BUFFER_SIZE) {
+				BUFFER.remove();
+			}
+		}
+	}
+
+	/**
+	 * 获取最后一个参数中的异常
+	 *
+	 * @param args 参数
+	 * @return 异常，最后一个参数不是异常时，返回 null
+	 */
+	public static Throwable getThrowable(Object... args) {
+		if (args == null || args.length == 0) {
+			return null;
+		}
+
+		Object last = args[args.length - 1];
+		return last instanceof Throwable ? (Throwable)last : null;
+	}
+
+
+	//region 列表
+
+	/**
+	 * 将集合转换为列表形式的字符串，每项一行，超出 {@link #MAX_LIST_ITEMS} 的部分只打印数量
+	 *
+	 * @param coll 集合
+	 * @return 列表形式的字符串
+	 */
+	public static String toListStr(Collection<?> coll) {
+		if (coll == null) {
+			return "null";
+		}
+		if (coll.isEmpty()) {
+			return "<empty>";
+		}
+
+		StringBuilder sb = new StringBuilder(Math.min(coll.size(), MAX_LIST_ITEMS) * 32);
+		Iterator<?> iterator = coll.iterator();
+		for (int i = 0; i < MAX_LIST_ITEMS && iterator.hasNext(); i++) {
+			sb.append(LIST_ITEM_PREFIX).append(iterator.next());
+		}
+		if (coll.size() > MAX_LIST_ITEMS) {
+			sb.append(LIST_ITEM_PREFIX).append("...(").append(coll.size() - MAX_LIST_ITEMS).append(" more, total: ").append(coll.size()).append(")");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * 将以逗号分隔的字符串转换为列表形式的字符串，每项一行
+	 *
+	 * @param arrStr 以逗号分隔的字符串
+	 * @return 列表形式的字符串
+	 */
+	public static String toListStr(String arrStr) {
+		StringBuilder sb = new StringBuilder(arrStr.length() + 64);
+		int start = 0;
+		while (true) {
+			int comma = arrStr.indexOf(',', start);
+			int end = comma < 0 ? arrStr.length() : comma;
+
+			// 去除逗号两侧的空白字符
+			int itemStart = start;
+			if (start > 0) {
+				while (itemStart < end && Character.isWhitespace(arrStr.charAt(itemStart))) {
+					itemStart++;
+				}
+			}
+			int itemEnd = end;
+			if (comma >= 0) {
+				while (itemEnd > itemStart && Character.isWhitespace(arrStr.charAt(itemEnd - 1))) {
+					itemEnd--;
+				}
+			}
+
+			sb.append(LIST_ITEM_PREFIX).append(arrStr, itemStart, itemEnd);
+			if (comma < 0) {
+				return sb.toString();
+			}
+			start = comma + 1;
+		}
+	}
+
+	/**
+	 * 延迟转换为列表形式的字符串，用作日志参数，只有日志真正输出时才会转换
+	 *
+	 * @param coll 集合
+	 * @return 调用 {@link Object#toString()} 时，才转换为列表形式的字符串的对象
+	 */
+	public static Object lazyListStr(Collection<?> coll) {
+		return new Object() {
+			@Override
+			public String toString() {
+				return toListStr(coll);
+			}
+		};
+	}
+
+	//endregion
+}
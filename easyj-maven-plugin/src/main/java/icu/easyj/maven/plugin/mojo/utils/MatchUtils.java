@@ -47,15 +47,48 @@ public abstract class MatchUtils {
 			return matcher.matches();
 		}
 
+		return matchWildcard(pattern.toCharArray(), pattern.contains("*"), str, ignoreCase);
+	}
+
+	// 重载方法
+	public static boolean match(String pattern, String str) {
+		return match(pattern, str, true); // 忽略大小写
+	}
+
+	/**
+	 * 匹配文件
+	 *
+	 * @param patterns 匹配串集合
+	 * @param str      目标字符串
+	 * @return 是否匹配
+	 */
+	public static boolean match(Collection<String> patterns, String str) {
+		for (String pattern : patterns) {
+			if (match(pattern, str)) {
+				return true;
+			}
+		}
 
-		char[] patArr = pattern.toCharArray();
-		char[] strArr = str.toCharArray();
+		return false;
+	}
+
+
+	/**
+	 * 通配符匹配，支持通配符 '*' 与 '?'，匹配串已预先转换为字符数组，可重复使用
+	 *
+	 * @param patArr       匹配串的字符数组
+	 * @param containsStar 匹配串中是否包含 '*'
+	 * @param str          字符串
+	 * @param ignoreCase   忽略大小写
+	 * @return 是否匹配：true=匹配 | false=不匹配
+	 * @since 1.1.6
+	 */
+	static boolean matchWildcard(char[] patArr, boolean containsStar, String str, boolean ignoreCase) {
 		int patIdxStart = 0;
 		int patIdxEnd = patArr.length - 1;
 		int strIdxStart = 0;
-		int strIdxEnd = strArr.length - 1;
+		int strIdxEnd = str.length() - 1;
 
-		boolean containsStar = pattern.contains("*");
 		char chPat;
 		int patIdxTmp;
 		if (!containsStar) {
@@ -64,7 +97,7 @@ public abstract class MatchUtils {
 			} else {
 				for (patIdxTmp = 0; patIdxTmp <= patIdxEnd; ++patIdxTmp) {
 					chPat = patArr[patIdxTmp];
-					if (chPat != '?' && !equalsChar(chPat, strArr[patIdxTmp], ignoreCase)) {
+					if (chPat != '?' && !equalsChar(chPat, str.charAt(patIdxTmp), ignoreCase)) {
 						return false;
 					}
 				}
@@ -75,7 +108,7 @@ public abstract class MatchUtils {
 			return true;
 		} else {
 			while ((chPat = patArr[patIdxStart]) != '*' && strIdxStart <= strIdxEnd) {
-				if (chPat != '?' && !equalsChar(chPat, strArr[strIdxStart], ignoreCase)) {
+				if (chPat != '?' && !equalsChar(chPat, str.charAt(strIdxStart), ignoreCase)) {
 					return false;
 				}
 
@@ -93,7 +126,7 @@ public abstract class MatchUtils {
 				return true;
 			} else {
 				while ((chPat = patArr[patIdxEnd]) != '*' && strIdxStart <= strIdxEnd) {
-					if (chPat != '?' && !equalsChar(chPat, strArr[strIdxEnd], ignoreCase)) {
+					if (chPat != '?' && !equalsChar(chPat, str.charAt(strIdxEnd), ignoreCase)) {
 						return false;
 					}
 
@@ -133,7 +166,7 @@ public abstract class MatchUtils {
 							while (i <= strLength - patLength) {
 								for (int j = 0; j < patLength; ++j) {
 									chPat = patArr[patIdxStart + j + 1];
-									if (chPat != '?' && !equalsChar(chPat, strArr[strIdxStart + i + j], ignoreCase)) {
+									if (chPat != '?' && !equalsChar(chPat, str.charAt(strIdxStart + i + j), ignoreCase)) {
 										++i;
 										continue label427;
 									}
@@ -164,30 +197,7 @@ public abstract class MatchUtils {
 		}
 	}
 
-	// 重载方法
-	public static boolean match(String pattern, String str) {
-		return match(pattern, str, true); // 忽略大小写
-	}
-
-	/**
-	 * 匹配文件
-	 *
-	 * @param patterns 匹配串集合
-	 * @param str      目标字符串
-	 * @return 是否匹配
-	 */
-	public static boolean match(Collection<String> patterns, String str) {
-		for (String pattern : patterns) {
-			if (match(pattern, str)) {
-				return true;
-			}
-		}
-
-		return false;
-	}
-
-
-	private static boolean equalsChar(char c1, char c2, boolean ignoreCase) {
+	static boolean equalsChar(char c1, char c2, boolean ignoreCase) {
 		if (c1 != c2) {
 			if (ignoreCase) {
 				//return Character.toUpperCase(c1) == Character.toUpperCase(c2);
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 预编译的匹配串集合，匹配规则与 {@link MatchUtils#match(Collection, String)} 一致。<br>
+ * 每个Goal只需创建一次，所有匹配串在创建时按类型预处理，匹配时不再重复解析：
+ * <ul>
+ *     <li>以 '^' 开头的正则表达式：预编译为 {@link Pattern}</li>
+ *     <li>不含通配符的完整名称：放入以大写字符串为键的哈希表中，匹配时只需查找一次</li>
+ *     <li>只在末尾或开头包含一个 '*' 的匹配串：只比较前缀或后缀</li>
+ *     <li>其他通配符匹配串：预先转换为字符数组</li>
+ * </ul>
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class PatternSet {
+
+	private final Set<String> patterns;
+
+	private final boolean ignoreCase;
+
+	/**
+	 * 是否存在匹配所有字符串的匹配串，如：'*'
+	 */
+	private boolean matchAll = false;
+
+	/**
+	 * 完整名称，键：忽略大小写时为大写字符串
+	 */
+	private final Map<String, List<char[]>> literals = new HashMap<>();
+
+	private final List<char[]> prefixes = new ArrayList<>();
+
+	private final List<char[]> suffixes = new ArrayList<>();
+
+	/**
+	 * 包含 '*' 的通配符匹配串
+	 */
+	private final List<char[]> wildcards = new ArrayList<>();
+
+	/**
+	 * 只包含 '?' 的通配符匹配串
+	 */
+	private final List<char[]> questionMarkWildcards = new ArrayList<>();
+
+	private final List<Pattern> regexes = new ArrayList<>();
+
+
+	public PatternSet(Collection<String> patterns) {
+		this(patterns, true);
+	}
+
+	public PatternSet(Collection<String> patterns, boolean ignoreCase) {
+		this.patterns = patterns == null ? Collections.emptySet() : Collections.unmodifiableSet(new LinkedHashSet<>(patterns));
+		this.ignoreCase = ignoreCase;
+
+		for (String pattern : this.patterns) {
+			this.compile(pattern);
+		}
+	}
+
+
+	/**
+	 * 判断字符串是否与任一匹配串匹配
+	 *
+	 * @param str 字符串
+	 * @return 是否匹配：true=匹配 | false=不匹配
+	 */
+	public boolean matches(String str) {
+		if (str == null) {
+			return false;
+		}
+
+		if (this.matchAll) {
+			return true;
+		}
+
+		if (!this.literals.isEmpty()) {
+			List<char[]> candidates = this.literals.get(this.toKey(str));
+			if (candidates != null) {
+				for (char[] literal : candidates) {
+					if (this.regionMatches(str, 0, literal)) {
+						return true;
+					}
+				}
+			}
+		}
+
+		for (char[] prefix : this.prefixes) {
+			if (this.regionMatches(str, 0, prefix)) {
+				return true;
+			}
+		}
+
+		for (char[] suffix : this.suffixes) {
+			if (this.regionMatches(str, str.length() - suffix.length, suffix)) {
+				return true;
+			}
+		}
+
+		for (char[] wildcard : this.wildcards) {
+			if (MatchUtils.matchWildcard(wildcard, true, str, this.ignoreCase)) {
+				return true;
+			}
+		}
+
+		for (char[] wildcard : this.questionMarkWildcards) {
+			if (MatchUtils.matchWildcard(wildcard, false, str, this.ignoreCase)) {
+				return true;
+			}
+		}
+
+		for (Pattern regex : this.regexes) {
+			if (regex.matcher(str).matches()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	public boolean isEmpty() {
+		return this.patterns.isEmpty();
+	}
+
+	public Set<String> getPatterns() {
+		return this.patterns;
+	}
+
+	@Override
+	public String toString() {
+		return this.patterns.toString();
+	}
+
+
+	//region Private
+
+	private void compile(String pattern) {
+		if (pattern == null || pattern.isEmpty()) {
+			return;
+		}
+
+		// 正则表达式
+		if (pattern.charAt(0) == '^') {
+			this.regexes.add(this.ignoreCase ? Pattern.compile(pattern, Pattern.CASE_INSENSITIVE) : Pattern.compile(pattern));
+			return;
+		}
+
+		int starCount = 0;
+		boolean containsQuestionMark = false;
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '*') {
+				starCount++;
+			} else if (c == '?') {
+				containsQuestionMark = true;
+			}
+		}
+
+		if (starCount == pattern.length()) {
+			// 只包含 '*'，匹配所有字符串
+			this.matchAll = true;
+		} else if (starCount == 0 && !containsQuestionMark) {
+			// 完整名称
+			this.literals.computeIfAbsent(this.toKey(pattern), k -> new ArrayList<>(1)).add(pattern.toCharArray());
+		} else if (starCount == 1 && !containsQuestionMark && pattern.charAt(pattern.length() - 1) == '*') {
+			// 前缀，如：'icu.easyj*'
+			this.prefixes.add(pattern.substring(0, pattern.length() - 1).toCharArray());
+		} else if (starCount == 1 && !containsQuestionMark && pattern.charAt(0) == '*') {
+			// 后缀，如：'*-starter'
+			this.suffixes.add(pattern.substring(1).toCharArray());
+		} else if (starCount == 0) {
+			// 只包含 '?' 的通配符
+			this.questionMarkWildcards.add(pattern.toCharArray());
+		} else {
+			this.wildcards.add(pattern.toCharArray());
+		}
+	}
+
+	private String toKey(String str) {
+		if (!this.ignoreCase) {
+			return str;
+		}
+
+		char[] chars = new char[str.length()];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toUpperCase(str.charAt(i));
+		}
+		return new String(chars);
+	}
+
+	private boolean regionMatches(String str, int offset, char[] chars) {
+		if (offset < 0 || offset + chars.length > str.length()) {
+			return false;
+		}
+
+		for (int i = 0; i < chars.length; i++) {
+			if (!MatchUtils.equalsChar(chars[i], str.charAt(offset + i), this.ignoreCase)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	//endregion
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 规范化POM内容的字符输出流，在写入的同时完成以下处理，不需要先将整个POM序列化成字符串再逐个替换：
+ * <ol>
+ *     <li>去除 '\r'</li>
+ *     <li>不同的maven版本，换行数量有些微不同，将多个连续的换行替换成单个换行</li>
+ *     <li>去除空元素中多余的空格，即：' /&gt;' 替换为 '/&gt;'</li>
+ * </ol>
+ * 处理结果与 {@code str.replace("\r", "").replaceAll("\n{2,}", "\n").replace(" />", "/>")} 一致。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class PomNormalizingWriter extends Writer {
+
+	private static final int BUFFER_SIZE = 1024;
+
+
+	private final Writer out;
+
+	private final char[] buffer = new char[BUFFER_SIZE];
+
+	private int count;
+
+	/**
+	 * 上一个字符是否为换行符
+	 */
+	private boolean lastNewline;
+
+	/**
+	 * 暂缓输出的字符：0=无 | 1=' ' | 2=' /'
+	 */
+	private int pending;
+
+
+	public PomNormalizingWriter(Writer out) {
+		this.out = out;
+	}
+
+
+	@Override
+	public void write(int c) throws IOException {
+		this.append0((char)c);
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+		for (int i = off, end = off + len; i < end; i++) {
+			this.append0(cbuf[i]);
+		}
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+		for (int i = off, end = off + len; i < end; i++) {
+			this.append0(str.charAt(i));
+		}
+	}
+
+	/**
+	 * 刷新缓冲区，暂缓输出的字符可能与后续的字符组合在一起被替换，所以不会被输出，如需输出，请调用 {@link #finish()}
+	 *
+	 * @throws IOException IO异常
+	 */
+	@Override
+	public void flush() throws IOException {
+		this.flushBuffer();
+		this.out.flush();
+	}
+
+	/**
+	 * 输出暂缓输出的字符，并刷新缓冲区，但不关闭底层的输出流
+	 *
+	 * @throws IOException IO异常
+	 */
+	public void finish() throws IOException {
+		this.flushPending();
+		this.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			this.finish();
+		} finally {
+			this.out.close();
+		}
+	}
+
+
+	private void append0(char c) throws IOException {
+		if (c == '\r') {
+			return;
+		}
+
+		if (this.pending == 2) {
+			this.pending = 0;
+			if (c == '>') {
+				this.emit('/');
+				this.emit('>');
+				return;
+			}
+			this.emit(' ');
+			this.emit('/');
+		} else if (this.pending == 1) {
+			if (c == '/') {
+				this.pending = 2;
+				return;
+			}
+			this.pending = 0;
+			this.emit(' ');
+		}
+
+		if (c == '\n') {
+			if (!this.lastNewline) {
+				this.emit(c);
+				this.lastNewline = true;
+			}
+			return;
+		}
+
+		this.lastNewline = false;
+		if (c == ' ') {
+			this.pending = 1;
+		} else {
+			this.emit(c);
+		}
+	}
+
+	private void flushPending() throws IOException {
+		if (this.pending > 0) {
+			this.emit(' ');
+			if (this.pending == 2) {
+				this.emit('/');
+			}
+			this.pending = 0;
+		}
+	}
+
+	private void emit(char c) throws IOException {
+		if (this.count == this.buffer.length) {
+			this.flushBuffer();
+		}
+		this.buffer[this.count++] = c;
+	}
+
+	private void flushBuffer() throws IOException {
+		if (this.count > 0) {
+			this.out.write(this.buffer, 0, this.count);
+			this.count = 0;
+		}
+	}
+}
@@ -16,27 +16,52 @@
 package icu.easyj.maven.plugin.mojo.utils;
 
 import org.apache.maven.artifact.Artifact;
-import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
-import org.apache.maven.artifact.resolver.filter.ScopeArtifactFilter;
 
 /**
- * 范围过滤器
+ * 范围过滤器。<br>
+ * 创建时校验范围配置，并预先计算出每个已知范围的过滤结果（位掩码），所以过滤器是不可变的，每次执行只需创建一次，过滤时只需查找一次。<br>
+ * 过滤结果与 {@link org.apache.maven.artifact.resolver.filter.ScopeArtifactFilter} 一致。
  *
  * @author wangliang181230
  * @since 1.1.0
  */
 public class ScopeFilter {
 
-	private String includeScope;
+	private static final int COMPILE = 1;
+	private static final int PROVIDED = 1 << 1;
+	private static final int RUNTIME = 1 << 2;
+	private static final int SYSTEM = 1 << 3;
+	private static final int TEST = 1 << 4;
 
-	private String excludeScope;
+	private static final int ALL = COMPILE | PROVIDED | RUNTIME | SYSTEM | TEST;
 
+
+	private final String includeScope;
+
+	private final String excludeScope;
+
+	/**
+	 * 通过过滤的已知范围
+	 */
+	private final int includedScopes;
+
+	/**
+	 * 未知范围（如：import 或 null）是否通过过滤
+	 */
+	private final boolean includeUnknownScope;
+
+
+	/**
+	 * 构造函数
+	 *
+	 * @param includeScope 包含的范围，不为空时，忽略 excludeScope
+	 * @param excludeScope 排除的范围
+	 * @throws RuntimeException 范围配置无效时
+	 */
 	public ScopeFilter(String includeScope, String excludeScope) {
 		this.includeScope = includeScope;
 		this.excludeScope = excludeScope;
-	}
 
-	public boolean doFilter(Artifact artifact) {
 		if (StringUtils.isNotEmpty(includeScope)) {
 			if (!Artifact.SCOPE_COMPILE.equals(includeScope) && !Artifact.SCOPE_TEST.equals(includeScope)
 					&& !Artifact.SCOPE_PROVIDED.equals(includeScope) && !Artifact.SCOPE_RUNTIME.equals(includeScope)
@@ -46,10 +71,12 @@ public class ScopeFilter {
 			}
 
 			if (Artifact.SCOPE_PROVIDED.equals(includeScope) || Artifact.SCOPE_SYSTEM.equals(includeScope)) {
-				return includeSingleScope(artifact, includeScope);
+				// 只包含该范围
+				this.includedScopes = getScopeBit(includeScope);
+				this.includeUnknownScope = false;
 			} else {
-				ArtifactFilter saf = new ScopeArtifactFilter(includeScope);
-				return saf.include(artifact);
+				this.includedScopes = getScopeArtifactFilterScopes(includeScope);
+				this.includeUnknownScope = true;
 			}
 		} else if (StringUtils.isNotEmpty(excludeScope)) {
 			if (!Artifact.SCOPE_COMPILE.equals(excludeScope) && !Artifact.SCOPE_TEST.equals(excludeScope)
@@ -59,22 +86,85 @@ public class ScopeFilter {
 			}
 			if (Artifact.SCOPE_TEST.equals(excludeScope)) {
 				throw new RuntimeException(" Can't exclude Test scope, this will exclude everything.");
-			} else if (!Artifact.SCOPE_PROVIDED.equals(excludeScope) && !Artifact.SCOPE_SYSTEM.equals(excludeScope)) {
-				ArtifactFilter saf = new ScopeArtifactFilter(excludeScope);
-				return !saf.include(artifact);
+			}
+
+			if (Artifact.SCOPE_PROVIDED.equals(excludeScope) || Artifact.SCOPE_SYSTEM.equals(excludeScope)) {
+				// 只排除该范围
+				this.includedScopes = ALL & ~getScopeBit(excludeScope);
+				this.includeUnknownScope = true;
 			} else {
-				return excludeSingleScope(artifact, excludeScope);
+				this.includedScopes = ALL & ~getScopeArtifactFilterScopes(excludeScope);
+				this.includeUnknownScope = false;
 			}
+		} else {
+			this.includedScopes = 0;
+			this.includeUnknownScope = false;
 		}
+	}
+
 
-		return false;
+	public boolean doFilter(Artifact artifact) {
+		int scopeBit = getScopeBit(artifact.getScope());
+		if (scopeBit == 0) {
+			return this.includeUnknownScope;
+		}
+		return (this.includedScopes & scopeBit) != 0;
+	}
+
+	public String getIncludeScope() {
+		return includeScope;
 	}
 
-	private boolean includeSingleScope(Artifact artifact, String scope) {
-		return scope.equals(artifact.getScope());
+	public String getExcludeScope() {
+		return excludeScope;
+	}
+
+
+	//region Private
+
+	private static int getScopeBit(String scope) {
+		if (scope == null) {
+			return 0;
+		}
+
+		switch (scope) {
+			case Artifact.SCOPE_COMPILE:
+				return COMPILE;
+			case Artifact.SCOPE_PROVIDED:
+				return PROVIDED;
+			case Artifact.SCOPE_RUNTIME:
+				return RUNTIME;
+			case Artifact.SCOPE_SYSTEM:
+				return SYSTEM;
+			case Artifact.SCOPE_TEST:
+				return TEST;
+			default:
+				return 0;
+		}
 	}
 
-	private boolean excludeSingleScope(Artifact artifact, String scope) {
-		return !includeSingleScope(artifact, scope);
+	/**
+	 * 获取 {@link org.apache.maven.artifact.resolver.filter.ScopeArtifactFilter} 中，该范围所包含的范围
+	 *
+	 * @param scope 范围
+	 * @return 包含的范围
+	 */
+	private static int getScopeArtifactFilterScopes(String scope) {
+		switch (scope) {
+			case Artifact.SCOPE_COMPILE:
+				return COMPILE | PROVIDED | SYSTEM;
+			case Artifact.SCOPE_RUNTIME:
+				return COMPILE | RUNTIME;
+			case Artifact.SCOPE_COMPILE_PLUS_RUNTIME:
+				return COMPILE | PROVIDED | RUNTIME | SYSTEM;
+			case Artifact.SCOPE_RUNTIME_PLUS_SYSTEM:
+				return COMPILE | RUNTIME | SYSTEM;
+			case Artifact.SCOPE_TEST:
+				return ALL;
+			default:
+				return 0;
+		}
 	}
+
+	//endregion
 }
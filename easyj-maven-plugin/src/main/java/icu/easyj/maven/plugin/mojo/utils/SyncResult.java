@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 目录同步结果，线程安全
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class SyncResult {
+
+	/**
+	 * 新增或已变更，并已复制的文件数
+	 */
+	private final AtomicInteger copied = new AtomicInteger(0);
+
+	/**
+	 * 未变更，跳过复制的文件数
+	 */
+	private final AtomicInteger skipped = new AtomicInteger(0);
+
+	/**
+	 * 已不需要，并已删除的文件数
+	 */
+	private final AtomicInteger removed = new AtomicInteger(0);
+
+
+	public void incrementCopied() {
+		copied.incrementAndGet();
+	}
+
+	public void incrementSkipped() {
+		skipped.incrementAndGet();
+	}
+
+	public void incrementRemoved() {
+		removed.incrementAndGet();
+	}
+
+
+	//region Getter
+
+	public int getCopied() {
+		return copied.get();
+	}
+
+	public int getSkipped() {
+		return skipped.get();
+	}
+
+	public int getRemoved() {
+		return removed.get();
+	}
+
+	//endregion
+
+
+	@Override
+	public String toString() {
+		return "copied: " + getCopied() + ", skipped: " + getSkipped() + ", removed: " + getRemoved();
+	}
+}
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Calendar;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import javax.annotation.Nullable;
+
+/**
+ * 轻量的ZIP中央目录读取器。<br>
+ * 以内存映射的方式读取文件末尾的中央目录（较小时直接读入内存），并原地扫描所有中央目录记录，不会为每个条目创建 {@link ZipEntry} 对象，
+ * 用于快速获取JAR文件的条目数量、最大修改时间及 MANIFEST.MF 的内容。<br>
+ * 条目的修改时间与 {@link ZipEntry#getTime()} 一致：优先使用扩展字段中的时间（扩展时间戳、NTFS时间），否则使用本地时区的DOS时间。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+class ZipCentralDirectory {
+
+	private static final int ENDSIG = 0x06054b50;
+	private static final int ZIP64_ENDSIG = 0x06064b50;
+	private static final int ZIP64_LOCSIG = 0x07064b50;
+	private static final int CENSIG = 0x02014b50;
+	private static final int LOCSIG = 0x04034b50;
+
+	private static final int ENDHDR = 22;
+	private static final int ZIP64_LOCHDR = 20;
+	private static final int CENHDR = 46;
+	private static final int LOCHDR = 30;
+	private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+
+	/**
+	 * 使用内存映射的最小区域大小
+	 */
+	private static final int MMAP_MIN_SIZE = 1024 * 1024;
+
+	private static final long ZIP64_MAGICVAL = 0xFFFFFFFFL;
+	private static final int ZIP64_MAGICCOUNT = 0xFFFF;
+
+	private static final int EXTID_ZIP64 = 0x0001;
+	private static final int EXTID_NTFS = 0x000a;
+	private static final int EXTID_EXTT = 0x5455;
+
+	/**
+	 * Windows时间（从1601年开始的100纳秒数）与Java时间的差值（毫秒）
+	 */
+	private static final long WINDOWS_EPOCH_OFFSET = 11644473600000L;
+
+	private static final byte[] MANIFEST_NAME = "META-INF/MANIFEST.MF".getBytes();
+
+
+	/**
+	 * 条目数量
+	 */
+	private int entryCount;
+
+	/**
+	 * 所有条目中最大的修改时间，没有任何条目时为 -1
+	 */
+	private long maxTime = -1;
+
+	/**
+	 * MANIFEST.MF 的修改时间，文件不存在时为 -1
+	 */
+	private long manifestTime = -1;
+
+	/**
+	 * MANIFEST.MF 的内容，文件不存在时为 null
+	 */
+	private byte[] manifestData;
+
+
+	private ZipCentralDirectory() {
+	}
+
+
+	/**
+	 * 读取ZIP文件的中央目录
+	 *
+	 * @param file ZIP文件
+	 * @return 中央目录的统计信息
+	 * @throws IOException  IO异常
+	 * @throws ZipException 不是有效的ZIP文件，或使用了不支持的格式
+	 */
+	static ZipCentralDirectory read(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			if (fileSize < ENDHDR) {
+				throw new ZipException("zip file is empty");
+			}
+
+			// 映射文件末尾，查找 end of central directory record
+			int tailSize = (int)Math.min(fileSize, ENDHDR + MAX_COMMENT_LENGTH);
+			long tailPos = fileSize - tailSize;
+			ByteBuffer tail = map(channel, tailPos, tailSize);
+			int endPos = findEnd(tail);
+
+			long cenCount = tail.getShort(endPos + 10) & 0xFFFF;
+			long cenSize = tail.getInt(endPos + 12) & ZIP64_MAGICVAL;
+			long cenOffset = tail.getInt(endPos + 16) & ZIP64_MAGICVAL;
+			long endFilePos = tailPos + endPos;
+			if (cenCount == ZIP64_MAGICCOUNT || cenSize == ZIP64_MAGICVAL || cenOffset == ZIP64_MAGICVAL) {
+				// ZIP64 end of central directory locator
+				if (endPos < ZIP64_LOCHDR || tail.getInt(endPos - ZIP64_LOCHDR) != ZIP64_LOCSIG) {
+					throw new ZipException("invalid zip64 end header locator");
+				}
+				long zip64EndPos = tail.getLong(endPos - ZIP64_LOCHDR + 8);
+				ByteBuffer zip64End = map(channel, zip64EndPos, 56);
+				if (zip64End.getInt(0) != ZIP64_ENDSIG) {
+					throw new ZipException("invalid zip64 end header");
+				}
+				cenCount = zip64End.getLong(32);
+				cenSize = zip64End.getLong(40);
+				cenOffset = zip64End.getLong(48);
+				endFilePos = zip64EndPos;
+			}
+
+			// 中央目录的实际位置（ZIP文件前面可能还有其他数据，如：可执行的JAR）
+			long cenPos = endFilePos - cenSize;
+			long locBase = cenPos - cenOffset;
+			if (cenPos < 0 || locBase < 0 || cenSize > Integer.MAX_VALUE) {
+				throw new ZipException("invalid END header (bad central directory offset)");
+			}
+
+			ZipCentralDirectory result = new ZipCentralDirectory();
+			result.scan(channel, map(channel, cenPos, (int)cenSize), locBase, cenCount);
+			return result;
+		}
+	}
+
+	private void scan(FileChannel channel, ByteBuffer cen, long locBase, long cenCount) throws IOException {
+		int cenLength = cen.limit();
+		long maxDosTime = -1;
+		int manifestPos = -1;
+
+		int pos = 0;
+		while (pos + CENHDR <= cenLength) {
+			if (cen.getInt(pos) != CENSIG) {
+				throw new ZipException("invalid CEN header (bad signature)");
+			}
+			int nameLength = cen.getShort(pos + 28) & 0xFFFF;
+			int extraLength = cen.getShort(pos + 30) & 0xFFFF;
+			int commentLength = cen.getShort(pos + 32) & 0xFFFF;
+			int namePos = pos + CENHDR;
+
+			// 修改时间：扩展字段中没有时间时，只记录最大的DOS时间，最后再转换为Java时间，避免每个条目都转换一次
+			long time = getExtraTime(cen, namePos + nameLength, extraLength);
+			if (time == -1) {
+				long dosTime = cen.getInt(pos + 12) & ZIP64_MAGICVAL;
+				if (dosTime > maxDosTime) {
+					maxDosTime = dosTime;
+				}
+			} else if (time > this.maxTime) {
+				this.maxTime = time;
+			}
+
+			if (manifestPos == -1 && nameEquals(cen, namePos, nameLength, MANIFEST_NAME)) {
+				manifestPos = pos;
+			}
+
+			this.entryCount++;
+			pos = namePos + nameLength + extraLength + commentLength;
+		}
+		if (this.entryCount != cenCount && cenCount != ZIP64_MAGICCOUNT) {
+			throw new ZipException("invalid CEN header (bad entry count)");
+		}
+
+		if (maxDosTime != -1) {
+			this.maxTime = Math.max(this.maxTime, dosToJavaTime(maxDosTime));
+		}
+
+		if (manifestPos != -1) {
+			this.manifestTime = getTime(cen, manifestPos);
+			this.manifestData = readData(channel, cen, manifestPos, locBase);
+		}
+	}
+
+	/**
+	 * 读取条目的数据（只用于 MANIFEST.MF 这样的小文件）
+	 */
+	private static byte[] readData(FileChannel channel, ByteBuffer cen, int pos, long locBase) throws IOException {
+		int method = cen.getShort(pos + 10) & 0xFFFF;
+		long compressedSize = cen.getInt(pos + 20) & ZIP64_MAGICVAL;
+		long size = cen.getInt(pos + 24) & ZIP64_MAGICVAL;
+		long locOffset = cen.getInt(pos + 42) & ZIP64_MAGICVAL;
+		if (compressedSize == ZIP64_MAGICVAL || size == ZIP64_MAGICVAL || locOffset == ZIP64_MAGICVAL) {
+			int nameLength = cen.getShort(pos + 28) & 0xFFFF;
+			int extraLength = cen.getShort(pos + 30) & 0xFFFF;
+			int extraPos = findExtra(cen, pos + CENHDR + nameLength, extraLength, EXTID_ZIP64);
+			if (extraPos == -1) {
+				throw new ZipException("invalid zip64 extra data field");
+			}
+			int off = extraPos + 4;
+			if (size == ZIP64_MAGICVAL) {
+				size = cen.getLong(off);
+				off += 8;
+			}
+			if (compressedSize == ZIP64_MAGICVAL) {
+				compressedSize = cen.getLong(off);
+				off += 8;
+			}
+			if (locOffset == ZIP64_MAGICVAL) {
+				locOffset = cen.getLong(off);
+			}
+		}
+		if (size > Integer.MAX_VALUE || compressedSize > Integer.MAX_VALUE) {
+			throw new ZipException("the entry is too large");
+		}
+
+		ByteBuffer loc = map(channel, locBase + locOffset, LOCHDR);
+		if (loc.getInt(0) != LOCSIG) {
+			throw new ZipException("invalid LOC header (bad signature)");
+		}
+		long dataPos = locBase + locOffset + LOCHDR + (loc.getShort(26) & 0xFFFF) + (loc.getShort(28) & 0xFFFF);
+		byte[] compressedData = new byte[(int)compressedSize];
+		map(channel, dataPos, compressedData.length).get(compressedData);
+
+		if (method == ZipEntry.STORED) {
+			return compressedData;
+		} else if (method == ZipEntry.DEFLATED) {
+			byte[] data = new byte[(int)size];
+			Inflater inflater = new Inflater(true);
+			try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(compressedData), inflater)) {
+				int off = 0;
+				int len;
+				while (off < data.length && (len = in.read(data, off, data.length - off)) != -1) {
+					off += len;
+				}
+			} finally {
+				inflater.end();
+			}
+			return data;
+		} else {
+			throw new ZipException("invalid compression method: " + method);
+		}
+	}
+
+	private static long getTime(ByteBuffer cen, int pos) {
+		int nameLength = cen.getShort(pos + 28) & 0xFFFF;
+		int extraLength = cen.getShort(pos + 30) & 0xFFFF;
+		long time = getExtraTime(cen, pos + CENHDR + nameLength, extraLength);
+		return time != -1 ? time : dosToJavaTime(cen.getInt(pos + 12) & ZIP64_MAGICVAL);
+	}
+
+	/**
+	 * 读取扩展字段中的修改时间，与 {@link ZipEntry} 的处理方式一致：后出现的字段覆盖先出现的字段
+	 *
+	 * @return 修改时间，没有时返回 -1
+	 */
+	private static long getExtraTime(ByteBuffer cen, int extraPos, int extraLength) {
+		long time = -1;
+		int pos = extraPos;
+		int end = extraPos + extraLength;
+		while (pos + 4 <= end) {
+			int tag = cen.getShort(pos) & 0xFFFF;
+			int size = cen.getShort(pos + 2) & 0xFFFF;
+			pos += 4;
+			if (pos + size > end) {
+				break;
+			}
+			if (tag == EXTID_EXTT) {
+				// 中央目录中只有修改时间
+				int flag = cen.get(pos) & 0xFF;
+				if ((flag & 0x1) != 0 && size >= 5) {
+					time = (cen.getInt(pos + 1) & ZIP64_MAGICVAL) * 1000;
+				}
+			} else if (tag == EXTID_NTFS && size >= 32) {
+				// 4字节保留字段，之后是 tag=0x0001、size=24 的属性：修改时间、访问时间、创建时间
+				if ((cen.getShort(pos + 4) & 0xFFFF) == 0x0001 && (cen.getShort(pos + 6) & 0xFFFF) == 24) {
+					time = cen.getLong(pos + 8) / 10000 - WINDOWS_EPOCH_OFFSET;
+				}
+			}
+			pos += size;
+		}
+		return time;
+	}
+
+	private static int findExtra(ByteBuffer cen, int extraPos, int extraLength, int targetTag) {
+		int pos = extraPos;
+		int end = extraPos + extraLength;
+		while (pos + 4 <= end) {
+			int tag = cen.getShort(pos) & 0xFFFF;
+			if (tag == targetTag) {
+				return pos;
+			}
+			pos += 4 + (cen.getShort(pos + 2) & 0xFFFF);
+		}
+		return -1;
+	}
+
+	private static int findEnd(ByteBuffer tail) throws ZipException {
+		for (int pos = tail.limit() - ENDHDR; pos >= 0; pos--) {
+			if (tail.getInt(pos) == ENDSIG) {
+				int commentLength = tail.getShort(pos + 20) & 0xFFFF;
+				if (pos + ENDHDR + commentLength <= tail.limit()) {
+					return pos;
+				}
+			}
+		}
+		throw new ZipException("zip END header not found");
+	}
+
+	private static boolean nameEquals(ByteBuffer cen, int namePos, int nameLength, byte[] name) {
+		if (nameLength != name.length) {
+			return false;
+		}
+		for (int i = 0; i < nameLength; i++) {
+			if (cen.get(namePos + i) != name[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 将DOS时间转换为Java时间（使用系统默认时区，与 {@link ZipEntry#getTime()} 一致）
+	 */
+	private static long dosToJavaTime(long dosTime) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set((int)(((dosTime >> 25) & 0x7f) + 1980),
+				(int)(((dosTime >> 21) & 0x0f) - 1),
+				(int)((dosTime >> 16) & 0x1f),
+				(int)((dosTime >> 11) & 0x1f),
+				(int)((dosTime >> 5) & 0x3f),
+				(int)((dosTime << 1) & 0x3e));
+		return calendar.getTimeInMillis();
+	}
+
+	/**
+	 * 读取文件的指定区域：较大的区域使用内存映射，较小的区域直接读入内存
+	 * （内存映射在GC之前不会被释放，在Windows中还会锁定文件，所以只用于大型JAR的中央目录）
+	 */
+	private static ByteBuffer map(FileChannel channel, long position, int size) throws IOException {
+		if (position < 0 || position + size > channel.size()) {
+			throw new ZipException("invalid zip file (bad offset)");
+		}
+
+		ByteBuffer buffer;
+		if (size >= MMAP_MIN_SIZE) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+		} else {
+			buffer = ByteBuffer.allocate(size);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, position + buffer.position()) == -1) {
+					throw new ZipException("invalid zip file (unexpected end)");
+				}
+			}
+			// 转为 Buffer 再调用：JDK9+ 中 ByteBuffer 覆写了 flip() 并返回 ByteBuffer，直接调用编译出的字节码在 Java 8 上会抛出 NoSuchMethodError
+			((Buffer) buffer).flip();
+		}
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		return buffer;
+	}
+
+
+	//region Getter
+
+	int getEntryCount() {
+		return entryCount;
+	}
+
+	long getMaxTime() {
+		return maxTime;
+	}
+
+	long getManifestTime() {
+		return manifestTime;
+	}
+
+	@Nullable
+	byte[] getManifestData() {
+		return manifestData;
+	}
+
+	//endregion
+}
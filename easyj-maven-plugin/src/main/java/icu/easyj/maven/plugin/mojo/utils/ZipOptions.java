@@ -0,0 +1,243 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * ZIP压缩选项
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class ZipOptions {
+
+	/**
+	 * 已压缩过的文件的扩展名，再次压缩几乎不能减小文件大小，只会浪费CPU
+	 */
+	public static final Set<String> COMPRESSED_FILE_EXTENSIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			// 压缩包
+			"jar", "war", "ear", "zip", "gz", "tgz", "bz2", "xz", "7z", "rar",
+			// 图片
+			"png", "jpg", "jpeg", "gif", "webp", "ico",
+			// 字体、音视频
+			"woff", "woff2", "mp3", "mp4"
+	)));
+
+	/**
+	 * 使用缓存的最小文件大小，更小的文件压缩很快，缓存反而会产生大量的小文件
+	 */
+	public static final long CACHE_MIN_FILE_SIZE = 16 * 1024;
+
+	/**
+	 * 可复现模式下，未配置 {@link #outputTimestamp} 时，条目使用的修改时间：1980-01-01T00:00:02Z（DOS时间能表示的最早时间）
+	 */
+	public static final long REPRODUCIBLE_DEFAULT_TIME = 315532802000L;
+
+
+	/**
+	 * 压缩级别：0~9，-1为默认级别。为0时，所有文件都不压缩（STORED）。
+	 */
+	private int level = Deflater.DEFAULT_COMPRESSION;
+
+	/**
+	 * 已压缩过的文件（见 {@link #COMPRESSED_FILE_EXTENSIONS}），是否不再压缩（STORED）
+	 */
+	private boolean storeCompressedFiles = false;
+
+	/**
+	 * 压缩线程数：为1时，单线程压缩；小于等于0时，取CPU核数
+	 */
+	private int threads = 1;
+
+	/**
+	 * 压缩后的条目数据的缓存：不为空时，不小于 {@link #CACHE_MIN_FILE_SIZE} 的文件压缩后的数据存放在缓存中，
+	 * 其他模块或后续构建可直接复用，不需要再次压缩
+	 */
+	private CompressedEntryCache entryCache;
+
+	/**
+	 * 是否输出可复现的ZIP：条目按名称排序，修改时间统一为 {@link #outputTimestamp}，文件权限固定，且不写入扩展字段。
+	 * 相同的输入总是输出完全相同的字节，与构建所在的机器、时区、文件的修改时间及压缩线程数都无关。
+	 */
+	private boolean reproducible = false;
+
+	/**
+	 * 可复现模式下，所有条目的修改时间（毫秒），小于0时，使用 {@link #REPRODUCIBLE_DEFAULT_TIME}
+	 */
+	private long outputTimestamp = -1;
+
+	/**
+	 * 构建指标：不为空时，记录压缩的文件数、读写的字节数及缓存命中数
+	 */
+	private BuildMetrics.Phase metrics;
+
+	/**
+	 * 大文件压缩后的数据的临时文件的目录，写入ZIP后即删除。为空时，使用系统的临时目录
+	 */
+	private File tempDirectory;
+
+
+	/**
+	 * 判断文件是否不需要压缩（STORED）
+	 *
+	 * @param file 文件
+	 * @return true=不压缩 | false=压缩
+	 */
+	public boolean isStored(File file) {
+		if (this.level == Deflater.NO_COMPRESSION) {
+			return true;
+		}
+
+		if (this.storeCompressedFiles) {
+			String fileName = file.getName();
+			int idx = fileName.lastIndexOf('.');
+			return idx >= 0 && COMPRESSED_FILE_EXTENSIONS.contains(fileName.substring(idx + 1).toLowerCase());
+		}
+
+		return false;
+	}
+
+	/**
+	 * 获取条目的修改时间
+	 *
+	 * @param file 文件，为 null 时，表示目录
+	 * @return 修改时间
+	 */
+	public long getEntryTime(File file) {
+		if (this.reproducible) {
+			return this.outputTimestamp >= 0 ? this.outputTimestamp : REPRODUCIBLE_DEFAULT_TIME;
+		}
+		return file != null ? IOUtils.getFileLastModified(file) : System.currentTimeMillis();
+	}
+
+	/**
+	 * 获取文件可使用的缓存
+	 *
+	 * @param file 文件
+	 * @return 缓存，为 null 时，表示不使用缓存
+	 */
+	public CompressedEntryCache getEntryCache(File file) {
+		if (this.entryCache == null || file.length() < CACHE_MIN_FILE_SIZE) {
+			return null;
+		}
+		return this.entryCache;
+	}
+
+
+	/**
+	 * 解析 'project.build.outputTimestamp' 的值，规则与Maven一致：
+	 * 为空或只有一个字符时（如：'a'），表示未配置；为整数时，表示从1970年开始的秒数；否则为ISO-8601格式的时间，如：'2023-01-01T00:00:00Z'。
+	 *
+	 * @param outputTimestamp 'project.build.outputTimestamp' 的值
+	 * @return 时间（毫秒），未配置时，返回-1
+	 */
+	public static long parseOutputTimestamp(String outputTimestamp) {
+		if (outputTimestamp == null || outputTimestamp.trim().length() < 2) {
+			return -1;
+		}
+
+		outputTimestamp = outputTimestamp.trim();
+		try {
+			if (outputTimestamp.chars().allMatch(Character::isDigit)) {
+				return Long.parseLong(outputTimestamp) * 1000;
+			}
+			return OffsetDateTime.parse(outputTimestamp, DateTimeFormatter.ISO_OFFSET_DATE_TIME).toInstant().toEpochMilli();
+		} catch (NumberFormatException | DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid project.build.outputTimestamp value: " + outputTimestamp, e);
+		}
+	}
+
+
+	//region Getter、Setter
+
+	public int getLevel() {
+		return level;
+	}
+
+	public void setLevel(int level) {
+		if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+			throw new IllegalArgumentException("Invalid compression level: " + level + ", it must be between -1 and 9.");
+		}
+		this.level = level;
+	}
+
+	public boolean isStoreCompressedFiles() {
+		return storeCompressedFiles;
+	}
+
+	public void setStoreCompressedFiles(boolean storeCompressedFiles) {
+		this.storeCompressedFiles = storeCompressedFiles;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	public boolean isReproducible() {
+		return reproducible;
+	}
+
+	public void setReproducible(boolean reproducible) {
+		this.reproducible = reproducible;
+	}
+
+	public long getOutputTimestamp() {
+		return outputTimestamp;
+	}
+
+	public void setOutputTimestamp(long outputTimestamp) {
+		this.outputTimestamp = outputTimestamp;
+	}
+
+	public CompressedEntryCache getEntryCache() {
+		return entryCache;
+	}
+
+	public void setEntryCache(CompressedEntryCache entryCache) {
+		this.entryCache = entryCache;
+	}
+
+	public BuildMetrics.Phase getMetrics() {
+		return metrics;
+	}
+
+	public void setMetrics(BuildMetrics.Phase metrics) {
+		this.metrics = metrics;
+	}
+
+	public File getTempDirectory() {
+		return tempDirectory;
+	}
+
+	public void setTempDirectory(File tempDirectory) {
+		this.tempDirectory = tempDirectory;
+	}
+
+	//endregion
+}
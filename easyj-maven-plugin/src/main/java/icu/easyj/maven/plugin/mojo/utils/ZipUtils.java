@@ -16,13 +16,18 @@
 package icu.easyj.maven.plugin.mojo.utils;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.file.attribute.FileTime;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.maven.artifact.Artifact;
 
@@ -34,7 +39,15 @@ import org.apache.maven.artifact.Artifact;
  */
 public abstract class ZipUtils {
 
-	private static final int BUFFER_SIZE = 2 * 1024;
+	/**
+	 * 多线程压缩时，不超过此大小的文件，压缩后的数据暂存于内存中；更大的文件，压缩后的数据暂存于临时文件中，避免占用过多内存
+	 */
+	private static final long PARALLEL_MAX_FILE_SIZE = 16 * 1024 * 1024;
+
+	/**
+	 * 多线程压缩时，暂存于内存中、等待写入的数据的最大总大小
+	 */
+	private static final long PARALLEL_MAX_PENDING_SIZE = 64 * 1024 * 1024;
 
 
 	/**
@@ -47,10 +60,25 @@ public abstract class ZipUtils {
 	 * @throws IOException 压缩失败会抛出运行时异常
 	 */
 	public static void toZip(String srcDir, OutputStream out, boolean keepDirStructure, String pathInZip) throws IOException {
-		try (ZipOutputStream zos = new ZipOutputStream(out)) {
-			File sourceFile = new File(srcDir);
-			compress(sourceFile, zos, sourceFile.getName(), keepDirStructure, handlePathInZip(pathInZip));
-		}
+		toZip(srcDir, out, keepDirStructure, pathInZip, new ZipOptions());
+	}
+
+	/**
+	 * 压缩成ZIP 方法1
+	 *
+	 * @param srcDir           压缩文件夹路径
+	 * @param out              压缩文件输出流
+	 * @param keepDirStructure 是否保留原来的目录结构
+	 * @param pathInZip        当 keepDirStructure = false时，所有文件在压缩包中存放的目录名
+	 * @param options          压缩选项
+	 * @throws IOException 压缩失败会抛出运行时异常
+	 * @since 1.1.6
+	 */
+	public static void toZip(String srcDir, OutputStream out, boolean keepDirStructure, String pathInZip, ZipOptions options) throws IOException {
+		File sourceFile = new File(srcDir);
+		List<ZipItem> items = new ArrayList<>();
+		collect(sourceFile, items, sourceFile.getName(), keepDirStructure, handlePathInZip(pathInZip));
+		write(items, out, options);
 	}
 
 	/**
@@ -63,11 +91,26 @@ public abstract class ZipUtils {
 	 * @throws IOException 压缩失败会抛出运行时异常
 	 */
 	public static void toZip(List<File> srcFiles, OutputStream out, boolean keepDirStructure, String pathInZip) throws IOException {
-		try (ZipOutputStream zos = new ZipOutputStream(out)) {
-			for (File srcFile : srcFiles) {
-				compress(srcFile, zos, srcFile.getName(), keepDirStructure, handlePathInZip(pathInZip));
-			}
+		toZip(srcFiles, out, keepDirStructure, pathInZip, new ZipOptions());
+	}
+
+	/**
+	 * 压缩成ZIP 方法2
+	 *
+	 * @param srcFiles         需要压缩的文件列表
+	 * @param out              压缩文件输出流
+	 * @param keepDirStructure 是否保留原来的目录结构
+	 * @param pathInZip        当 keepDirStructure = false时，所有文件在压缩包中存放的目录名
+	 * @param options          压缩选项
+	 * @throws IOException 压缩失败会抛出运行时异常
+	 * @since 1.1.6
+	 */
+	public static void toZip(List<File> srcFiles, OutputStream out, boolean keepDirStructure, String pathInZip, ZipOptions options) throws IOException {
+		List<ZipItem> items = new ArrayList<>();
+		for (File srcFile : srcFiles) {
+			collect(srcFile, items, srcFile.getName(), keepDirStructure, handlePathInZip(pathInZip));
 		}
+		write(items, out, options);
 	}
 
 	/**
@@ -80,48 +123,65 @@ public abstract class ZipUtils {
 	 * @throws IOException 压缩失败会抛出运行时异常
 	 */
 	public static void toZip3(List<Artifact> srcArtifacts, OutputStream out, boolean keepDirStructure, String pathInZip) throws IOException {
-		try (ZipOutputStream zos = new ZipOutputStream(out)) {
-			for (Artifact srcArtifact : srcArtifacts) {
-				compress(srcArtifact.getFile(), zos, srcArtifact.getFile().getName(), keepDirStructure, handlePathInZip(pathInZip));
-			}
+		toZip3(srcArtifacts, out, keepDirStructure, pathInZip, new ZipOptions());
+	}
+
+	/**
+	 * 压缩成ZIP 方法3
+	 *
+	 * @param srcArtifacts     需要压缩的构件列表
+	 * @param out              压缩文件输出流
+	 * @param keepDirStructure 是否保留原来的目录结构
+	 * @param pathInZip        当 keepDirStructure = false时，所有文件在压缩包中存放的目录名
+	 * @param options          压缩选项
+	 * @throws IOException 压缩失败会抛出运行时异常
+	 * @since 1.1.6
+	 */
+	public static void toZip3(List<Artifact> srcArtifacts, OutputStream out, boolean keepDirStructure, String pathInZip, ZipOptions options) throws IOException {
+		List<ZipItem> items = new ArrayList<>();
+		for (Artifact srcArtifact : srcArtifacts) {
+			collect(srcArtifact.getFile(), items, srcArtifact.getFile().getName(), keepDirStructure, handlePathInZip(pathInZip));
 		}
+		write(items, out, options);
 	}
 
 	/**
-	 * 递归压缩方法
+	 * 压缩成ZIP 方法4：由调用方指定每个文件在压缩包中的条目名
+	 *
+	 * @param entries 条目名与文件的映射，按其迭代顺序写入
+	 * @param out     压缩文件输出流
+	 * @param options 压缩选项
+	 * @throws IOException 压缩失败会抛出运行时异常
+	 * @since 1.1.6
+	 */
+	public static void toZip4(Map<String, File> entries, OutputStream out, ZipOptions options) throws IOException {
+		List<ZipItem> items = new ArrayList<>(entries.size());
+		for (Map.Entry<String, File> entry : entries.entrySet()) {
+			items.add(new ZipItem(entry.getKey(), entry.getValue()));
+		}
+		write(items, out, options);
+	}
+
+	/**
+	 * 递归收集需要压缩的条目
 	 *
 	 * @param sourceFile       源文件
-	 * @param zos              zip输出流
+	 * @param items            条目列表
 	 * @param name             压缩后的名称
 	 * @param keepDirStructure 是否保留原来的目录结构,true:保留目录结构;
 	 *                         false:所有文件跑到压缩包根目录下(注意：不保留目录结构可能会出现同名文件,会压缩失败)
 	 * @param pathInZip        当 keepDirStructure = false时，所有文件在压缩包中存放的目录名
-	 * @throws IOException IO异常
 	 */
-	private static void compress(File sourceFile, ZipOutputStream zos, String name, boolean keepDirStructure, String pathInZip) throws IOException {
-		byte[] buf = new byte[BUFFER_SIZE];
+	private static void collect(File sourceFile, List<ZipItem> items, String name, boolean keepDirStructure, String pathInZip) {
 		if (sourceFile.isFile()) {
-			// 向zip输出流中添加一个zip实体，构造器中name为zip实体的文件的名字
-			ZipEntry zipEntry = new ZipEntry(pathInZip + name);
-			zipEntry.setLastModifiedTime(FileTime.fromMillis(IOUtils.getFileLastModified(sourceFile)));
-			zos.putNextEntry(zipEntry);
-			// copy文件到zip输出流中
-			int len;
-			try (FileInputStream in = new FileInputStream(sourceFile)) {
-				while ((len = in.read(buf)) != -1) {
-					zos.write(buf, 0, len);
-				}
-				zos.closeEntry();
-			}
+			items.add(new ZipItem(pathInZip + name, sourceFile));
 		} else {
 			File[] listFiles = sourceFile.listFiles();
 			if (listFiles == null || listFiles.length == 0) {
 				// 需要保留原来的文件结构时,需要对空文件夹进行处理
 				if (keepDirStructure) {
 					// 空文件夹的处理
-					zos.putNextEntry(new ZipEntry(name + "/"));
-					// 没有文件，不需要文件的copy
-					zos.closeEntry();
+					items.add(new ZipItem(name + "/", null));
 				}
 			} else {
 				for (File file : listFiles) {
@@ -129,15 +189,172 @@ public abstract class ZipUtils {
 					if (keepDirStructure) {
 						// 注意：file.getName()前面需要带上父文件夹的名字加一斜杠,
 						// 不然最后压缩包中就不能保留原来的文件结构,即：所有文件都跑到压缩包根目录下了
-						compress(file, zos, name + "/" + file.getName(), keepDirStructure, null);
+						collect(file, items, name + "/" + file.getName(), keepDirStructure, "");
 					} else {
-						compress(file, zos, file.getName(), keepDirStructure, pathInZip);
+						collect(file, items, file.getName(), keepDirStructure, pathInZip);
 					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * 将条目写入ZIP。<br>
+	 * 多线程压缩时，条目在线程池中预先压缩，再由当前线程按原顺序写入，所以条目的顺序与内容都与单线程压缩时一致；
+	 * 可复现模式下，输出的字节也完全一致。
+	 *
+	 * @param items   条目列表
+	 * @param out     压缩文件输出流
+	 * @param options 压缩选项
+	 * @throws IOException IO异常
+	 */
+	private static void write(List<ZipItem> items, OutputStream out, ZipOptions options) throws IOException {
+		if (options.isReproducible()) {
+			items.sort(Comparator.comparing(item -> item.name));
+		}
+
+		ZipWriter zipWriter = new ZipWriter(out);
+		try {
+			zipWriter.setReproducible(options.isReproducible());
+			writeItems(zipWriter, items, options);
+		} finally {
+			zipWriter.close();
+		}
+
+		if (options.getMetrics() != null) {
+			options.getMetrics().addBytesWritten(zipWriter.getBytesWritten());
+		}
+	}
+
+	private static void writeItems(ZipWriter zipWriter, List<ZipItem> items, ZipOptions options) throws IOException {
+		int threads = ConcurrentUtils.getThreads(options.getThreads());
+		if (threads <= 1 || items.size() <= 1) {
+			for (ZipItem item : items) {
+				writeItem(zipWriter, item, null, options);
+			}
+			return;
+		}
+
+		ExecutorService executor = ConcurrentUtils.newThreadPool("easyj-zip-", threads);
+		Deque<ZipItem> pendingItems = new ArrayDeque<>();
+		try {
+			long pendingSize = 0;
+			for (ZipItem item : items) {
+				if (item.file != null) {
+					// 使用缓存时，压缩后的数据存放在缓存中；不压缩时，只计算CRC，数据在写入时直接从源文件中读取。所以都不占用内存
+					boolean inMemory = options.getEntryCache(item.file) == null && !options.isStored(item.file);
+					if (!inMemory) {
+						item.future = executor.submit(() -> compress(item.file, options));
+					} else if (item.file.length() <= PARALLEL_MAX_FILE_SIZE) {
+						item.future = executor.submit(() -> CompressedEntry.deflate(item.file, options.getLevel()));
+						item.pendingSize = item.file.length();
+						pendingSize += item.pendingSize;
+					} else {
+						// 大文件压缩到临时文件中，写入后删除
+						Path spillFile = createTempFile(options);
+						item.spillFile = spillFile;
+						item.future = executor.submit(() -> CompressedEntry.deflate(item.file, options.getLevel(), spillFile.toFile()));
+					}
+				}
+				pendingItems.add(item);
+
+				// 等待中的条目过多时，先写入最早的条目
+				while (pendingItems.size() > threads * 4 || pendingSize > PARALLEL_MAX_PENDING_SIZE) {
+					pendingSize -= writePendingItem(zipWriter, pendingItems.poll(), options);
+				}
+			}
+			while (!pendingItems.isEmpty()) {
+				writePendingItem(zipWriter, pendingItems.poll(), options);
+			}
+		} finally {
+			// 先等待所有任务结束，再删除临时文件，避免任务在删除后重新写入
+			ConcurrentUtils.shutdownAndAwait(executor);
+			// 压缩失败时，删除尚未写入的条目的临时文件
+			for (ZipItem item : pendingItems) {
+				if (item.spillFile != null) {
+					item.spillFile.toFile().delete();
+				}
+			}
+		}
+	}
+
+	private static long writePendingItem(ZipWriter zipWriter, ZipItem item, ZipOptions options) throws IOException {
+		try {
+			CompressedEntry compressedEntry = item.future != null ? ConcurrentUtils.get(item.future) : null;
+			writeItem(zipWriter, item, compressedEntry, options);
+			return item.pendingSize;
+		} finally {
+			if (item.spillFile != null) {
+				Files.deleteIfExists(item.spillFile);
+			}
+		}
+	}
+
+	private static void writeItem(ZipWriter zipWriter, ZipItem item, CompressedEntry compressedEntry, ZipOptions options) throws IOException {
+		long time = options.getEntryTime(item.file);
+		if (item.file == null) {
+			zipWriter.putDirectory(item.name, time);
+			return;
+		}
+
+		if (options.getMetrics() != null) {
+			options.getMetrics().addFiles(1);
+			options.getMetrics().addBytesRead(item.file.length());
+		}
+
+		if (compressedEntry != null) {
+			zipWriter.putEntry(item.name, time, compressedEntry);
+		} else if (options.isStored(item.file)) {
+			zipWriter.putEntry(item.name, time, CompressedEntry.store(item.file));
+		} else if (options.getEntryCache(item.file) != null) {
+			zipWriter.putEntry(item.name, time, options.getEntryCache(item.file).deflate(item.file, options.getLevel(), options.getMetrics()));
+		} else if (options.isReproducible()) {
+			// 可复现模式下，不以流的方式压缩（需要写入数据描述符），保证单线程与多线程压缩时输出的字节完全一致
+			writeDeflatedEntry(zipWriter, item, time, options);
+		} else {
+			zipWriter.putEntry(item.name, time, item.file, options.getLevel());
+		}
+	}
+
+	/**
+	 * 先压缩再写入条目：小文件压缩到内存中，大文件压缩到临时文件中，避免占用过多内存
+	 */
+	private static void writeDeflatedEntry(ZipWriter zipWriter, ZipItem item, long time, ZipOptions options) throws IOException {
+		if (item.file.length() <= PARALLEL_MAX_FILE_SIZE) {
+			zipWriter.putEntry(item.name, time, CompressedEntry.deflate(item.file, options.getLevel()));
+			return;
+		}
+
+		Path tempFile = createTempFile(options);
+		try {
+			zipWriter.putEntry(item.name, time, CompressedEntry.deflate(item.file, options.getLevel(), tempFile.toFile()));
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * 创建存放大文件压缩后的数据的临时文件，优先使用 {@link ZipOptions#getTempDirectory()}
+	 */
+	private static Path createTempFile(ZipOptions options) throws IOException {
+		File tempDirectory = options.getTempDirectory();
+		if (tempDirectory == null) {
+			return Files.createTempFile("easyj-zip-", ".tmp");
+		}
+		Files.createDirectories(tempDirectory.toPath());
+		return Files.createTempFile(tempDirectory.toPath(), ".easyj-zip-", ".tmp");
+	}
+
+	private static CompressedEntry compress(File file, ZipOptions options) throws IOException {
+		if (options.isStored(file)) {
+			return CompressedEntry.store(file);
+		} else if (options.getEntryCache(file) != null) {
+			return options.getEntryCache(file).deflate(file, options.getLevel(), options.getMetrics());
+		} else {
+			return CompressedEntry.deflate(file, options.getLevel());
+		}
+	}
+
 	private static String handlePathInZip(String pathInZip) {
 		if (ObjectUtils.isEmpty(pathInZip)) {
 			return "";
@@ -165,4 +382,41 @@ public abstract class ZipUtils {
 		FileOutputStream fos2 = new FileOutputStream("D:/lib-02.zip");
 		ZipUtils.toZip(fileList, fos2, false, "lib2");
 	}*/
+
+
+	/**
+	 * 需要压缩的条目
+	 */
+	private static class ZipItem {
+
+		/**
+		 * 条目名
+		 */
+		final String name;
+
+		/**
+		 * 源文件，为 null 时，表示空目录
+		 */
+		final File file;
+
+		/**
+		 * 多线程压缩时，预先压缩的结果
+		 */
+		Future<CompressedEntry> future;
+
+		/**
+		 * 多线程压缩时，预先压缩的结果暂存于内存中的大小（按压缩前的大小估算）
+		 */
+		long pendingSize;
+
+		/**
+		 * 多线程压缩时，暂存预先压缩的结果的临时文件，为 null 时，表示结果暂存于内存中或不需要暂存
+		 */
+		Path spillFile;
+
+		ZipItem(String name, File file) {
+			this.name = name;
+			this.file = file;
+		}
+	}
 }
@@ -0,0 +1,478 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * ZIP写入器。<br>
+ * 与 {@link java.util.zip.ZipOutputStream} 不同的是，它可以直接写入已压缩好的条目（见 {@link CompressedEntry}），
+ * 所以条目可以在其他线程中预先压缩，或从缓存中读取，而不需要再次压缩。<br>
+ * 支持ZIP64：单个条目或整个文件超过4GB、条目数量超过65535时，自动使用ZIP64格式。
+ *
+ * @author wangliang181230
+ * @since 1.1.6
+ */
+public class ZipWriter implements Closeable {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final long LOCSIG = 0x04034b50L;
+	private static final long EXTSIG = 0x08074b50L;
+	private static final long CENSIG = 0x02014b50L;
+	private static final long ENDSIG = 0x06054b50L;
+	private static final long ZIP64_ENDSIG = 0x06064b50L;
+	private static final long ZIP64_LOCSIG = 0x07064b50L;
+
+	private static final long ZIP64_MAGICVAL = 0xFFFFFFFFL;
+	private static final int ZIP64_MAGICCOUNT = 0xFFFF;
+
+	private static final int EXTID_ZIP64 = 0x0001;
+	private static final int EXTID_EXTT = 0x5455;
+
+	private static final int FLAG_DATA_DESCRIPTOR = 0x08;
+	private static final int FLAG_UTF8 = 0x800;
+
+	private static final int VERSION_STORED = 10;
+	private static final int VERSION_DEFLATED = 20;
+	private static final int VERSION_ZIP64 = 45;
+
+	/**
+	 * 'version made by' 的高字节：3=UNIX，表示外部属性的高16位为UNIX文件权限
+	 */
+	private static final int MADE_BY_UNIX = 3 << 8;
+
+	private static final int UNIX_FILE_MODE = 0100644;
+	private static final int UNIX_DIR_MODE = 040755;
+	private static final int DOS_DIR_ATTRIBUTE = 0x10;
+
+
+	private final CountingOutputStream out;
+
+	private final List<EntryInfo> entries = new ArrayList<>();
+
+	private final Set<String> names = new HashSet<>();
+
+	/**
+	 * 是否写入扩展时间戳（精确到秒的修改时间，与时区无关）
+	 */
+	private boolean extendedTimestamp = true;
+
+	/**
+	 * 是否输出可复现的内容：不写入扩展时间戳，DOS时间使用UTC时区（与构建时所在的时区无关），文件权限固定为 644，目录权限固定为 755
+	 */
+	private boolean reproducible = false;
+
+	private boolean closed = false;
+
+
+	public ZipWriter(OutputStream out) {
+		this.out = new CountingOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+	}
+
+
+	public void setExtendedTimestamp(boolean extendedTimestamp) {
+		this.extendedTimestamp = extendedTimestamp;
+	}
+
+	public void setReproducible(boolean reproducible) {
+		this.reproducible = reproducible;
+	}
+
+
+	/**
+	 * 写入目录条目
+	 *
+	 * @param name 条目名，以 '/' 结尾
+	 * @param time 修改时间
+	 * @throws IOException IO异常
+	 */
+	public void putDirectory(String name, long time) throws IOException {
+		EntryInfo entry = this.newEntry(name, time, ZipEntry.STORED);
+		entry.crc = 0;
+		entry.size = 0;
+		entry.compressedSize = 0;
+		this.writeLocalHeader(entry);
+	}
+
+	/**
+	 * 写入已压缩好的条目，不会再次压缩
+	 *
+	 * @param name            条目名
+	 * @param time            修改时间
+	 * @param compressedEntry 已压缩好的条目
+	 * @throws IOException IO异常
+	 */
+	public void putEntry(String name, long time, CompressedEntry compressedEntry) throws IOException {
+		EntryInfo entry = this.newEntry(name, time, compressedEntry.getMethod());
+		entry.crc = compressedEntry.getCrc();
+		entry.size = compressedEntry.getSize();
+		entry.compressedSize = compressedEntry.getCompressedSize();
+		this.writeLocalHeader(entry);
+
+		long start = this.out.getCount();
+		compressedEntry.writeTo(this.out);
+		if (this.out.getCount() - start != entry.compressedSize) {
+			throw new ZipException("The size of the compressed data is changed: " + name);
+		}
+	}
+
+	/**
+	 * 以流的方式压缩文件并写入条目，内存占用固定，不受文件大小影响
+	 *
+	 * @param name  条目名
+	 * @param time  修改时间
+	 * @param file  文件
+	 * @param level 压缩级别
+	 * @throws IOException IO异常
+	 */
+	public void putEntry(String name, long time, File file, int level) throws IOException {
+		EntryInfo entry = this.newEntry(name, time, ZipEntry.DEFLATED);
+		entry.flag |= FLAG_DATA_DESCRIPTOR;
+		this.writeLocalHeader(entry);
+
+		CRC32 crc = new CRC32();
+		Deflater deflater = new Deflater(level, true);
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			DeflaterOutputStream dos = new DeflaterOutputStream(new NonClosingOutputStream(this.out), deflater, BUFFER_SIZE);
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				crc.update(buffer, 0, len);
+				dos.write(buffer, 0, len);
+			}
+			dos.finish();
+
+			entry.crc = crc.getValue();
+			entry.size = deflater.getBytesRead();
+			entry.compressedSize = deflater.getBytesWritten();
+		} finally {
+			deflater.end();
+		}
+
+		// 数据描述符
+		this.writeInt(EXTSIG);
+		this.writeInt(entry.crc);
+		if (entry.size >= ZIP64_MAGICVAL || entry.compressedSize >= ZIP64_MAGICVAL) {
+			this.writeLong(entry.compressedSize);
+			this.writeLong(entry.size);
+		} else {
+			this.writeInt(entry.compressedSize);
+			this.writeInt(entry.size);
+		}
+	}
+
+	/**
+	 * @return 已写入的字节数，关闭后即为ZIP文件的大小
+	 */
+	public long getBytesWritten() {
+		return this.out.getCount();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+
+		try {
+			this.writeCentralDirectory();
+			this.out.flush();
+		} finally {
+			this.out.close();
+		}
+	}
+
+
+	//region Private
+
+	private EntryInfo newEntry(String name, long time, int method) throws IOException {
+		if (this.closed) {
+			throw new IOException("The ZipWriter is closed.");
+		}
+		if (!this.names.add(name)) {
+			throw new ZipException("duplicate entry: " + name);
+		}
+
+		EntryInfo entry = new EntryInfo();
+		entry.name = name.getBytes(StandardCharsets.UTF_8);
+		entry.method = method;
+		entry.flag = FLAG_UTF8;
+		entry.dosTime = javaToDosTime(time, this.reproducible ? ZoneOffset.UTC : ZoneId.systemDefault());
+		entry.extendedTime = this.extendedTimestamp && !this.reproducible ? time / 1000 : -1;
+		if (entry.extendedTime > Integer.MAX_VALUE || entry.extendedTime < 0) {
+			entry.extendedTime = -1;
+		}
+		entry.offset = this.out.getCount();
+		this.entries.add(entry);
+		return entry;
+	}
+
+	private void writeLocalHeader(EntryInfo entry) throws IOException {
+		boolean dataDescriptor = (entry.flag & FLAG_DATA_DESCRIPTOR) != 0;
+		boolean zip64 = !dataDescriptor && (entry.size >= ZIP64_MAGICVAL || entry.compressedSize >= ZIP64_MAGICVAL);
+
+		int extraLength = (zip64 ? 20 : 0) + (entry.extendedTime >= 0 ? 9 : 0);
+
+		this.writeInt(LOCSIG);
+		this.writeShort(zip64 ? VERSION_ZIP64 : getVersion(entry));
+		this.writeShort(entry.flag);
+		this.writeShort(entry.method);
+		this.writeInt(entry.dosTime);
+		if (dataDescriptor) {
+			this.writeInt(0);
+			this.writeInt(0);
+			this.writeInt(0);
+		} else {
+			this.writeInt(entry.crc);
+			this.writeInt(zip64 ? ZIP64_MAGICVAL : entry.compressedSize);
+			this.writeInt(zip64 ? ZIP64_MAGICVAL : entry.size);
+		}
+		this.writeShort(entry.name.length);
+		this.writeShort(extraLength);
+		this.out.write(entry.name);
+		if (zip64) {
+			this.writeShort(EXTID_ZIP64);
+			this.writeShort(16);
+			this.writeLong(entry.size);
+			this.writeLong(entry.compressedSize);
+		}
+		this.writeExtendedTimestamp(entry);
+	}
+
+	private void writeCentralDirectory() throws IOException {
+		long cenOffset = this.out.getCount();
+		for (EntryInfo entry : this.entries) {
+			this.writeCentralHeader(entry);
+		}
+		long cenLength = this.out.getCount() - cenOffset;
+		int count = this.entries.size();
+
+		if (count >= ZIP64_MAGICCOUNT || cenOffset >= ZIP64_MAGICVAL || cenLength >= ZIP64_MAGICVAL) {
+			long zip64EndOffset = this.out.getCount();
+
+			// ZIP64 end of central directory record
+			this.writeInt(ZIP64_ENDSIG);
+			this.writeLong(44);
+			this.writeShort(VERSION_ZIP64);
+			this.writeShort(VERSION_ZIP64);
+			this.writeInt(0);
+			this.writeInt(0);
+			this.writeLong(count);
+			this.writeLong(count);
+			this.writeLong(cenLength);
+			this.writeLong(cenOffset);
+
+			// ZIP64 end of central directory locator
+			this.writeInt(ZIP64_LOCSIG);
+			this.writeInt(0);
+			this.writeLong(zip64EndOffset);
+			this.writeInt(1);
+		}
+
+		// end of central directory record
+		this.writeInt(ENDSIG);
+		this.writeShort(0);
+		this.writeShort(0);
+		this.writeShort(Math.min(count, ZIP64_MAGICCOUNT));
+		this.writeShort(Math.min(count, ZIP64_MAGICCOUNT));
+		this.writeInt(Math.min(cenLength, ZIP64_MAGICVAL));
+		this.writeInt(Math.min(cenOffset, ZIP64_MAGICVAL));
+		this.writeShort(0);
+	}
+
+	private void writeCentralHeader(EntryInfo entry) throws IOException {
+		boolean zip64Size = entry.size >= ZIP64_MAGICVAL;
+		boolean zip64CompressedSize = entry.compressedSize >= ZIP64_MAGICVAL;
+		boolean zip64Offset = entry.offset >= ZIP64_MAGICVAL;
+		int zip64Length = (zip64Size ? 8 : 0) + (zip64CompressedSize ? 8 : 0) + (zip64Offset ? 8 : 0);
+		int version = zip64Length > 0 ? VERSION_ZIP64 : getVersion(entry);
+
+		this.writeInt(CENSIG);
+		this.writeShort(this.reproducible ? MADE_BY_UNIX | version : version); // version made by
+		this.writeShort(version); // version needed to extract
+		this.writeShort(entry.flag);
+		this.writeShort(entry.method);
+		this.writeInt(entry.dosTime);
+		this.writeInt(entry.crc);
+		this.writeInt(zip64CompressedSize ? ZIP64_MAGICVAL : entry.compressedSize);
+		this.writeInt(zip64Size ? ZIP64_MAGICVAL : entry.size);
+		this.writeShort(entry.name.length);
+		this.writeShort((zip64Length > 0 ? 4 + zip64Length : 0) + (entry.extendedTime >= 0 ? 9 : 0));
+		this.writeShort(0); // comment length
+		this.writeShort(0); // disk number start
+		this.writeShort(0); // internal file attributes
+		this.writeInt(this.reproducible ? getUnixAttributes(entry) : 0); // external file attributes
+		this.writeInt(zip64Offset ? ZIP64_MAGICVAL : entry.offset);
+		this.out.write(entry.name);
+		if (zip64Length > 0) {
+			this.writeShort(EXTID_ZIP64);
+			this.writeShort(zip64Length);
+			if (zip64Size) {
+				this.writeLong(entry.size);
+			}
+			if (zip64CompressedSize) {
+				this.writeLong(entry.compressedSize);
+			}
+			if (zip64Offset) {
+				this.writeLong(entry.offset);
+			}
+		}
+		this.writeExtendedTimestamp(entry);
+	}
+
+	private void writeExtendedTimestamp(EntryInfo entry) throws IOException {
+		if (entry.extendedTime >= 0) {
+			this.writeShort(EXTID_EXTT);
+			this.writeShort(5);
+			this.out.write(0x1); // 只有修改时间
+			this.writeInt(entry.extendedTime);
+		}
+	}
+
+	private static long getUnixAttributes(EntryInfo entry) {
+		boolean directory = entry.name.length > 0 && entry.name[entry.name.length - 1] == '/';
+		return directory ? ((long)UNIX_DIR_MODE << 16) | DOS_DIR_ATTRIBUTE : (long)UNIX_FILE_MODE << 16;
+	}
+
+	private static int getVersion(EntryInfo entry) {
+		return entry.method == ZipEntry.DEFLATED || (entry.flag & FLAG_DATA_DESCRIPTOR) != 0 ? VERSION_DEFLATED : VERSION_STORED;
+	}
+
+	/**
+	 * 将Java时间转换为DOS时间（使用系统默认时区时，与 {@link ZipEntry#setTime(long)} 一致）
+	 *
+	 * @param time   Java时间
+	 * @param zoneId 时区
+	 * @return DOS时间
+	 */
+	static long javaToDosTime(long time, ZoneId zoneId) {
+		LocalDateTime ldt = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), zoneId);
+		int year = ldt.getYear();
+		if (year < 1980) {
+			return (1 << 21) | (1 << 16);
+		}
+		if (year > 2107) {
+			year = 2107;
+		}
+		return ((long)(year - 1980) << 25)
+				| (ldt.getMonthValue() << 21)
+				| (ldt.getDayOfMonth() << 16)
+				| (ldt.getHour() << 11)
+				| (ldt.getMinute() << 5)
+				| (ldt.getSecond() >> 1);
+	}
+
+	private void writeShort(int v) throws IOException {
+		this.out.write(v & 0xff);
+		this.out.write((v >>> 8) & 0xff);
+	}
+
+	private void writeInt(long v) throws IOException {
+		this.out.write((int)(v & 0xff));
+		this.out.write((int)((v >>> 8) & 0xff));
+		this.out.write((int)((v >>> 16) & 0xff));
+		this.out.write((int)((v >>> 24) & 0xff));
+	}
+
+	private void writeLong(long v) throws IOException {
+		this.writeInt(v & 0xFFFFFFFFL);
+		this.writeInt(v >>> 32);
+	}
+
+	//endregion
+
+
+	//region Inner classes
+
+	private static class EntryInfo {
+		byte[] name;
+		int method;
+		int flag;
+		long dosTime;
+		long extendedTime;
+		long crc;
+		long size;
+		long compressedSize;
+		long offset;
+	}
+
+	private static class CountingOutputStream extends FilterOutputStream {
+
+		private long count = 0;
+
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+
+		long getCount() {
+			return count;
+		}
+	}
+
+	private static class NonClosingOutputStream extends FilterOutputStream {
+
+		NonClosingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void close() {
+			// 不关闭被包装的流
+		}
+	}
+
+	//endregion
+}
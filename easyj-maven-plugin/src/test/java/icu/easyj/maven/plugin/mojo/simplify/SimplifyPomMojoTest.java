@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.simplify;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link SimplifyPomMojo} 测试类
+ *
+ * @author wangliang181230
+ */
+public class SimplifyPomMojoTest {
+
+	@Test
+	public void testIncremental(@TempDir Path tempDir) throws Exception {
+		MavenProject parent = createProject(tempDir.resolve("parent.xml"), "easyj-parent", "1.0.0", null);
+		MavenProject project = createProject(tempDir.resolve("pom.xml"), "easyj-test", "1.0.0", parent);
+
+		SimplifyPomMojo mojo = new SimplifyPomMojo();
+		setField(mojo, "project", project);
+		setField(mojo, "incremental", true);
+		setField(mojo, "simplifyMode", "noop");
+		setField(mojo, "outputDirectory", tempDir.toFile());
+		mojo.simplifiedPomFileName = ".simplified-pom.xml";
+		File simplifiedPomFile = mojo.getSimplifiedPomFile();
+
+		// 首次执行：简化，并写入指纹
+		mojo.execute();
+		Assertions.assertTrue(simplifiedPomFile.isFile());
+		Assertions.assertTrue(mojo.getFingerprintFile().isFile());
+		Assertions.assertTrue(mojo.isUpToDate(mojo.computeFingerprint(), simplifiedPomFile));
+
+		// 输入未变化：跳过简化，且 'project.originalModel' 为已有的简化后的POM
+		Model originalModel = project.getOriginalModel();
+		mojo.execute();
+		Assertions.assertNotSame(originalModel, project.getOriginalModel());
+		Assertions.assertEquals("easyj-test", project.getOriginalModel().getArtifactId());
+		Assertions.assertEquals(originalModel.getPomFile(), project.getOriginalModel().getPomFile());
+
+		// 有效版本变化（如：-Drevision=2.0.0），POM文件的内容不变
+		project.getModel().setVersion("2.0.0");
+		Assertions.assertFalse(mojo.isUpToDate(mojo.computeFingerprint(), simplifiedPomFile));
+		project.getModel().setVersion("1.0.0");
+		Assertions.assertTrue(mojo.isUpToDate(mojo.computeFingerprint(), simplifiedPomFile));
+
+		// 有效打包类型变化
+		project.getModel().setPackaging("jar");
+		Assertions.assertFalse(mojo.isUpToDate(mojo.computeFingerprint(), simplifiedPomFile));
+		project.getModel().setPackaging("pom");
+
+		// 父POM的有效版本变化
+		parent.getModel().setVersion("2.0.0");
+		Assertions.assertFalse(mojo.isUpToDate(mojo.computeFingerprint(), simplifiedPomFile));
+		parent.getModel().setVersion("1.0.0");
+
+		// 简化后的POM被修改
+		Files.write(simplifiedPomFile.toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+		Assertions.assertFalse(mojo.isUpToDate(mojo.computeFingerprint(), simplifiedPomFile));
+	}
+
+	private static MavenProject createProject(Path pomPath, String artifactId, String version, MavenProject parent) throws IOException {
+		Files.write(pomPath, ("<project><artifactId>" + artifactId + "</artifactId></project>").getBytes(StandardCharsets.UTF_8));
+
+		Model model = new Model();
+		model.setModelVersion("4.0.0");
+		model.setGroupId("icu.easyj.test");
+		model.setArtifactId(artifactId);
+		model.setVersion(version);
+		model.setPackaging("pom");
+		model.setPomFile(pomPath.toFile());
+		MavenProject project = new MavenProject(model);
+		project.setOriginalModel(model.clone());
+		project.setFile(pomPath.toFile());
+		project.setParent(parent);
+		return project;
+	}
+
+	private static void setField(Object target, String name, Object value) throws ReflectiveOperationException {
+		for (Class<?> clazz = target.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+			try {
+				Field field = clazz.getDeclaredField(name);
+				field.setAccessible(true);
+				field.set(target, value);
+				return;
+			} catch (NoSuchFieldException ignored) {
+				// 在父类中查找
+			}
+		}
+		throw new NoSuchFieldException(name);
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.simplify.simplifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import icu.easyj.maven.plugin.mojo.simplify.SimplifyPomMojoConfig;
+import icu.easyj.maven.plugin.mojo.simplify.simplifier.jar.JarPomSimplifier;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link AbstractPomSimplifier} 测试类
+ *
+ * @author wangliang181230
+ */
+public class AbstractPomSimplifierTest {
+
+	@Test
+	public void testResetDependencies() {
+		Model originalModel = new Model();
+		originalModel.setGroupId("icu.easyj.test");
+		originalModel.setArtifactId("easyj-test");
+		originalModel.setVersion("1.0.0");
+		originalModel.addProperty("easyj.groupId", "icu.easyj");
+		originalModel.setDependencies(new ArrayList<>(Arrays.asList(
+				createDependency("${easyj.groupId}", "a", null, null, null),
+				createDependency("icu.easyj", "a", null, null, null),
+				createDependency("icu.easyj", "b", null, null, null),
+				createDependency("icu.easyj", "c", null, "tests", null),
+				createDependency("icu.easyj", "c", null, null, null)
+		)));
+
+		Model model = originalModel.clone();
+		model.setDependencies(Arrays.asList(
+				createDependency("icu.easyj", "a", "1.0.1", null, "compile"),
+				createDependency("icu.easyj", "b", "1.0.2", null, "provided"),
+				createDependency("icu.easyj", "c", "1.0.3", "tests", "test"),
+				createDependency("icu.easyj", "c", "1.0.3", null, "runtime"),
+				createDependency("icu.easyj", "d", "1.0.4", null, "compile"),
+				createDependency("icu.easyj", "e", "1.0.5", null, "test")
+		));
+
+		MavenProject project = new MavenProject(model);
+		project.setOriginalModel(originalModel);
+		List<String> logs = new ArrayList<>();
+		new JarPomSimplifier(project, new TestConfig(), new TestLog(logs)).resetDependencies();
+
+		Assertions.assertEquals(Arrays.asList("[icu.easyj:a:1.0.1]", "[icu.easyj:c:1.0.3:runtime]", "[icu.easyj:d:1.0.4]"),
+				originalModel.getDependencies().stream().map(AbstractPomSimplifierTest::toString).collect(Collectors.toList()));
+		Assertions.assertEquals(Arrays.asList(
+				"  Reset dependency: [${easyj.groupId}:a:null] -> [icu.easyj:a:1.0.1]",
+				"  Remove duple dependency: [icu.easyj:a:null]",
+				"  Remove dependency by scope=provided: [icu.easyj:b:1.0.2:provided]",
+				"  Remove dependency by scope=test: [icu.easyj:c:1.0.3:tests:test]",
+				"  Reset dependency: [icu.easyj:c:null] -> [icu.easyj:c:1.0.3:runtime]",
+				"  Add dependency: [icu.easyj:d:1.0.4]",
+				"Remaining 3 dependencies."
+		), logs.stream().filter(log -> log.startsWith("  ") || log.startsWith("Remaining")).collect(Collectors.toList()));
+	}
+
+	private static Dependency createDependency(String groupId, String artifactId, String version, String classifier, String scope) {
+		Dependency dependency = new Dependency();
+		dependency.setGroupId(groupId);
+		dependency.setArtifactId(artifactId);
+		dependency.setVersion(version);
+		dependency.setClassifier(classifier);
+		dependency.setScope(scope);
+		return dependency;
+	}
+
+	private static String toString(Dependency dependency) {
+		return "[" + dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + dependency.getVersion()
+				+ (dependency.getScope() == null ? "" : ":" + dependency.getScope()) + "]";
+	}
+
+
+	private static class TestConfig extends SimplifyPomMojoConfig {
+
+		TestConfig() {
+			super(null);
+		}
+
+		@Override
+		public boolean isKeepProvidedDependencies() {
+			return false;
+		}
+
+		@Override
+		public boolean isKeepOptionalDependencies() {
+			return false;
+		}
+
+		@Override
+		public boolean isKeepTestDependencies() {
+			return false;
+		}
+
+		@Override
+		public boolean isExcludeDependency(Dependency dependency) {
+			return false;
+		}
+	}
+
+	private static class TestLog extends SystemStreamLog {
+
+		private final List<String> logs;
+
+		TestLog(List<String> logs) {
+			this.logs = logs;
+		}
+
+		@Override
+		public void info(CharSequence content) {
+			this.logs.add(content.toString());
+		}
+	}
+}
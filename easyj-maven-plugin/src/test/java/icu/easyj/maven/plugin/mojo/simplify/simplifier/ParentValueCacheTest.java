@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.simplify.simplifier;
+
+import java.util.Collections;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.License;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ParentValueCache} 测试类
+ *
+ * @author wangliang181230
+ */
+public class ParentValueCacheTest {
+
+	@Test
+	public void testFindParentValue() {
+		License license = new License();
+		license.setName("Apache License, Version 2.0");
+		MavenProject grandParent = createProject("grand-parent");
+		grandParent.getOriginalModel().setUrl("https://easyj.icu");
+		grandParent.getOriginalModel().setLicenses(Collections.singletonList(license));
+		MavenProject parent = createProject("parent");
+		parent.getOriginalModel().setUrl("https://easyj.icu/parent");
+		parent.setParent(grandParent);
+
+		ParentValueCache cache = ParentValueCache.of(null);
+		ParentValueCache.ModelItem url = ParentValueCache.getItem("url");
+		ParentValueCache.ModelItem licenses = ParentValueCache.getItem("Licenses");
+		Assertions.assertEquals("Url", url.getName());
+		Assertions.assertEquals("https://easyj.icu/parent", cache.findParentValue(parent, url));
+		Assertions.assertEquals(Collections.singletonList(license), cache.findParentValue(parent, licenses));
+		Assertions.assertNull(cache.findParentValue(parent, ParentValueCache.getItem("Scm")));
+		Assertions.assertNull(cache.findParentValue(null, url));
+
+		// 同一个父POM，使用缓存中的值
+		parent.getOriginalModel().setUrl("https://easyj.icu/changed");
+		Assertions.assertEquals("https://easyj.icu/parent", cache.findParentValue(parent, url));
+
+		// 新的构建，不使用上次构建缓存的值（包括祖先POM中的值）
+		grandParent.getOriginalModel().setLicenses(Collections.emptyList());
+		ParentValueCache newCache = ParentValueCache.of(null);
+		Assertions.assertEquals("https://easyj.icu/changed", newCache.findParentValue(parent, url));
+		Assertions.assertNull(newCache.findParentValue(parent, licenses));
+
+		Model model = new Model();
+		licenses.set(model, cache.findParentValue(parent, licenses));
+		Assertions.assertEquals(1, model.getLicenses().size());
+	}
+
+	@Test
+	public void testOfSession() {
+		MavenSession session1 = createSession();
+		MavenSession session2 = createSession();
+		Assertions.assertSame(ParentValueCache.of(session1), ParentValueCache.of(session1));
+		Assertions.assertNotSame(ParentValueCache.of(session1), ParentValueCache.of(session2));
+		Assertions.assertNotSame(ParentValueCache.of(null), ParentValueCache.of(null));
+	}
+
+	@Test
+	public void testGetItem() {
+		// 未预先注册的配置项，通过反射解析
+		ParentValueCache.ModelItem description = ParentValueCache.getItem("description");
+		Model model = new Model();
+		description.set(model, "easyj");
+		Assertions.assertEquals("easyj", description.get(model));
+		Assertions.assertSame(description, ParentValueCache.getItem("Description"));
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ParentValueCache.getItem("notExists"));
+	}
+
+	@SuppressWarnings("deprecation")
+	private static MavenSession createSession() {
+		return new MavenSession(null, null, new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+	}
+
+	private static MavenProject createProject(String artifactId) {
+		Model model = new Model();
+		model.setGroupId("icu.easyj.test");
+		model.setArtifactId(artifactId);
+		model.setVersion("1.0.0");
+		MavenProject project = new MavenProject(model);
+		project.setOriginalModel(model);
+		return project;
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.simplify.simplifier;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link PropertyInterpolator} 测试类
+ *
+ * @author wangliang181230
+ */
+public class PropertyInterpolatorTest {
+
+	@Test
+	public void testInterpolate() {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("a", "1");
+		properties.put("b", " 2 ");
+		properties.put("c", "${a}.${b}");
+		properties.put("name", "a");
+		properties.put("loop1", "x${loop2}");
+		properties.put("loop2", "y${loop1}");
+		properties.put("self", "${self}");
+
+		AtomicInteger lookups = new AtomicInteger();
+		PropertyInterpolator interpolator = new PropertyInterpolator(key -> {
+			lookups.incrementAndGet();
+			return properties.get(key);
+		});
+
+		Assertions.assertNull(interpolator.interpolate(null));
+		Assertions.assertEquals("", interpolator.interpolate(""));
+		Assertions.assertEquals("abc", interpolator.interpolate("abc"));
+
+		// 相邻的变量
+		Assertions.assertEquals("12", interpolator.interpolate("${a}${b}"));
+		// 属性值中引用的变量
+		Assertions.assertEquals("v1.2-SNAPSHOT", interpolator.interpolate("v${c}-SNAPSHOT"));
+		// 嵌套的变量
+		Assertions.assertEquals("[1]", interpolator.interpolate("[${${name}}]"));
+		// 不存在的变量
+		Assertions.assertEquals("--", interpolator.interpolate("-${ none }-"));
+		// 没有闭合的变量
+		Assertions.assertEquals("1${a", interpolator.interpolate("${a}${a"));
+		Assertions.assertEquals("}1", interpolator.interpolate("}${a}"));
+
+		// 循环引用
+		Assertions.assertEquals("${self}", interpolator.interpolate("${self}"));
+		Assertions.assertEquals("xy${loop1}", interpolator.interpolate("${loop1}"));
+
+		// 属性值被缓存
+		int count = lookups.get();
+		Assertions.assertEquals("1.2", interpolator.interpolate("${c}"));
+		Assertions.assertEquals(count, lookups.get());
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.springboot;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import icu.easyj.maven.plugin.mojo.utils.PatternSet;
+import icu.easyj.maven.plugin.mojo.utils.ScopeFilter;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link LibArtifactClassifier} 测试类
+ *
+ * @author wangliang181230
+ */
+public class LibArtifactClassifierTest {
+
+	@Test
+	public void testClassify() {
+		Artifact core = createArtifact("icu.easyj", "easyj-core", "1.0.0", Artifact.SCOPE_COMPILE);
+		Artifact demo = createArtifact("com.example", "demo", "1.0.0-SNAPSHOT", Artifact.SCOPE_COMPILE);
+		Artifact testSnapshot = createArtifact("com.example.test", "test-snapshot", "1.0.0-SNAPSHOT", Artifact.SCOPE_TEST);
+		Artifact spring = createArtifact("org.springframework", "spring-core", "5.3.0", Artifact.SCOPE_COMPILE);
+		Artifact netty = createArtifact("io.netty", "netty-common", "4.1.0", Artifact.SCOPE_RUNTIME);
+		Artifact servlet = createArtifact("javax.servlet", "servlet-api", "4.0.0", Artifact.SCOPE_PROVIDED);
+		Artifact lombok = createArtifact("org.projectlombok", "lombok", "1.18.0", Artifact.SCOPE_COMPILE);
+		Artifact optional = createArtifact("com.optional", "optional", "1.0.0", Artifact.SCOPE_COMPILE);
+		optional.setOptional(true);
+		List<Artifact> artifacts = Arrays.asList(core, demo, testSnapshot, spring, netty, servlet, lombok, optional);
+
+		LibArtifactClassifier classifier = new LibArtifactClassifier(new TreeSet<>(Collections.singleton("icu.easyj")), true,
+				new ScopeFilter(Artifact.SCOPE_RUNTIME, null), art -> "lombok".equals(art.getArtifactId()), false,
+				new PatternSet(Collections.singleton("org.springframework:*")));
+		LibArtifactClassifier.Result result = classifier.classify(artifacts);
+
+		Assertions.assertEquals(Collections.singletonList(demo), result.getSnapshotArtifacts());
+		Assertions.assertEquals(new TreeSet<>(Arrays.asList("com.example", "icu.easyj")), result.getIncludeGroupIds());
+		Assertions.assertEquals(Arrays.asList(core, demo), result.getIncludedArtifacts());
+		Assertions.assertEquals(Collections.singletonList(netty), result.getLibArtifacts());
+		Assertions.assertEquals(Collections.singletonList(spring), result.getLibCommonArtifacts());
+
+		Assertions.assertEquals(LibArtifactClassifier.DropReason.SCOPE, result.getDroppedArtifacts().get(servlet));
+		Assertions.assertEquals(LibArtifactClassifier.DropReason.UNNECESSARY, result.getDroppedArtifacts().get(lombok));
+		Assertions.assertEquals(LibArtifactClassifier.DropReason.OPTIONAL, result.getDroppedArtifacts().get(optional));
+		Assertions.assertEquals(3, result.getDroppedArtifacts().size());
+		Assertions.assertEquals(5, result.getExcludedCount());
+
+		Set<String> expectedExcludeGroupIds = new TreeSet<>(Arrays.asList("com.optional", "io.netty", "javax.servlet", "org.projectlombok", "org.springframework"));
+		Assertions.assertEquals(expectedExcludeGroupIds, result.getExcludeGroupIds());
+	}
+
+	@Test
+	public void testNoIncludeGroupIds() {
+		Artifact spring = createArtifact("org.springframework", "spring-core", "5.3.0", Artifact.SCOPE_COMPILE);
+
+		LibArtifactClassifier classifier = new LibArtifactClassifier(new TreeSet<>(), true, new ScopeFilter(Artifact.SCOPE_RUNTIME, null),
+				art -> false, false, new PatternSet(null));
+		LibArtifactClassifier.Result result = classifier.classify(Collections.singletonList(spring));
+
+		Assertions.assertTrue(result.getIncludeGroupIds().isEmpty());
+		Assertions.assertTrue(result.getExcludeGroupIds().isEmpty());
+		Assertions.assertEquals(0, result.getExcludedCount());
+	}
+
+
+	private static Artifact createArtifact(String groupId, String artifactId, String version, String scope) {
+		return new DefaultArtifact(groupId, artifactId, version, scope, "jar", null, new DefaultArtifactHandler("jar"));
+	}
+}
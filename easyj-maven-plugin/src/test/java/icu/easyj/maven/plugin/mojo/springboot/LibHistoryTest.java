@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.springboot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link LibHistory} 测试类
+ *
+ * @author wangliang181230
+ */
+public class LibHistoryTest {
+
+	@Test
+	public void testReadOldFormat() throws IOException {
+		File file = new File(this.getClass().getClassLoader().getResource("origin_lib.history.md").getFile());
+		LibHistory history = LibHistory.read(file);
+
+		Assertions.assertNotNull(history);
+		Assertions.assertEquals(255, history.getRows().size());
+		LibHistory.Row row = history.getRows().get(0);
+		Assertions.assertEquals("amqp-client-5.9.0.jar", row.getFileName());
+		Assertions.assertEquals("com.rabbitmq", row.getGroupId());
+		Assertions.assertEquals("2020-04-14 12:14:18", row.getLastModified());
+		Assertions.assertEquals(644431, row.getSize());
+		Assertions.assertTrue(history.getHeaderTxt().contains("Created-On: 2022-07-29 15:35:15.057"));
+	}
+
+	@Test
+	public void testWriteReadAndDiff(@TempDir Path tempDir) throws IOException {
+		File jar1 = this.createJar(tempDir, "a-1.0.jar", 10);
+		File jar2 = this.createJar(tempDir, "b-1.0.jar", 2048);
+		LibHistory history = LibHistory.of(Arrays.asList(createArtifact("icu.easyj", jar1), createArtifact("icu.easyj.test", jar2)));
+
+		File historyFile = tempDir.resolve("lib.history.md").toFile();
+		history.write(historyFile, "test", 0L, "icu.easyj", "easyj-test", "1.0.0");
+		String txt = new String(Files.readAllBytes(historyFile.toPath()));
+		Assertions.assertTrue(txt.endsWith(" KB |"));
+		Assertions.assertTrue(txt.contains("Number of libs: 2"));
+
+		// 读取后比较，没有差异
+		LibHistory read = LibHistory.read(historyFile);
+		Assertions.assertEquals(history.getRows(), read.getRows());
+		Assertions.assertTrue(history.diff(read).isEmpty());
+
+		// 新增、删除、变更
+		File jar3 = this.createJar(tempDir, "c-1.0.jar", 10);
+		Files.write(jar2.toPath(), new byte[4096]);
+		LibHistory newHistory = LibHistory.of(Arrays.asList(createArtifact("icu.easyj.test", jar2), createArtifact("icu.easyj", jar3)));
+		LibHistory.Diff diff = newHistory.diff(read);
+		Assertions.assertEquals("c-1.0.jar", diff.getAdded().get(0).getFileName());
+		Assertions.assertEquals("a-1.0.jar", diff.getRemoved().get(0).getFileName());
+		List<LibHistory.Row[]> changed = diff.getChanged();
+		Assertions.assertEquals(1, changed.size());
+		Assertions.assertEquals(2048, changed.get(0)[0].getSize());
+		Assertions.assertEquals(4096, changed.get(0)[1].getSize());
+	}
+
+	@Test
+	public void testReadNotExists(@TempDir Path tempDir) throws IOException {
+		Assertions.assertNull(LibHistory.read(tempDir.resolve("not-exists.md").toFile()));
+	}
+
+
+	private File createJar(Path dir, String name, int size) throws IOException {
+		File file = dir.resolve(name).toFile();
+		Files.write(file.toPath(), new byte[size]);
+		return file;
+	}
+
+	private static Artifact createArtifact(String groupId, File file) {
+		Artifact artifact = new DefaultArtifact(groupId, file.getName(), "1.0", Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler("jar"));
+		artifact.setFile(file);
+		return artifact;
+	}
+}
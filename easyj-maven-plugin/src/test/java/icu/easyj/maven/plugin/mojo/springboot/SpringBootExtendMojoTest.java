@@ -15,9 +15,14 @@
  */
 package icu.easyj.maven.plugin.mojo.springboot;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
 import icu.easyj.maven.plugin.mojo.utils.IOUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * {@link SpringBootExtendMojo} 测试类
@@ -29,13 +34,22 @@ public class SpringBootExtendMojoTest {
 	private static final SpringBootExtendMojo mojo = new SpringBootExtendMojo();
 
 	@Test
-	public void testGetLibHistoryTableTxt() {
-		String libHistoryTxt = IOUtils.getInputStreamTxt(this.getClass().getResourceAsStream("/origin_lib.history.md"));
+	public void testReadLibHistoryTable() throws IOException {
+		File file = new File(this.getClass().getClassLoader().getResource("origin_lib.history.md").getFile());
 		String tableTxt = IOUtils.getInputStreamTxt(this.getClass().getResourceAsStream("/table_lib.history.md"));
 
-		String tableTxt2 = mojo.getLibHistoryTableTxt(libHistoryTxt);
+		// 读取的表格内容，与去除空格后的表格内容一致
+		LibHistory history = LibHistory.read(file);
+		String[] lines = tableTxt.trim().split("\n");
+		Assertions.assertEquals(lines.length, history.getRows().size());
+		for (int i = 0; i < lines.length; i++) {
+			LibHistory.Row row = history.getRows().get(i);
+			Assertions.assertEquals("|" + (i + 1) + "|" + row.getFileName() + "|" + row.getGroupId() + "|" + row.getLastModified().replace(" ", "")
+					+ "|" + row.getSize() + "B|" + (row.getSize() / 1024) + "KB|", lines[i]);
+		}
 
-		Assertions.assertEquals(tableTxt.trim(), tableTxt2);
+		// 与自身比较，没有差异
+		Assertions.assertTrue(history.diff(LibHistory.read(file)).isEmpty());
 	}
 
 	@Test
@@ -45,4 +59,29 @@ public class SpringBootExtendMojoTest {
 
 		Assertions.assertEquals("2022-07-29 15:35:15.057", timeStr);
 	}
+
+	@Test
+	public void testFindLatestLibHistoryBak(@TempDir Path tempDir) throws IOException {
+		File dir = tempDir.toFile();
+		Assertions.assertNull(SpringBootExtendMojo.findLatestLibHistoryBak(dir, "lib"));
+
+		// 备份文件的修改时间为其创建时间，与文件名中的序号无关
+		long now = System.currentTimeMillis();
+		File bak = createFile(dir, "lib.history.md.bak", now - 3 * 60_000L);
+		File bak1 = createFile(dir, "lib.history.md(1).bak", now - 60_000L);
+		createFile(dir, "lib.history.md(2).bak", now - 2 * 60_000L);
+		createFile(dir, "lib.history.md", now);
+		createFile(dir, "lib-common.history.md.bak", now);
+		Assertions.assertEquals(bak1, SpringBootExtendMojo.findLatestLibHistoryBak(dir, "lib"));
+
+		Assertions.assertTrue(bak.setLastModified(now));
+		Assertions.assertEquals(bak, SpringBootExtendMojo.findLatestLibHistoryBak(dir, "lib"));
+	}
+
+	private static File createFile(File dir, String name, long lastModified) throws IOException {
+		File file = new File(dir, name);
+		IOUtils.createFile(file, name);
+		Assertions.assertTrue(file.setLastModified(lastModified));
+		return file;
+	}
 }
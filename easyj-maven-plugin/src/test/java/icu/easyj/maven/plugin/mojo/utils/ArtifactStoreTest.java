@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link ArtifactStore} 测试类
+ *
+ * @author wangliang181230
+ */
+public class ArtifactStoreTest {
+
+	@Test
+	public void testPutAndLink(@TempDir Path tempDir) throws IOException {
+		ArtifactStore store = new ArtifactStore(tempDir.resolve("store").toFile());
+		File file1 = this.createFile(tempDir.resolve("m1/a.jar"), "easyj");
+		File file2 = this.createFile(tempDir.resolve("m2/a.jar"), "easyj");
+		File file3 = this.createFile(tempDir.resolve("m3/a.jar"), "easyj-2");
+
+		// 内容相同的文件只存一份
+		File data1 = store.put(file1);
+		Assertions.assertEquals(data1, store.put(file2));
+		Assertions.assertNotEquals(data1, store.put(file3));
+		Assertions.assertEquals(IOUtils.sha256Hex(file1), data1.getParentFile().getName());
+
+		// 链接到各模块的lib目录
+		File target1 = this.createFile(tempDir.resolve("m1/lib/a.jar"), "old");
+		File target2 = tempDir.resolve("m2/lib/a.jar").toFile();
+		target2.getParentFile().mkdirs();
+		store.link(file1, target1);
+		store.link(file2, target2);
+		Assertions.assertArrayEquals(Files.readAllBytes(file1.toPath()), Files.readAllBytes(target1.toPath()));
+		Assertions.assertArrayEquals(Files.readAllBytes(file2.toPath()), Files.readAllBytes(target2.toPath()));
+	}
+
+	private File createFile(Path path, String content) throws IOException {
+		Files.createDirectories(path.getParent());
+		Files.write(path, content.getBytes());
+		return path.toFile();
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link AtomicFileOutputStream} 测试类
+ *
+ * @author wangliang181230
+ */
+public class AtomicFileOutputStreamTest {
+
+	@Test
+	public void testCommit(@TempDir Path tempDir) throws IOException {
+		File file = tempDir.resolve("a.txt").toFile();
+		IOUtils.createFile(file, "old");
+
+		// 未提交时，目标文件保持不变
+		try (AtomicFileOutputStream out = new AtomicFileOutputStream(file)) {
+			out.write("new".getBytes(StandardCharsets.UTF_8));
+		}
+		Assertions.assertEquals("old", read(file));
+
+		// 提交后，替换目标文件
+		try (AtomicFileOutputStream out = new AtomicFileOutputStream(file, true)) {
+			out.write("new".getBytes(StandardCharsets.UTF_8));
+			out.commit();
+		}
+		Assertions.assertEquals("new", read(file));
+
+		// 不残留临时文件
+		Assertions.assertArrayEquals(new String[]{"a.txt"}, tempDir.toFile().list());
+	}
+
+	@Test
+	public void testWrite(@TempDir Path tempDir) throws IOException {
+		File file = tempDir.resolve("a.txt").toFile();
+
+		// 写入器自行关闭输出流时，仍然提交
+		AtomicFileOutputStream.write(file, false, out -> {
+			out.write("abc".getBytes(StandardCharsets.UTF_8));
+			out.close();
+		});
+		Assertions.assertEquals("abc", read(file));
+
+		// 写入失败时，目标文件保持不变
+		Assertions.assertThrows(IOException.class, () -> AtomicFileOutputStream.write(file, false, out -> {
+			out.write("def".getBytes(StandardCharsets.UTF_8));
+			throw new IOException("test");
+		}));
+		Assertions.assertEquals("abc", read(file));
+		Assertions.assertArrayEquals(new String[]{"a.txt"}, tempDir.toFile().list());
+	}
+
+
+	private static String read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+}
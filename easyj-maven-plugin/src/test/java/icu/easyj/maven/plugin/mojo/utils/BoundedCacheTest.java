@@ -0,0 +1,48 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link BoundedCache} 测试类
+ *
+ * @author wangliang181230
+ */
+public class BoundedCacheTest {
+
+	@Test
+	public void testEvict() {
+		BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		// 访问a后，b成为最久未使用的条目
+		Assertions.assertEquals(1, cache.get("a"));
+		cache.put("c", 3);
+
+		Assertions.assertEquals(2, cache.size());
+		Assertions.assertEquals(1, cache.get("a"));
+		Assertions.assertNull(cache.get("b"));
+		Assertions.assertEquals(3, cache.get("c"));
+
+		// 已存在时，不覆盖
+		cache.putIfAbsent("a", 10);
+		Assertions.assertEquals(1, cache.get("a"));
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(0));
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link BuildMetrics} 测试类
+ *
+ * @author wangliang181230
+ */
+public class BuildMetricsTest {
+
+	@Test
+	public void testReport(@TempDir Path tempDir) throws IOException {
+		BuildMetrics metrics = new BuildMetrics("icu.easyj:easyj-test:jar:1.0.0", "spring-boot-extend", "default");
+		try (BuildMetrics.Timer timer = metrics.start(BuildMetrics.PHASE_COPY)) {
+			timer.getPhase().addFiles(2);
+			timer.getPhase().addBytesRead(2048);
+			timer.getPhase().addBytesWritten(2048);
+			timer.getPhase().incrementCacheHits();
+			timer.getPhase().incrementCacheMisses();
+		}
+		metrics.phase(BuildMetrics.PHASE_ZIP);
+
+		String json = metrics.toJson();
+		Assertions.assertTrue(json.contains("\"project\": \"icu.easyj:easyj-test:jar:1.0.0\""), json);
+		Assertions.assertTrue(json.contains("\"goal\": \"spring-boot-extend\""), json);
+		Assertions.assertTrue(json.contains("\"copy\": {\"wallTimeMs\": "), json);
+		Assertions.assertTrue(json.contains("\"bytesRead\": 2048, \"bytesWritten\": 2048, \"files\": 2, \"cacheHits\": 1, \"cacheMisses\": 1}"), json);
+		// 阶段按首次使用的顺序排列
+		Assertions.assertTrue(json.indexOf("\"copy\"") < json.indexOf("\"zip\""), json);
+
+		String summary = metrics.toSummary();
+		Assertions.assertTrue(summary.startsWith("spring-boot-extend "), summary);
+		Assertions.assertTrue(summary.contains("| copy "), summary);
+		Assertions.assertTrue(summary.contains(", 2 files, 2.0 KB, 1/2 hits"), summary);
+
+		File file = metrics.writeJson(tempDir.resolve("easyj-metrics").toFile());
+		Assertions.assertEquals("spring-boot-extend-default.json", file.getName());
+		Assertions.assertEquals(json.substring(0, json.indexOf("wallTimeMs")),
+				new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).substring(0, json.indexOf("wallTimeMs")));
+	}
+
+	@Test
+	public void testZipMetrics(@TempDir Path tempDir) throws IOException {
+		File txtFile = tempDir.resolve("a.txt").toFile();
+		Files.write(txtFile.toPath(), "aaaaaaaaaa".getBytes(StandardCharsets.UTF_8));
+		File jarFile = new File(this.getClass().getClassLoader().getResource("easyj.jar").getFile());
+		Map<String, File> entries = new LinkedHashMap<>();
+		entries.put("a.txt", txtFile);
+		entries.put("easyj.jar", jarFile);
+
+		BuildMetrics.Phase phase = new BuildMetrics("test", "package-zip", "default").phase(BuildMetrics.PHASE_ZIP);
+		ZipOptions options = new ZipOptions();
+		options.setMetrics(phase);
+		options.setEntryCache(new CompressedEntryCache(tempDir.resolve("cache").toFile()));
+
+		File zip = tempDir.resolve("a.zip").toFile();
+		ZipUtils.toZip4(entries, new FileOutputStream(zip), options);
+		Assertions.assertEquals(2, phase.getFiles());
+		Assertions.assertEquals(txtFile.length() + jarFile.length(), phase.getBytesRead());
+		Assertions.assertEquals(zip.length(), phase.getBytesWritten());
+
+		// 第二次压缩时，缓存命中（只有不小于16KB的文件才使用缓存）
+		int cachedFiles = jarFile.length() >= ZipOptions.CACHE_MIN_FILE_SIZE ? 1 : 0;
+		Assertions.assertEquals(0, phase.getCacheHits());
+		Assertions.assertEquals(cachedFiles, phase.getCacheMisses());
+		ZipUtils.toZip4(entries, new FileOutputStream(zip), options);
+		Assertions.assertEquals(cachedFiles, phase.getCacheHits());
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link ComparingFileOutputStream} 测试类
+ *
+ * @author wangliang181230
+ */
+public class ComparingFileOutputStreamTest {
+
+	@Test
+	public void testCommit(@TempDir Path tempDir) throws IOException {
+		File file = tempDir.resolve("pom.xml").toFile();
+
+		// 文件不存在
+		Assertions.assertTrue(write(file, "<project/>\n"));
+		Assertions.assertEquals("<project/>\n", read(file));
+
+		// 内容一致，不写入文件
+		Assertions.assertTrue(file.setLastModified(1000L));
+		Assertions.assertFalse(write(file, "<project/>\n"));
+		Assertions.assertEquals(1000L, file.lastModified());
+
+		// 内容更长、更短、中间不一致
+		Assertions.assertTrue(write(file, "<project/>\n<!---->\n"));
+		Assertions.assertEquals("<project/>\n<!---->\n", read(file));
+		Assertions.assertTrue(write(file, "<project/>\n"));
+		Assertions.assertEquals("<project/>\n", read(file));
+		Assertions.assertTrue(write(file, "<project>\n"));
+		Assertions.assertEquals("<project>\n", read(file));
+
+		// 未提交时，文件保持不变，且不残留临时文件
+		try (ComparingFileOutputStream out = new ComparingFileOutputStream(file)) {
+			out.write("<abc/>".getBytes(StandardCharsets.UTF_8));
+		}
+		Assertions.assertEquals("<project>\n", read(file));
+		Assertions.assertEquals(1, tempDir.toFile().list().length);
+	}
+
+	private static boolean write(File file, String text) throws IOException {
+		try (ComparingFileOutputStream out = new ComparingFileOutputStream(file)) {
+			byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+			// 分多次写入
+			out.write(bytes, 0, 3);
+			out.write(bytes, 3, bytes.length - 3);
+			return out.commit();
+		}
+	}
+
+	private static String read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link CompressedEntryCache} 测试类
+ *
+ * @author wangliang181230
+ */
+public class CompressedEntryCacheTest {
+
+	@Test
+	public void testDeflateAndZip(@TempDir Path tempDir) throws IOException {
+		CompressedEntryCache cache = new CompressedEntryCache(tempDir.resolve("cache").toFile());
+		File txtFile = this.createFile(tempDir.resolve("src/a.txt"), String.join("", Collections.nCopies(5000, "easyj\n")));
+
+		CompressedEntry entry1 = cache.deflate(txtFile, Deflater.BEST_SPEED);
+		CompressedEntry entry2 = cache.deflate(txtFile, Deflater.BEST_SPEED);
+		CompressedEntry expected = CompressedEntry.deflate(txtFile, Deflater.BEST_SPEED);
+		Assertions.assertTrue(new File(tempDir.resolve("cache").toFile(), IOUtils.sha256Hex(txtFile).substring(0, 2) + "/" + IOUtils.sha256Hex(txtFile)
+				+ "/deflated-L1-" + Long.toHexString(expected.getCrc()) + "-" + Long.toHexString(expected.getSize())
+				+ "-" + Long.toHexString(expected.getCompressedSize())).isFile());
+		for (CompressedEntry entry : Arrays.asList(entry1, entry2)) {
+			Assertions.assertEquals(expected.getCrc(), entry.getCrc());
+			Assertions.assertEquals(expected.getSize(), entry.getSize());
+			Assertions.assertEquals(expected.getCompressedSize(), entry.getCompressedSize());
+		}
+
+		// 使用缓存压缩，与直接压缩的结果一致
+		File jarFile = new File(this.getClass().getClassLoader().getResource("easyj.jar").getFile());
+		List<File> files = Arrays.asList(jarFile, txtFile);
+		File zip1 = tempDir.resolve("1.zip").toFile();
+		ZipUtils.toZip(files, new FileOutputStream(zip1), false, "lib");
+		for (int threads : new int[]{1, 4}) {
+			ZipOptions options = new ZipOptions();
+			options.setEntryCache(cache);
+			options.setThreads(threads);
+			File zip2 = tempDir.resolve("2-" + threads + ".zip").toFile();
+			ZipUtils.toZip(files, new FileOutputStream(zip2), false, "lib", options);
+
+			try (ZipFile zipFile1 = new ZipFile(zip1); ZipFile zipFile2 = new ZipFile(zip2)) {
+				for (String name : Arrays.asList("lib/easyj.jar", "lib/a.txt")) {
+					ZipEntry e1 = zipFile1.getEntry(name);
+					ZipEntry e2 = zipFile2.getEntry(name);
+					Assertions.assertEquals(e1.getCrc(), e2.getCrc());
+					Assertions.assertEquals(e1.getCompressedSize(), e2.getCompressedSize());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testDeflateCorruptedEntry(@TempDir Path tempDir) throws IOException {
+		CompressedEntryCache cache = new CompressedEntryCache(tempDir.resolve("cache").toFile());
+		File txtFile = this.createFile(tempDir.resolve("src/a.txt"), String.join("", Collections.nCopies(5000, "easyj\n")));
+		CompressedEntry expected = cache.deflate(txtFile, Deflater.BEST_SPEED);
+
+		// 截断缓存文件：视为未命中，重新压缩
+		Files.write(expected.getDataFile().toPath(), new byte[10]);
+		BuildMetrics.Phase phase = new BuildMetrics("test", "zip", "default").phase(BuildMetrics.PHASE_ZIP);
+		CompressedEntry entry = cache.deflate(txtFile, Deflater.BEST_SPEED, phase);
+		Assertions.assertEquals(0, phase.getCacheHits());
+		Assertions.assertEquals(1, phase.getCacheMisses());
+		Assertions.assertEquals(expected.getCompressedSize(), entry.getDataFile().length());
+		Assertions.assertEquals(expected.getCrc(), entry.getCrc());
+
+		// 旧格式的缓存文件（文件名中没有大小）：视为未命中，并被删除
+		File entryDir = entry.getDataFile().getParentFile();
+		File oldFile = new File(entryDir, "deflated-L1-" + Long.toHexString(expected.getCrc()));
+		Files.write(oldFile.toPath(), new byte[10]);
+		Files.delete(entry.getDataFile().toPath());
+		cache.deflate(txtFile, Deflater.BEST_SPEED, phase);
+		Assertions.assertFalse(oldFile.exists());
+		Assertions.assertEquals(2, phase.getCacheMisses());
+
+		// 校验通过：命中
+		cache.deflate(txtFile, Deflater.BEST_SPEED, phase);
+		Assertions.assertEquals(1, phase.getCacheHits());
+	}
+
+	@Test
+	public void testTrim(@TempDir Path tempDir) throws IOException {
+		CompressedEntryCache cache = new CompressedEntryCache(tempDir.resolve("cache").toFile());
+		File[] srcFiles = new File[3];
+		File[] dataFiles = new File[3];
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < dataFiles.length; i++) {
+			srcFiles[i] = this.createFile(tempDir.resolve("src/" + i + ".txt"), String.join("", Collections.nCopies(5000, "easyj-" + i + "\n")));
+			dataFiles[i] = cache.deflate(srcFiles[i], Deflater.BEST_SPEED).getDataFile();
+			// 越早创建的，越久未使用；最后一个为最近使用过的
+			if (i < dataFiles.length - 1) {
+				Assertions.assertTrue(dataFiles[i].setLastModified(now - CompressedEntryCache.TRIM_MIN_AGE - (dataFiles.length - i) * 60_000L));
+			}
+		}
+		long totalSize = dataFiles[0].length() + dataFiles[1].length() + dataFiles[2].length();
+
+		Assertions.assertEquals(0, cache.trim(0));
+		Assertions.assertEquals(0, cache.trim(totalSize));
+
+		// 命中缓存时，更新最近使用时间
+		cache.deflate(srcFiles[0], Deflater.BEST_SPEED);
+
+		// 淘汰最久未使用的条目，并删除空目录
+		Assertions.assertEquals(1, cache.trim(totalSize - 1));
+		Assertions.assertTrue(dataFiles[0].isFile());
+		Assertions.assertFalse(dataFiles[1].getParentFile().exists());
+		Assertions.assertTrue(dataFiles[2].isFile());
+
+		// 最近使用过的条目不会被淘汰
+		Assertions.assertEquals(0, cache.trim(1));
+		Assertions.assertTrue(dataFiles[0].isFile());
+		Assertions.assertTrue(dataFiles[2].isFile());
+	}
+
+	@Test
+	public void testWriteToDeletedEntry(@TempDir Path tempDir) throws IOException {
+		CompressedEntryCache cache = new CompressedEntryCache(tempDir.resolve("cache").toFile());
+		File txtFile = this.createFile(tempDir.resolve("src/a.txt"), String.join("", Collections.nCopies(5000, "easyj\n")));
+		CompressedEntry entry = cache.deflate(txtFile, Deflater.BEST_SPEED);
+		byte[] expected = Files.readAllBytes(entry.getDataFile().toPath());
+
+		// 缓存文件在写入前被删除（如：被其他模块清理缓存时淘汰），重新压缩源文件
+		Files.delete(entry.getDataFile().toPath());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		entry.writeTo(out);
+		Assertions.assertArrayEquals(expected, out.toByteArray());
+	}
+
+	private File createFile(Path path, String content) throws IOException {
+		Files.createDirectories(path.getParent());
+		Files.write(path, content.getBytes());
+		return path.toFile();
+	}
+}
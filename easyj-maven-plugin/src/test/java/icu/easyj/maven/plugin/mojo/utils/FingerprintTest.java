@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link Fingerprint} 测试类
+ *
+ * @author wangliang181230
+ */
+public class FingerprintTest {
+
+	@Test
+	public void testAdd() {
+		Map<String, String> map1 = new HashMap<>();
+		map1.put("a", "1");
+		map1.put("b", "2");
+		Map<String, String> map2 = new HashMap<>();
+		map2.put("b", "2");
+		map2.put("a", "1");
+
+		// 无序的集合与遍历顺序无关
+		Assertions.assertEquals(
+				new Fingerprint().add("map", map1).add("set", new LinkedHashSet<>(Arrays.asList("x", "y"))).toHex(),
+				new Fingerprint().add("map", map2).add("set", new LinkedHashSet<>(Arrays.asList("y", "x"))).toHex());
+
+		// 有序的集合与顺序有关
+		Assertions.assertNotEquals(
+				new Fingerprint().add("list", Arrays.asList("x", "y")).toHex(),
+				new Fingerprint().add("list", Arrays.asList("y", "x")).toHex());
+
+		// 值的边界不同时，指纹也不同
+		Assertions.assertNotEquals(
+				new Fingerprint().add("a", "bc").toHex(),
+				new Fingerprint().add("ab", "c").toHex());
+	}
+
+	@Test
+	public void testAddFile(@TempDir Path tempDir) throws IOException {
+		File file = tempDir.resolve("pom.xml").toFile();
+		String none = new Fingerprint().addFile("pom", file).toHex();
+
+		Files.write(file.toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+		String hash1 = new Fingerprint().addFile("pom", file).toHex();
+		Assertions.assertNotEquals(none, hash1);
+
+		// 修改时间变化，内容未变化
+		Assertions.assertTrue(file.setLastModified(1000L));
+		Assertions.assertEquals(hash1, new Fingerprint().addFile("pom", file).toHex());
+
+		// 内容变化
+		Files.write(file.toPath(), "<project></project>".getBytes(StandardCharsets.UTF_8));
+		Assertions.assertNotEquals(hash1, new Fingerprint().addFile("pom", file).toHex());
+	}
+}
@@ -17,9 +17,13 @@ package icu.easyj.maven.plugin.mojo.utils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.Lock;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * {@link IOUtils} 测试类
@@ -45,4 +49,95 @@ public class IOUtilsTest {
 		result = IOUtils.isSpringBootDependenciesStarterJar(file);
 		Assertions.assertFalse(result);
 	}
+
+	@Test
+	public void testCopy(@TempDir Path tempDir) throws IOException {
+		File sourceFile = new File(this.getClass().getClassLoader().getResource("easyj.jar").getFile());
+
+		File targetFile = tempDir.resolve("copy.jar").toFile();
+		IOUtils.copy(sourceFile, targetFile);
+		Assertions.assertArrayEquals(Files.readAllBytes(sourceFile.toPath()), Files.readAllBytes(targetFile.toPath()));
+		Assertions.assertEquals(IOUtils.getFileLastModified(sourceFile) / 1000, targetFile.lastModified() / 1000);
+
+		// 目标文件已存在时，覆盖
+		File linkFile = tempDir.resolve("link.jar").toFile();
+		IOUtils.createFile(linkFile, "old");
+		IOUtils.linkOrCopy(targetFile, linkFile);
+		Assertions.assertArrayEquals(Files.readAllBytes(sourceFile.toPath()), Files.readAllBytes(linkFile.toPath()));
+	}
+
+	@Test
+	public void testCopyAtomically(@TempDir Path tempDir) throws IOException {
+		File sourceFile = new File(this.getClass().getClassLoader().getResource("easyj.jar").getFile());
+
+		// 目标文件已存在时，覆盖
+		File targetFile = tempDir.resolve("easyj.jar").toFile();
+		IOUtils.createFile(targetFile, "old");
+		IOUtils.copyAtomically(sourceFile, targetFile);
+		Assertions.assertArrayEquals(Files.readAllBytes(sourceFile.toPath()), Files.readAllBytes(targetFile.toPath()));
+		Assertions.assertTrue(IOUtils.isSameFile(sourceFile, targetFile, false));
+
+		// 不残留临时文件
+		Assertions.assertArrayEquals(new String[]{"easyj.jar"}, tempDir.toFile().list());
+	}
+
+	@Test
+	public void testIsSameFile(@TempDir Path tempDir) throws IOException {
+		File sourceFile = new File(this.getClass().getClassLoader().getResource("easyj.jar").getFile());
+		File targetFile = tempDir.resolve("easyj.jar").toFile();
+		Assertions.assertFalse(IOUtils.isSameFile(sourceFile, targetFile, false));
+
+		IOUtils.copy(sourceFile, targetFile);
+		Assertions.assertTrue(IOUtils.isSameFile(sourceFile, targetFile, false));
+		Assertions.assertTrue(IOUtils.isSameFile(sourceFile, targetFile, true));
+
+		// 大小与修改时间一致，但内容不一致
+		byte[] bytes = Files.readAllBytes(targetFile.toPath());
+		bytes[bytes.length / 2]++;
+		Files.write(targetFile.toPath(), bytes);
+		targetFile.setLastModified(IOUtils.getFileLastModified(sourceFile));
+		Assertions.assertTrue(IOUtils.isSameFile(sourceFile, targetFile, false));
+		Assertions.assertFalse(IOUtils.isSameFile(sourceFile, targetFile, true));
+	}
+
+	@Test
+	public void testIsSameFileByFileSystemTime(@TempDir Path tempDir) throws IOException {
+		File jarFile = new File(this.getClass().getClassLoader().getResource("easyj.jar").getFile());
+		File sourceFile = tempDir.resolve("source/easyj.jar").toFile();
+		File targetFile = tempDir.resolve("target/easyj.jar").toFile();
+		Files.createDirectories(sourceFile.getParentFile().toPath());
+		Files.createDirectories(targetFile.getParentFile().toPath());
+		IOUtils.copy(jarFile, sourceFile, System.currentTimeMillis() - 60_000L);
+
+		long lastModified = Files.getLastModifiedTime(sourceFile.toPath()).toMillis();
+		IOUtils.copyAtomically(sourceFile, targetFile, lastModified);
+		Assertions.assertTrue(IOUtils.isSameFile(sourceFile, targetFile, lastModified, false));
+
+		// 重新构建的JAR：大小与MANIFEST.MF的时间不变（固定的 outputTimestamp），只有文件系统中的修改时间变化
+		Assertions.assertTrue(sourceFile.setLastModified(lastModified + 10_000L));
+		Assertions.assertFalse(IOUtils.isSameFile(sourceFile, targetFile, Files.getLastModifiedTime(sourceFile.toPath()).toMillis(), false));
+	}
+
+	@Test
+	public void testLockFile(@TempDir Path tempDir) throws IOException {
+		int count = IOUtils.getFileLockCount();
+		File file = tempDir.resolve("a.txt").toFile();
+
+		// 同一个文件（路径不同但规范化后相同），使用同一个锁，且可重入
+		Lock lock1 = IOUtils.lockFile(file);
+		Lock lock2 = IOUtils.lockFile(tempDir.resolve("b/../a.txt").toFile());
+		Assertions.assertSame(lock1, lock2);
+		Assertions.assertEquals(count + 1, IOUtils.getFileLockCount());
+
+		// 所有持有者都释放后，锁被移除
+		lock2.unlock();
+		Assertions.assertEquals(count + 1, IOUtils.getFileLockCount());
+		lock1.unlock();
+		Assertions.assertEquals(count, IOUtils.getFileLockCount());
+
+		// 写入文件后，不残留锁
+		IOUtils.createFile(file, "a");
+		IOUtils.copyAtomically(file, tempDir.resolve("c.txt").toFile());
+		Assertions.assertEquals(count, IOUtils.getFileLockCount());
+	}
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link JarMetadataCache} 测试类
+ *
+ * @author wangliang181230
+ */
+public class JarMetadataCacheTest {
+
+	@Test
+	public void testGet() throws IOException {
+		File file = new File(this.getClass().getClassLoader().getResource("easyj-test.jar").getFile());
+
+		JarMetadata metadata = JarMetadataCache.get(file);
+		Assertions.assertTrue(metadata.isSpringBootDependenciesStarter());
+		Assertions.assertEquals("dependencies-starter", metadata.getAttribute("spring-boot-jar-type"));
+		Assertions.assertTrue(metadata.getEntryCount() > 0);
+		Assertions.assertSame(metadata, JarMetadataCache.get(file));
+	}
+
+	@Test
+	public void testSaveAndLoad(@TempDir Path tempDir) throws IOException {
+		File file = new File(this.getClass().getClassLoader().getResource("easyj.jar").getFile());
+		File testFile = new File(this.getClass().getClassLoader().getResource("easyj-test.jar").getFile());
+		JarMetadata metadata = JarMetadataCache.get(file);
+		JarMetadataCache.get(testFile);
+
+		File cacheFile = tempDir.resolve("cache/jar-metadata.properties").toFile();
+		JarMetadataCache.save(cacheFile, Arrays.asList(file, testFile));
+
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(cacheFile.toPath())) {
+			properties.load(in);
+		}
+		Assertions.assertEquals(2, properties.size());
+		String value = properties.getProperty(file.getAbsolutePath());
+		Assertions.assertTrue(value.startsWith(file.length() + "," + file.lastModified() + "," + metadata.getLastModified() + "," + metadata.getEntryCount()));
+
+		// 文件不存在时，忽略它
+		JarMetadataCache.load(tempDir.resolve("not-exists.properties").toFile());
+		JarMetadataCache.load(cacheFile);
+		Assertions.assertSame(metadata, JarMetadataCache.get(file));
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link JarMetadata} 测试类
+ *
+ * @author wangliang181230
+ */
+public class JarMetadataTest {
+
+	@Test
+	public void testRead() throws IOException {
+		File file = new File(this.getClass().getClassLoader().getResource("easyj.jar").getFile());
+		JarMetadata metadata = JarMetadata.read(file);
+		Assertions.assertEquals(1658369334000L, metadata.getLastModified());
+		assertSame(JarMetadata.readByJarFile(file), metadata);
+
+		File testFile = new File(this.getClass().getClassLoader().getResource("easyj-test.jar").getFile());
+		assertSame(JarMetadata.readByJarFile(testFile), JarMetadata.read(testFile));
+	}
+
+	@Test
+	public void testReadGeneratedJars(@TempDir Path tempDir) throws IOException {
+		// 有 MANIFEST.MF，且条目带有扩展时间戳
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().putValue("Spring-Boot-Jar-Type", "dependencies-starter");
+		File jar1 = tempDir.resolve("1.jar").toFile();
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar1), manifest)) {
+			JarEntry entry = new JarEntry("a.txt");
+			entry.setLastModifiedTime(FileTime.fromMillis(1600000000000L));
+			out.putNextEntry(entry);
+			out.write("easyj".getBytes());
+		}
+		JarMetadata metadata1 = JarMetadata.read(jar1);
+		Assertions.assertTrue(metadata1.isSpringBootDependenciesStarter());
+		assertSame(JarMetadata.readByJarFile(jar1), metadata1);
+
+		// 没有 MANIFEST.MF，取最大的修改时间（只有DOS时间）
+		File jar2 = tempDir.resolve("2.jar").toFile();
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar2))) {
+			for (long time : new long[]{1500000000000L, 1650000000000L, 1550000000000L}) {
+				ZipEntry entry = new ZipEntry(time + ".txt");
+				entry.setTime(time);
+				out.putNextEntry(entry);
+				out.write("easyj".getBytes());
+			}
+		}
+		JarMetadata metadata2 = JarMetadata.read(jar2);
+		Assertions.assertEquals(3, metadata2.getEntryCount());
+		Assertions.assertEquals(1650000000000L, metadata2.getLastModified());
+		assertSame(JarMetadata.readByJarFile(jar2), metadata2);
+
+		// 不是有效的ZIP文件
+		File jar3 = tempDir.resolve("3.jar").toFile();
+		try (FileOutputStream out = new FileOutputStream(jar3)) {
+			out.write("not a zip file".getBytes());
+		}
+		Assertions.assertThrows(IOException.class, () -> JarMetadata.read(jar3));
+	}
+
+	private static void assertSame(JarMetadata expected, JarMetadata actual) {
+		Assertions.assertEquals(expected.getAttributes(), actual.getAttributes());
+		Assertions.assertEquals(expected.getLastModified(), actual.getLastModified());
+		Assertions.assertEquals(expected.getEntryCount(), actual.getEntryCount());
+	}
+}
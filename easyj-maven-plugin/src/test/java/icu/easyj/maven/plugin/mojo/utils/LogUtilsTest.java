@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link LogUtils} 测试类
+ *
+ * @author wangliang181230
+ */
+public class LogUtilsTest {
+
+	@Test
+	public void testFormat() {
+		Exception e = new Exception("test");
+		Object[][] cases = {
+				{"no args"},
+				{"%s %d JARs to the directory: %s", "Copy", 12, "/target/lib"},
+				{"Exclude: %s JARs（lib: %d, lib-common: %d）", " 3", 1, 2L},
+				{"100%% %s", null},
+				{"%s, with exception", "a", e},
+				{"%.1f MB, fallback to String.format", 1.25D},
+		};
+		for (Object[] c : cases) {
+			String format = (String)c[0];
+			Object[] args = Arrays.copyOfRange(c, 1, c.length);
+			Assertions.assertEquals(String.format(format, args), LogUtils.format(format, args), format);
+		}
+
+		Assertions.assertSame(e, LogUtils.getThrowable("a", e));
+		Assertions.assertNull(LogUtils.getThrowable("a", "b"));
+		Assertions.assertNull(LogUtils.getThrowable());
+	}
+
+	@Test
+	public void testToListStr() {
+		String arrStr = "a, b ,c,  d";
+		Assertions.assertEquals(arrStr.replaceAll("^|\\s*,\\s*", "\r\n         - "), LogUtils.toListStr(arrStr));
+
+		Assertions.assertEquals("null", LogUtils.toListStr((List<?>)null));
+		Assertions.assertEquals("<empty>", LogUtils.toListStr(new ArrayList<>()));
+		Assertions.assertEquals("\r\n         - a\r\n         - b", LogUtils.toListStr(Arrays.asList("a", "b")));
+		Assertions.assertEquals("\r\n         - a\r\n         - b", LogUtils.lazyListStr(Arrays.asList("a", "b")).toString());
+
+		// 集合过大时，只打印部分项及数量
+		List<Integer> list = new ArrayList<>();
+		for (int i = 0; i < LogUtils.MAX_LIST_ITEMS + 5; i++) {
+			list.add(i);
+		}
+		String str = LogUtils.toListStr(list);
+		Assertions.assertTrue(str.endsWith("- " + (LogUtils.MAX_LIST_ITEMS - 1) + "\r\n         - ...(5 more, total: " + list.size() + ")"), str);
+	}
+}
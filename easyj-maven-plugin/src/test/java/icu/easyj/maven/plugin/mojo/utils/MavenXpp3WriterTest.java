@@ -85,6 +85,30 @@ public class MavenXpp3WriterTest {
 		Assertions.assertEquals(expected, actual);
 	}
 
+	@Test
+	public void testPomNormalizingWriter() throws IOException {
+		String data = "<?xml version=\"1.0\"?>\r\n\r\n<project>\n\n\n\t<a />\r\n\t<b x=\"1 / 2\" / >\n \n\t<c>  </c>\n</project> /";
+		String expected = data.replace("\r", "")
+				.replaceAll("\n{2,}", IOUtils.LINE_SEPARATOR)
+				.replace(" />", "/>");
+
+		// 逐个字符写入
+		StringWriter stringWriter = new StringWriter();
+		try (PomNormalizingWriter writer = new PomNormalizingWriter(stringWriter)) {
+			for (int i = 0; i < data.length(); i++) {
+				writer.write(data.charAt(i));
+			}
+		}
+		Assertions.assertEquals(expected, stringWriter.toString());
+
+		// 整体写入
+		stringWriter = new StringWriter();
+		try (PomNormalizingWriter writer = new PomNormalizingWriter(stringWriter)) {
+			writer.write(data);
+		}
+		Assertions.assertEquals(expected, stringWriter.toString());
+	}
+
 	@Test
 	public void testReplace() {
 		String data = "  <properties>\r\n" +
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link PatternSet} 测试类
+ *
+ * @author wangliang181230
+ */
+public class PatternSetTest {
+
+	private static final List<String> PATTERNS = Arrays.asList(
+			"", "*", "**", "icu.easyj:easyj-core", "ICU.EASYJ:*", "*:easyj-*", "*-starter",
+			"icu.*:*-web", "icu.easyj:easyj-?ore", "?cu.easyj:easyj-core", "*easyj*", "a*b*c",
+			"^com\\.example\\..*$", "^ICU\\.easyj:easyj-(core|web)$"
+	);
+
+	private static final List<String> STRINGS = Arrays.asList(
+			"", "icu.easyj:easyj-core", "ICU.EASYJ:EASYJ-CORE", "icu.easyj:easyj-web", "icu.easyj:easyj-more",
+			"com.example.demo:demo-starter", "org.springframework.boot:spring-boot-starter", "abc", "aXbYc", "ab",
+			"com.example:x", "icu", "icu.easyj", "xcu.easyj:easyj-core"
+	);
+
+
+	@Test
+	public void testSamePatternAsMatchUtils() {
+		for (String pattern : PATTERNS) {
+			PatternSet patternSet = new PatternSet(Collections.singleton(pattern));
+			for (String str : STRINGS) {
+				Assertions.assertEquals(MatchUtils.match(pattern, str), patternSet.matches(str),
+						"pattern: '" + pattern + "', str: '" + str + "'");
+			}
+		}
+	}
+
+	@Test
+	public void testAllPatterns() {
+		PatternSet patternSet = new PatternSet(PATTERNS.subList(3, PATTERNS.size()));
+		for (String str : STRINGS) {
+			Assertions.assertEquals(MatchUtils.match(PATTERNS.subList(3, PATTERNS.size()), str), patternSet.matches(str), "str: '" + str + "'");
+		}
+	}
+
+	@Test
+	public void testCaseSensitive() {
+		PatternSet patternSet = new PatternSet(Arrays.asList("icu.easyj:easyj-core", "ICU.*", "^Com\\..*$"), false);
+		Assertions.assertTrue(patternSet.matches("icu.easyj:easyj-core"));
+		Assertions.assertFalse(patternSet.matches("icu.easyj:EASYJ-core"));
+		Assertions.assertTrue(patternSet.matches("ICU.easyj"));
+		Assertions.assertFalse(patternSet.matches("icu.easyj"));
+		Assertions.assertTrue(patternSet.matches("Com.example"));
+		Assertions.assertFalse(patternSet.matches("com.example"));
+	}
+
+	@Test
+	public void testEmpty() {
+		PatternSet patternSet = new PatternSet(null);
+		Assertions.assertTrue(patternSet.isEmpty());
+		Assertions.assertFalse(patternSet.matches("icu.easyj:easyj-core"));
+		Assertions.assertFalse(new PatternSet(Collections.singleton("icu.easyj:*")).matches(null));
+	}
+}
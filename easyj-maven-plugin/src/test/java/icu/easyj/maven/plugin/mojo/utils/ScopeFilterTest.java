@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.resolver.filter.ScopeArtifactFilter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ScopeFilter} 测试类
+ *
+ * @author wangliang181230
+ */
+public class ScopeFilterTest {
+
+	private static final List<String> ARTIFACT_SCOPES = Arrays.asList(
+			Artifact.SCOPE_COMPILE, Artifact.SCOPE_PROVIDED, Artifact.SCOPE_RUNTIME, Artifact.SCOPE_SYSTEM, Artifact.SCOPE_TEST,
+			Artifact.SCOPE_IMPORT, null
+	);
+
+
+	@Test
+	public void testIncludeScope() {
+		for (String includeScope : Arrays.asList(Artifact.SCOPE_COMPILE, Artifact.SCOPE_PROVIDED, Artifact.SCOPE_RUNTIME, Artifact.SCOPE_SYSTEM,
+				Artifact.SCOPE_TEST, Artifact.SCOPE_COMPILE_PLUS_RUNTIME, Artifact.SCOPE_RUNTIME_PLUS_SYSTEM)) {
+			ScopeFilter filter = new ScopeFilter(includeScope, Artifact.SCOPE_COMPILE);
+			for (String scope : ARTIFACT_SCOPES) {
+				boolean expected;
+				if (Artifact.SCOPE_PROVIDED.equals(includeScope) || Artifact.SCOPE_SYSTEM.equals(includeScope)) {
+					expected = includeScope.equals(scope);
+				} else {
+					expected = new ScopeArtifactFilter(includeScope).include(createArtifact(scope));
+				}
+				Assertions.assertEquals(expected, filter.doFilter(createArtifact(scope)), "includeScope: " + includeScope + ", scope: " + scope);
+			}
+		}
+	}
+
+	@Test
+	public void testExcludeScope() {
+		for (String excludeScope : Arrays.asList(Artifact.SCOPE_COMPILE, Artifact.SCOPE_PROVIDED, Artifact.SCOPE_RUNTIME, Artifact.SCOPE_SYSTEM)) {
+			ScopeFilter filter = new ScopeFilter("", excludeScope);
+			for (String scope : ARTIFACT_SCOPES) {
+				boolean expected;
+				if (Artifact.SCOPE_PROVIDED.equals(excludeScope) || Artifact.SCOPE_SYSTEM.equals(excludeScope)) {
+					expected = !excludeScope.equals(scope);
+				} else {
+					expected = !new ScopeArtifactFilter(excludeScope).include(createArtifact(scope));
+				}
+				Assertions.assertEquals(expected, filter.doFilter(createArtifact(scope)), "excludeScope: " + excludeScope + ", scope: " + scope);
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidScope() {
+		Assertions.assertThrows(RuntimeException.class, () -> new ScopeFilter("xxx", null));
+		Assertions.assertThrows(RuntimeException.class, () -> new ScopeFilter(null, Artifact.SCOPE_COMPILE_PLUS_RUNTIME));
+		Assertions.assertThrows(RuntimeException.class, () -> new ScopeFilter(null, Artifact.SCOPE_TEST));
+
+		// 都为空时，不包含任何构件
+		Assertions.assertFalse(new ScopeFilter(null, null).doFilter(createArtifact(Artifact.SCOPE_COMPILE)));
+	}
+
+
+	private static Artifact createArtifact(String scope) {
+		return new DefaultArtifact("icu.easyj", "easyj-core", "1.0.0", scope, "jar", null, new DefaultArtifactHandler("jar"));
+	}
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package icu.easyj.maven.plugin.mojo.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link ZipUtils} 测试类
+ *
+ * @author wangliang181230
+ */
+public class ZipUtilsTest {
+
+	@Test
+	public void testToZip(@TempDir Path tempDir) throws IOException {
+		File jarFile = new File(this.getClass().getClassLoader().getResource("easyj.jar").getFile());
+		File txtFile = tempDir.resolve("src/a.txt").toFile();
+		txtFile.getParentFile().mkdirs();
+		Files.write(txtFile.toPath(), String.join("", Collections.nCopies(1000, "easyj\n")).getBytes());
+		List<File> files = Arrays.asList(jarFile, txtFile);
+
+		// 单线程，全部压缩
+		File zip1 = tempDir.resolve("1.zip").toFile();
+		ZipUtils.toZip(files, new FileOutputStream(zip1), false, "lib");
+
+		// 多线程，已压缩过的文件不再压缩
+		ZipOptions options = new ZipOptions();
+		options.setStoreCompressedFiles(true);
+		options.setThreads(4);
+		File zip2 = tempDir.resolve("2.zip").toFile();
+		ZipUtils.toZip(files, new FileOutputStream(zip2), false, "lib", options);
+
+		for (File zip : Arrays.asList(zip1, zip2)) {
+			try (ZipFile zipFile = new ZipFile(zip)) {
+				List<String> names = new ArrayList<>();
+				Enumeration<? extends ZipEntry> entries = zipFile.entries();
+				while (entries.hasMoreElements()) {
+					names.add(entries.nextElement().getName());
+				}
+				Assertions.assertEquals(Arrays.asList("lib/easyj.jar", "lib/a.txt"), names);
+
+				ZipEntry jarEntry = zipFile.getEntry("lib/easyj.jar");
+				Assertions.assertEquals(zip == zip1 ? ZipEntry.DEFLATED : ZipEntry.STORED, jarEntry.getMethod());
+				Assertions.assertEquals(IOUtils.getFileLastModified(jarFile) / 1000, jarEntry.getTime() / 1000);
+				try (InputStream in = zipFile.getInputStream(jarEntry)) {
+					Assertions.assertArrayEquals(Files.readAllBytes(jarFile.toPath()), readAll(in));
+				}
+
+				ZipEntry txtEntry = zipFile.getEntry("lib/a.txt");
+				Assertions.assertEquals(ZipEntry.DEFLATED, txtEntry.getMethod());
+				Assertions.assertTrue(txtEntry.getCompressedSize() < txtEntry.getSize());
+				try (InputStream in = zipFile.getInputStream(txtEntry)) {
+					Assertions.assertArrayEquals(Files.readAllBytes(txtFile.toPath()), readAll(in));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testToZipKeepDirStructure(@TempDir Path tempDir) throws IOException {
+		File srcDir = tempDir.resolve("src").toFile();
+		new File(srcDir, "a/b").mkdirs();
+		new File(srcDir, "empty").mkdirs();
+		Files.write(new File(srcDir, "a/b/c.txt").toPath(), "easyj".getBytes());
+
+		File zip = tempDir.resolve("keep.zip").toFile();
+		ZipUtils.toZip(srcDir.getPath(), new FileOutputStream(zip), true, null);
+
+		try (ZipFile zipFile = new ZipFile(zip)) {
+			Assertions.assertNotNull(zipFile.getEntry("src/a/b/c.txt"));
+			Assertions.assertTrue(zipFile.getEntry("src/empty/").isDirectory());
+		}
+	}
+
+	@Test
+	public void testToZipReproducible(@TempDir Path tempDir) throws IOException {
+		File jarFile = new File(this.getClass().getClassLoader().getResource("easyj.jar").getFile());
+		File txtFile = tempDir.resolve("src/a.txt").toFile();
+		txtFile.getParentFile().mkdirs();
+		Files.write(txtFile.toPath(), String.join("", Collections.nCopies(1000, "easyj\n")).getBytes());
+
+		// 不同的顺序、不同的线程数、不同的修改时间，输出的字节完全一致
+		ZipOptions options = new ZipOptions();
+		options.setReproducible(true);
+		options.setOutputTimestamp(ZipOptions.parseOutputTimestamp("2023-01-01T00:00:00Z"));
+		File zip1 = tempDir.resolve("1.zip").toFile();
+		ZipUtils.toZip(Arrays.asList(txtFile, jarFile), new FileOutputStream(zip1), false, "lib", options);
+
+		txtFile.setLastModified(System.currentTimeMillis() - 3600 * 1000);
+		options.setThreads(4);
+		File zip2 = tempDir.resolve("2.zip").toFile();
+		ZipUtils.toZip(Arrays.asList(jarFile, txtFile), new FileOutputStream(zip2), false, "lib", options);
+
+		Assertions.assertArrayEquals(Files.readAllBytes(zip1.toPath()), Files.readAllBytes(zip2.toPath()));
+
+		try (ZipFile zipFile = new ZipFile(zip1)) {
+			List<String> names = new ArrayList<>();
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				names.add(entry.getName());
+				Assertions.assertNull(entry.getExtra());
+			}
+			Assertions.assertEquals(Arrays.asList("lib/a.txt", "lib/easyj.jar"), names);
+		}
+	}
+
+	@Test
+	public void testToZipLargeFile(@TempDir Path tempDir) throws IOException {
+		// 超过16MB的大文件，多线程压缩时，压缩到临时文件中
+		File srcDir = tempDir.resolve("src").toFile();
+		new File(srcDir, "static").mkdirs();
+		File largeFile = new File(srcDir, "static/large.txt");
+		Files.write(largeFile.toPath(), String.join("", Collections.nCopies(3_000_000, "easyj\n")).getBytes());
+		for (int i = 0; i < 10; i++) {
+			Files.write(new File(srcDir, "static/" + i + ".txt").toPath(), String.join("", Collections.nCopies(1000, i + "\n")).getBytes());
+		}
+
+		// 可复现模式下，单线程与多线程压缩，输出的字节完全一致
+		ZipOptions options = new ZipOptions();
+		options.setReproducible(true);
+		File spillDir = tempDir.resolve("spill").toFile();
+		options.setTempDirectory(spillDir);
+		File zip1 = tempDir.resolve("1.zip").toFile();
+		ZipUtils.toZip(srcDir.getPath(), new FileOutputStream(zip1), true, null, options);
+		options.setThreads(4);
+		File zip2 = tempDir.resolve("2.zip").toFile();
+		ZipUtils.toZip(srcDir.getPath(), new FileOutputStream(zip2), true, null, options);
+
+		Assertions.assertArrayEquals(Files.readAllBytes(zip1.toPath()), Files.readAllBytes(zip2.toPath()));
+
+		// 非可复现模式下，内容一致
+		options.setReproducible(false);
+		File zip3 = tempDir.resolve("3.zip").toFile();
+		ZipUtils.toZip(srcDir.getPath(), new FileOutputStream(zip3), true, null, options);
+		try (ZipFile zipFile = new ZipFile(zip3)) {
+			Assertions.assertEquals(11, zipFile.size());
+			try (InputStream in = zipFile.getInputStream(zipFile.getEntry("src/static/large.txt"))) {
+				Assertions.assertArrayEquals(Files.readAllBytes(largeFile.toPath()), readAll(in));
+			}
+		}
+
+		// 临时文件创建在指定的目录中，且写入后都已删除
+		Assertions.assertTrue(spillDir.isDirectory());
+		Assertions.assertArrayEquals(new String[0], spillDir.list());
+	}
+
+	@Test
+	public void testToZip4(@TempDir Path tempDir) throws IOException {
+		File txtFile = tempDir.resolve("lib-delete.txt").toFile();
+		Files.write(txtFile.toPath(), "a-1.0.jar\n".getBytes());
+		File jarFile = new File(this.getClass().getClassLoader().getResource("easyj.jar").getFile());
+		Map<String, File> entries = new LinkedHashMap<>();
+		entries.put("lib/easyj.jar", jarFile);
+		entries.put("lib-delete.txt", txtFile);
+
+		File zip = tempDir.resolve("lib-delta.zip").toFile();
+		ZipUtils.toZip4(entries, new FileOutputStream(zip), new ZipOptions());
+
+		try (ZipFile zipFile = new ZipFile(zip)) {
+			Assertions.assertEquals(2, zipFile.size());
+			Assertions.assertNotNull(zipFile.getEntry("lib/easyj.jar"));
+			try (InputStream in = zipFile.getInputStream(zipFile.getEntry("lib-delete.txt"))) {
+				Assertions.assertEquals("a-1.0.jar\n", new String(readAll(in)));
+			}
+		}
+	}
+
+	@Test
+	public void testParseOutputTimestamp() {
+		Assertions.assertEquals(-1, ZipOptions.parseOutputTimestamp(null));
+		Assertions.assertEquals(-1, ZipOptions.parseOutputTimestamp("a"));
+		Assertions.assertEquals(1672531200000L, ZipOptions.parseOutputTimestamp("1672531200"));
+		Assertions.assertEquals(1672531200000L, ZipOptions.parseOutputTimestamp("2023-01-01T08:00:00+08:00"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ZipOptions.parseOutputTimestamp("2023-01-01"));
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int len;
+		while ((len = in.read(buffer)) != -1) {
+			out.write(buffer, 0, len);
+		}
+		return out.toByteArray();
+	}
+}